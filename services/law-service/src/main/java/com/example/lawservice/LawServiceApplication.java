@@ -2,10 +2,17 @@ package com.example.lawservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
+@EnableCaching
 public class LawServiceApplication {
     public static void main(String[] args) {
-        SpringApplication.run(LawServiceApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(LawServiceApplication.class, args);
+        // Training run of the fast-start build: the class-data archive is written when the JVM exits
+        if (context.getEnvironment().getProperty("law.startup.exit-after-start", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
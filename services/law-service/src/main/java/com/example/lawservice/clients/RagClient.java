@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -26,15 +28,22 @@ public class RagClient {
     private static final String QA_PATH = "/qa";
     private static final String GEN_PATH = "/gen";
     private static final String ANALYZE_PATH = "/analyze";
+    private static final String REINDEX_NODES_PATH = "/admin/reindex/nodes";
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(90);
+    // Answers carry the retrieved contexts (long article texts); CBOR skips JSON string escaping
+    // and parsing. rag-service falls back to JSON when it cannot encode CBOR.
+    private static final String ACCEPT_CBOR = "application/cbor, application/json;q=0.9";
 
     private final WebClient webClient;
     private final LawNodeRepository lawNodeRepository;
+    private final String accept;
 
     @Autowired
-    public RagClient(LawNodeRepository lawNodeRepository, WebClient webClient) {
+    public RagClient(LawNodeRepository lawNodeRepository, WebClient webClient,
+                     @Value("${rag.service.accept-cbor:true}") boolean acceptCbor) {
         this.webClient = webClient; // Configured in WebConfig with baseUrl
         this.lawNodeRepository = lawNodeRepository;
+        this.accept = acceptCbor ? ACCEPT_CBOR : MediaType.APPLICATION_JSON_VALUE;
     }
 
     public QaResponse ask(String question, LocalDate effectiveAt) {
@@ -52,6 +61,7 @@ public class RagClient {
             RagServiceResponse response = webClient.post()
                 .uri(QA_PATH)
                 .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, accept)
                 .bodyValue(new RagServiceRequest(question, effectiveDate.toString(), useReranker))
                 .retrieve()
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), clientResponse ->
@@ -111,6 +121,7 @@ public class RagClient {
             RagGenResponse resp = webClient.post()
                 .uri(GEN_PATH)
                 .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, accept)
                 .bodyValue(new RagGenRequest(question, effectiveDate.toString(), k, maxTokens, temperature))
                 .retrieve()
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), clientResponse ->
@@ -164,6 +175,7 @@ public class RagClient {
             AnalyzeResult resp = webClient.post()
                 .uri(ANALYZE_PATH)
                 .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT, accept)
                 .bodyValue(payload)
                 .retrieve()
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), clientResponse ->
@@ -314,4 +326,28 @@ public class RagClient {
             throw new RuntimeException("RAG reindex failed", e);
         }
     }
+
+    /**
+     * Incremental reindex: rag-service re-embeds only {@code upsertNodeIds} (reading their text
+     * itself) and drops the vectors of {@code deleteNodeIds}.
+     */
+    public void reindexNodes(List<Long> upsertNodeIds, List<Long> deleteNodeIds) {
+        try {
+            webClient.post()
+                .uri(REINDEX_NODES_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ReindexNodesRequest(upsertNodeIds, deleteNodeIds))
+                .retrieve()
+                .toBodilessEntity()
+                .block(REQUEST_TIMEOUT);
+        } catch (Exception e) {
+            log.error("Failed to send {} node changes to RAG", upsertNodeIds.size() + deleteNodeIds.size(), e);
+            throw new RuntimeException("RAG incremental reindex failed", e);
+        }
+    }
+
+    private record ReindexNodesRequest(
+        @JsonProperty("upsert_node_ids") List<Long> upsertNodeIds,
+        @JsonProperty("delete_node_ids") List<Long> deleteNodeIds
+    ) {}
 }
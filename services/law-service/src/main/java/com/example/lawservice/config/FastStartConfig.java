@@ -0,0 +1,68 @@
+package com.example.lawservice.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Startup settings that also hold in the {@code fast-start} build (Spring AOT, see README), where
+ * {@code @Conditional} outcomes are fixed at build time: these read their properties when the
+ * application starts instead.
+ */
+@Configuration
+public class FastStartConfig {
+
+    /**
+     * Creates beans of packages nothing on the request path needs at startup lazily, on first use,
+     * e.g. {@code org.springdoc}, whose OpenAPI model, scanners and Swagger UI wiring are only needed
+     * for {@code /v3/api-docs} and {@code /swagger-ui}. Unlike {@code spring.main.lazy-initialization}
+     * this leaves the rest eager, so misconfiguration still fails at startup. Packages are set with
+     * {@code law.startup.lazy-packages} (comma-separated, none by default: lazy springdoc has not
+     * measurably shortened startup); beans declared by {@code @Bean} methods count as part of their
+     * configuration class's package.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = Arrays.stream(environment.getProperty("law.startup.lazy-packages", "").split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(p -> p + ".")
+                .toList();
+        return beanFactory -> {
+            if (packages.isEmpty()) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String type = definition.getBeanClassName();
+                String factory = definition.getFactoryBeanName();
+                if (type == null && factory != null && beanFactory.containsBeanDefinition(factory)) {
+                    type = beanFactory.getBeanDefinition(factory).getBeanClassName();
+                }
+                if (type != null && packages.stream().anyMatch(type::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Migrates unless {@code spring.flyway.enabled=false}. Without AOT that property already keeps
+     * the Flyway beans out; with AOT they always exist and this is what still honours it (the CDS
+     * training run starts without a database).
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.lawservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the read replica and everything
+ * else to the primary. Reads fall back to the primary while {@link ReplicaLagMonitor} has the replica out
+ * of rotation, when a replica connection cannot be opened, and for {@code law.datasource.replica.stick-after-write-ms}
+ * after this instance commits a write, so a cache evicted by that write is not refilled from a replica that
+ * has not applied it yet. Each routing decision is counted in {@code law.db.route} by route and reason.
+ * <p>
+ * The read-only flag is only set once the transaction has begun, after JPA has asked for its connection,
+ * so this must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * that defers the physical connection to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    enum Reason {
+        READ("replica"),
+        WRITE("primary"),
+        NO_TRANSACTION("primary"),
+        RECENT_WRITE("primary"),
+        REPLICA_LAGGING("primary"),
+        REPLICA_DOWN("primary");
+
+        private final String route;
+
+        Reason(String route) {
+            this.route = route;
+        }
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+    private final long stickAfterWriteMillis;
+    private final LongSupplier clock;
+    private final Map<Reason, Counter> routed = new EnumMap<>(Reason.class);
+    private volatile long readsOnPrimaryUntil;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                      long stickAfterWriteMillis, MeterRegistry meterRegistry) {
+        this(primary, replica, monitor, stickAfterWriteMillis, meterRegistry, System::currentTimeMillis);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                               long stickAfterWriteMillis, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.stickAfterWriteMillis = stickAfterWriteMillis;
+        this.clock = clock;
+        for (Reason reason : Reason.values()) {
+            routed.put(reason, Counter.builder("law.db.route")
+                    .description("Connections handed out, by the datasource they came from and why")
+                    .tag("route", reason.route)
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Reason reason = route();
+        if (reason == Reason.READ) {
+            try {
+                Connection con = replica.getConnection();
+                routed.get(reason).increment();
+                return con;
+            } catch (SQLException e) {
+                monitor.markDown(e);
+                reason = Reason.REPLICA_DOWN;
+            }
+        } else if (reason == Reason.WRITE && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readsOnPrimaryUntil = clock.getAsLong() + stickAfterWriteMillis;
+                }
+            });
+        }
+        routed.get(reason).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Per-call credentials are not supported by the read/write routing datasource");
+    }
+
+    /** Stops the lag monitor and closes both pools. */
+    @Override
+    public void close() throws Exception {
+        monitor.close();
+        for (DataSource pool : new DataSource[]{replica, primary}) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    Reason route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Reason.NO_TRANSACTION;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Reason.WRITE;
+        }
+        return switch (monitor.state()) {
+            case DOWN -> Reason.REPLICA_DOWN;
+            case LAGGING -> Reason.REPLICA_LAGGING;
+            case UP -> clock.getAsLong() < readsOnPrimaryUntil ? Reason.RECENT_WRITE : Reason.READ;
+        };
+    }
+}
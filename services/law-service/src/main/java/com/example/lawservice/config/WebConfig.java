@@ -1,8 +1,16 @@
 package com.example.lawservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -16,9 +24,18 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.allowed-origins:*}")
     private String corsAllowedOrigins;
 
+    /**
+     * WebClient for rag-service. A CBOR decoder is registered next to JSON so {@code RagClient}
+     * can accept CBOR answers; rag-service sends them only when it has an encoder. Request bodies
+     * are small and stay JSON (the CBOR encoder cannot stream, and would claim JSON bodies too).
+     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder().baseUrl(ragBaseUrl);
+    public WebClient.Builder webClientBuilder(Jackson2ObjectMapperBuilder jacksonBuilder) {
+        ObjectMapper cbor = jacksonBuilder.factory(new CBORFactory()).build();
+        return WebClient.builder()
+                .baseUrl(ragBaseUrl)
+                // The mime type must be given: with a mapper and none, the decoder claims JSON
+                .codecs(codecs -> codecs.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR)));
     }
 
     @Bean
@@ -26,6 +43,22 @@ public class WebConfig implements WebMvcConfigurer {
         return builder.build();
     }
 
+    /*
+     * Binary JSON for internal callers. Spring MVC would add these converters on its own with a
+     * default mapper; declared here they share Boot's Jackson settings (ISO dates, modules), so a
+     * CBOR or Smile body decodes to the same values as the JSON one. JSON stays first, and is what
+     * clients get unless they send Accept: application/cbor or application/x-jackson-smile.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jacksonBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(jacksonBuilder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder jacksonBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(jacksonBuilder.factory(new SmileFactory()).build());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         String[] allowedOrigins = parseOrigins(corsAllowedOrigins);
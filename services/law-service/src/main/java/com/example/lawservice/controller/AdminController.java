@@ -1,55 +1,146 @@
 package com.example.lawservice.controller;
 
 import com.example.lawservice.clients.RagClient;
+import com.example.lawservice.dto.BulkImportResponse;
+import com.example.lawservice.dto.IngestionJobDTO;
 import com.example.lawservice.dto.LawUploadRequest;
-import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.dto.NodeChangeDTO;
+import com.example.lawservice.dto.NodeChangeFeedResponse;
 import com.example.lawservice.enums.StatusCode;
 import com.example.lawservice.exception.CustomException;
 import com.example.lawservice.payload.ApiResponse;
-import com.example.lawservice.service.LawUploadService;
+import com.example.lawservice.service.CorpusChangedEvent;
+import com.example.lawservice.service.LawBulkImportService;
+import com.example.lawservice.service.LawIngestionService;
+import com.example.lawservice.service.NodeChangeLog;
+import com.example.lawservice.service.NodeReferenceService;
+import com.example.lawservice.service.RagChangeNotifier;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @Tag(name = "Admin", description = "Administrative operations (internal)")
 public class AdminController {
     private final RagClient ragClient;
-    private final LawUploadService lawUploadService;
+    private final LawIngestionService lawIngestionService;
+    private final LawBulkImportService lawBulkImportService;
+    private final NodeChangeLog nodeChangeLog;
+    private final RagChangeNotifier ragChangeNotifier;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NodeReferenceService nodeReferenceService;
 
-    public AdminController(RagClient ragClient, LawUploadService lawUploadService) {
+    public AdminController(RagClient ragClient, LawIngestionService lawIngestionService,
+                           LawBulkImportService lawBulkImportService, NodeChangeLog nodeChangeLog,
+                           RagChangeNotifier ragChangeNotifier, ApplicationEventPublisher eventPublisher,
+                           NodeReferenceService nodeReferenceService) {
         this.ragClient = ragClient;
-        this.lawUploadService = lawUploadService;
+        this.lawIngestionService = lawIngestionService;
+        this.lawBulkImportService = lawBulkImportService;
+        this.nodeChangeLog = nodeChangeLog;
+        this.ragChangeNotifier = ragChangeNotifier;
+        this.eventPublisher = eventPublisher;
+        this.nodeReferenceService = nodeReferenceService;
     }
 
     @PostMapping("/reindex")
     @Operation(summary = "Trigger RAG re-embedding after data changes")
     public ResponseEntity<ApiResponse<Void>> reindex() {
         ragClient.reindex();
+        eventPublisher.publishEvent(new CorpusChangedEvent(null, "reindex"));
         return ResponseEntity.status(HttpStatus.ACCEPTED)
                 .body(ApiResponse.of(StatusCode.ACCEPTED.getCode(), StatusCode.ACCEPTED.getMessage(), null));
     }
 
+    @PostMapping("/reindex/changes")
+    @Operation(summary = "Send node changes not yet delivered to RAG (incremental reindex)",
+            description = "Only the affected node ids are sent; rag-service re-embeds those and drops deleted ones. Returns the number of changes sent.")
+    public ResponseEntity<ApiResponse<Integer>> reindexChanges() {
+        int sent = ragChangeNotifier.push();
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), sent));
+    }
+
+    @PostMapping("/references/rebuild")
+    @Operation(summary = "Re-extract cross-references of every active node",
+            description = "Uploads extract references as they store nodes; this backfills nodes stored earlier. Returns the number of references written.")
+    public ResponseEntity<ApiResponse<Integer>> rebuildReferences() {
+        int written = nodeReferenceService.rebuild();
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), written));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Node change feed: insert/update/delete events after a sequence number",
+            description = "Poll with since = nextSince of the previous page. Sequence numbers are committed in order, so no change is skipped.")
+    public ResponseEntity<ApiResponse<NodeChangeFeedResponse>> changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 5000));
+        List<NodeChangeDTO> changes = nodeChangeLog.since(since, pageSize);
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        long latestSeq = nodeChangeLog.latestSeq();
+        NodeChangeFeedResponse feed = NodeChangeFeedResponse.builder()
+                .changes(changes)
+                .nextSince(nextSince)
+                .hasMore(nextSince < latestSeq)
+                .latestSeq(latestSeq)
+                .build();
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), feed));
+    }
+
     @PostMapping(path = "/laws/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "Upload a new law PDF and import its content as a single node")
-    public ResponseEntity<ApiResponse<LawUploadResponse>> uploadLawPdf(
+    @Operation(summary = "Upload a law PDF; extraction, parsing, persistence and reindex run asynchronously",
+            description = "Returns 202 with an ingestion job; poll GET /api/admin/ingestions/{jobId} for stage, progress and timing.")
+    public ResponseEntity<ApiResponse<IngestionJobDTO>> uploadLawPdf(
             @RequestPart("file") MultipartFile file,
             @Valid @RequestPart("meta") LawUploadRequest request
     ) throws CustomException {
-        LawUploadResponse result = lawUploadService.upload(file, request);
-        boolean created = Boolean.TRUE.equals(result.getCreated());
-        StatusCode code = created ? StatusCode.CREATED : StatusCode.OK;
-        HttpStatus status = created ? HttpStatus.CREATED : HttpStatus.OK;
-        return ResponseEntity.status(status)
-                .body(ApiResponse.of(code.getCode(), code.getMessage(), result));
+        IngestionJobDTO job = lawIngestionService.submit(file, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/admin/ingestions/" + job.getJobId()))
+                .body(ApiResponse.of(StatusCode.ACCEPTED.getCode(), StatusCode.ACCEPTED.getMessage(), job));
+    }
+
+    @PostMapping("/laws/import")
+    @Operation(summary = "Import every PDF of a server directory in parallel, then reindex once",
+            description = "dir is relative to law.import.dir (blank = the root). Codes are inferred from file names "
+                    + "(\"121-vbhn-vpqh.pdf\" -> 121/VBHN/VPQH). Returns per-file results and pages/s, nodes/s for the run.")
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importDirectory(
+            @RequestParam(required = false) String dir,
+            @RequestParam(defaultValue = "true") boolean replaceExisting,
+            @RequestParam(defaultValue = "true") boolean triggerReindex) throws CustomException {
+        BulkImportResponse report = lawBulkImportService.importDirectory(dir, replaceExisting, triggerReindex);
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), report));
+    }
+
+    @GetMapping("/ingestions/{jobId}")
+    @Operation(summary = "Status of an asynchronous law upload")
+    public ResponseEntity<ApiResponse<IngestionJobDTO>> ingestion(@PathVariable String jobId) throws CustomException {
+        IngestionJobDTO job = lawIngestionService.get(jobId)
+                .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND, "Ingestion job not found: " + jobId));
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), job));
+    }
+
+    @GetMapping("/ingestions")
+    @Operation(summary = "Recent law uploads, newest first")
+    public ResponseEntity<ApiResponse<List<IngestionJobDTO>>> ingestions(
+            @RequestParam(defaultValue = "20") int limit) {
+        List<IngestionJobDTO> jobs = lawIngestionService.recent(Math.max(1, Math.min(limit, 200)));
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), jobs));
     }
 }
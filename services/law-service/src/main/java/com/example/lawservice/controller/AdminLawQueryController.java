@@ -1,5 +1,6 @@
 package com.example.lawservice.controller;
 
+import com.example.lawservice.dto.CursorPageResponse;
 import com.example.lawservice.dto.NodeDTO;
 import com.example.lawservice.dto.NodeSearchDTO;
 import com.example.lawservice.dto.PageResponse;
@@ -14,6 +15,9 @@ import com.example.lawservice.model.LawNode;
 import com.example.lawservice.payload.ApiResponse;
 import com.example.lawservice.repository.LawNodeRepository;
 import com.example.lawservice.repository.LawRepository;
+import com.example.lawservice.service.CorpusSnapshotService;
+import com.example.lawservice.service.CursorPagingService;
+import com.example.lawservice.service.LawMetadataCache;
 import com.example.lawservice.service.NodeSearchService;
 import com.example.lawservice.service.QAService;
 import com.example.lawservice.service.SuggestionService;
@@ -38,6 +42,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -49,17 +54,26 @@ public class AdminLawQueryController {
     private final SuggestionService suggestionService;
     private final NodeSearchService nodeSearchService;
     private final QAService qaService;
+    private final CursorPagingService cursorPagingService;
+    private final CorpusSnapshotService snapshotService;
+    private final LawMetadataCache lawCache;
 
     public AdminLawQueryController(LawRepository lawRepository,
                                    LawNodeRepository nodeRepository,
                                    SuggestionService suggestionService,
                                    NodeSearchService nodeSearchService,
-                                   QAService qaService) {
+                                   QAService qaService,
+                                   CursorPagingService cursorPagingService,
+                                   CorpusSnapshotService snapshotService,
+                                   LawMetadataCache lawCache) {
         this.lawRepository = lawRepository;
         this.nodeRepository = nodeRepository;
         this.suggestionService = suggestionService;
         this.nodeSearchService = nodeSearchService;
         this.qaService = qaService;
+        this.cursorPagingService = cursorPagingService;
+        this.snapshotService = snapshotService;
+        this.lawCache = lawCache;
     }
 
     // --- Laws ---
@@ -80,10 +94,21 @@ public class AdminLawQueryController {
         return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), PageResponse.from(pg)));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "List laws with keyset pagination (optional keyword, ordered by id)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<Law>>> listLawsCursor(
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Law> pg = cursorPagingService.laws(keyword, cursor, Math.min(50, size), withTotal);
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), pg));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get law detail")
     public ResponseEntity<ApiResponse<Law>> getLaw(@PathVariable Long id) {
-        return lawRepository.findById(id)
+        return lawCache.law(id)
                 .map(law -> ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), law)))
                 .orElse(ResponseEntity.status(404).body(ApiResponse.of(StatusCode.NOT_FOUND.getCode(), "Not found", null)));
     }
@@ -99,11 +124,27 @@ public class AdminLawQueryController {
 
     @GetMapping("/{id}/toc")
     @Operation(summary = "Get table of contents for a law")
-    public ResponseEntity<ApiResponse<List<TocDTO>>> toc(@PathVariable Long id) {
-        if (!lawRepository.existsById(id)) {
+    public ResponseEntity<ApiResponse<List<TocDTO>>> toc(
+            @PathVariable Long id,
+            @Parameter(description = "Only nodes effective at this date (YYYY-MM-DD)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate effectiveAt) {
+        Optional<List<TocDTO>> fromSnapshot = snapshotService.current().flatMap(s -> s.toc(id, effectiveAt));
+        if (fromSnapshot.isPresent()) {
+            return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), fromSnapshot.get()));
+        }
+        if (!lawCache.exists(id)) {
             return ResponseEntity.status(404).body(ApiResponse.of(StatusCode.NOT_FOUND.getCode(), "Not found", null));
         }
-        List<LawNode> nodes = nodeRepository.findByLaw_IdOrderBySortKeyAscWithParent(id);
+        List<TocDTO> toc = lawCache.toc(id, effectiveAt, () -> loadToc(id, effectiveAt));
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), toc));
+    }
+
+    private List<TocDTO> loadToc(Long id, LocalDate effectiveAt) {
+        List<LawNode> nodes = effectiveAt != null
+                ? nodeRepository.findByLaw_IdEffectiveAtOrderBySortKeyAscWithParent(id, effectiveAt)
+                : nodeRepository.findByLaw_IdOrderBySortKeyAscWithParent(id);
         Map<Long, List<LawNode>> byParentId = nodes.stream()
                 .filter(n -> n.getParent() != null)
                 .collect(Collectors.groupingBy(n -> n.getParent().getId()));
@@ -111,8 +152,7 @@ public class AdminLawQueryController {
                 .filter(n -> n.getParent() == null)
                 .collect(Collectors.toCollection(ArrayList::new));
         roots.sort((a, b) -> nullSafe(a.getSortKey()).compareToIgnoreCase(nullSafe(b.getSortKey())));
-        List<TocDTO> toc = roots.stream().map(n -> toToc(n, byParentId)).collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), toc));
+        return roots.stream().map(n -> toToc(n, byParentId)).collect(Collectors.toList());
     }
 
     @GetMapping("/{id}/related")
@@ -120,12 +160,10 @@ public class AdminLawQueryController {
     public ResponseEntity<ApiResponse<List<Law>>> related(
             @PathVariable Long id,
             @RequestParam(value = "docType", required = false) String docType) {
-        if (!lawRepository.existsById(id)) {
+        if (!lawCache.exists(id)) {
             return ResponseEntity.status(404).body(ApiResponse.of(StatusCode.NOT_FOUND.getCode(), "Not found", null));
         }
-        List<Law> items = (docType != null && !docType.isBlank())
-                ? lawRepository.findByRelatedLaw_IdAndDocTypeIgnoreCase(id, docType)
-                : lawRepository.findByRelatedLaw_Id(id);
+        List<Law> items = lawCache.related(id, docType);
         return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), items));
     }
 
@@ -147,6 +185,21 @@ public class AdminLawQueryController {
         return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), PageResponse.from(mapped)));
     }
 
+    @GetMapping("/{lawId}/nodes/cursor")
+    @Operation(summary = "List nodes of a law with keyset pagination (ordered by sortKey, id)")
+    public ResponseEntity<ApiResponse<CursorPageResponse<NodeDTO>>> nodesByLawCursor(
+            @PathVariable Long lawId,
+            @Parameter(description = "Filter nodes effective at this date (YYYY-MM-DD)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate effectiveAt,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<NodeDTO> pg = cursorPagingService.nodesByLaw(lawId, effectiveAt, cursor, size, withTotal);
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), pg));
+    }
+
     @GetMapping("/{lawId}/nodes/by-parent")
     @Operation(summary = "List nodes by parent to load chapters/sections lazily")
     public ResponseEntity<ApiResponse<PageResponse<NodeDTO>>> nodesByParent(
@@ -168,8 +221,9 @@ public class AdminLawQueryController {
     @GetMapping("/nodes/{id}")
     @Operation(summary = "Get node detail")
     public ResponseEntity<ApiResponse<NodeDTO>> getNode(@PathVariable Long id) {
-        return nodeRepository.findById(id)
-                .map(n -> ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), toDto(n))))
+        return snapshotService.current().flatMap(s -> s.node(id))
+                .or(() -> nodeRepository.findById(id).map(this::toDto))
+                .map(n -> ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), n)))
                 .orElse(ResponseEntity.status(404).body(ApiResponse.of(StatusCode.NOT_FOUND.getCode(), "Not found", null)));
     }
 
@@ -181,17 +235,16 @@ public class AdminLawQueryController {
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             LocalDate effectiveAt,
+            @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
             @ParameterObject Pageable pageable) {
-        Page<LawNode> nodes = effectiveAt != null
-                ? nodeRepository.findByContentTextContainingIgnoreCaseAndEffectiveAt(keyword, effectiveAt, pageable)
-                : nodeRepository.findByContentTextContainingIgnoreCase(keyword, pageable);
-        Page<NodeDTO> mapped = nodes.map(this::toDto);
-        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), PageResponse.from(mapped)));
+        PageResponse<NodeDTO> resp = nodeSearchService.keyword(keyword, effectiveAt, fuzzy, pageable);
+        return ResponseEntity.ok(ApiResponse.of(StatusCode.OK.getCode(), StatusCode.OK.getMessage(), resp));
     }
 
     @GetMapping("/nodes/search/fulltext")
-    @Operation(summary = "Fulltext search nodes by content with highlight")
+    @Operation(summary = "Fulltext search nodes by content with highlight, ordered by relevance")
     public ResponseEntity<ApiResponse<PageResponse<NodeSearchDTO>>> searchNodesFulltext(
+            @Parameter(description = "Terms; supports \"exact phrase\", +required and -excluded")
             @RequestParam("q") String q,
             @ParameterObject Pageable pageable) {
         PageResponse<NodeSearchDTO> resp = nodeSearchService.fulltext(q, pageable);
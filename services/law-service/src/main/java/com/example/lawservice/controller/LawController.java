@@ -1,37 +1,59 @@
 package com.example.lawservice.controller;
 
+import com.example.lawservice.dto.CursorPageResponse;
+import com.example.lawservice.dto.RelatedLawDTO;
 import com.example.lawservice.dto.TocDTO;
 import com.example.lawservice.dto.SuggestionDTO;
 import com.example.lawservice.model.Law;
 import com.example.lawservice.model.LawNode;
 import com.example.lawservice.repository.LawNodeRepository;
 import com.example.lawservice.repository.LawRepository;
+import com.example.lawservice.service.CorpusSnapshotService;
+import com.example.lawservice.service.CursorPagingService;
+import com.example.lawservice.service.LawMetadataCache;
+import com.example.lawservice.service.RelatedLawGraphService;
 import com.example.lawservice.service.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Tag(name = "Laws", description = "Law management endpoints")
 @RestController
 @RequestMapping("/api/laws")
 public class LawController {
+    private static final int MAX_RELATED_DEPTH = 5;
+
     private final LawRepository lawRepository;
     private final LawNodeRepository nodeRepository;
     private final SuggestionService suggestionService;
+    private final CursorPagingService cursorPagingService;
+    private final CorpusSnapshotService snapshotService;
+    private final LawMetadataCache lawCache;
+    private final RelatedLawGraphService relatedGraph;
 
-    public LawController(LawRepository lawRepository, LawNodeRepository nodeRepository, SuggestionService suggestionService) {
+    public LawController(LawRepository lawRepository, LawNodeRepository nodeRepository, SuggestionService suggestionService,
+                         CursorPagingService cursorPagingService, CorpusSnapshotService snapshotService,
+                         LawMetadataCache lawCache, RelatedLawGraphService relatedGraph) {
         this.lawRepository = lawRepository;
         this.nodeRepository = nodeRepository;
         this.suggestionService = suggestionService;
+        this.cursorPagingService = cursorPagingService;
+        this.snapshotService = snapshotService;
+        this.lawCache = lawCache;
+        this.relatedGraph = relatedGraph;
     }
 
     @GetMapping
@@ -43,7 +65,7 @@ public class LawController {
     @GetMapping("/{id}")
     @Operation(summary = "Get a law by ID")
     public ResponseEntity<Law> getById(@PathVariable Long id) {
-        return lawRepository.findById(id)
+        return lawCache.law(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -59,6 +81,16 @@ public class LawController {
 
     }
 
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search laws by code or title using keyset pagination (ordered by id)")
+    public CursorPageResponse<Law> searchCursor(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return cursorPagingService.laws(keyword, cursor, size, withTotal);
+    }
+
     @GetMapping("/suggest")
     @Operation(summary = "Suggest laws by keyword (autocomplete)")
     public java.util.List<SuggestionDTO> suggest(
@@ -68,14 +100,30 @@ public class LawController {
     }
 
     @GetMapping("/{id}/toc")
-    @Operation(summary = "Get table of contents for a law")
-    public ResponseEntity<List<TocDTO>> getTableOfContents(@PathVariable Long id) {
-        if (!lawRepository.existsById(id)) {
+    @Operation(summary = "Get table of contents for a law",
+            description = "With effectiveAt, the table of contents of the version valid on that date.")
+    public ResponseEntity<List<TocDTO>> getTableOfContents(
+            @PathVariable Long id,
+            @Parameter(description = "Only nodes effective at this date (YYYY-MM-DD)")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate effectiveAt) {
+        // Served from the mapped corpus snapshot when it is current, from MySQL otherwise
+        Optional<List<TocDTO>> fromSnapshot = snapshotService.current().flatMap(s -> s.toc(id, effectiveAt));
+        if (fromSnapshot.isPresent()) {
+            return ResponseEntity.ok(fromSnapshot.get());
+        }
+        if (!lawCache.exists(id)) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(lawCache.toc(id, effectiveAt, () -> loadToc(id, effectiveAt)));
+    }
 
+    private List<TocDTO> loadToc(Long id, LocalDate effectiveAt) {
         // Load all nodes for the law with parent fetched to avoid LazyInitialization (open-in-view=false)
-        List<LawNode> nodes = nodeRepository.findByLaw_IdOrderBySortKeyAscWithParent(id);
+        List<LawNode> nodes = effectiveAt != null
+                ? nodeRepository.findByLaw_IdEffectiveAtOrderBySortKeyAscWithParent(id, effectiveAt)
+                : nodeRepository.findByLaw_IdOrderBySortKeyAscWithParent(id);
 
         // Group by parent_id (exclude null keys to avoid collector errors)
         Map<Long, List<LawNode>> byParentId = nodes.stream()
@@ -88,11 +136,9 @@ public class LawController {
                 .collect(Collectors.toCollection(ArrayList::new));
         roots.sort((a, b) -> nullSafe(a.getSortKey()).compareToIgnoreCase(nullSafe(b.getSortKey())));
 
-        List<TocDTO> toc = roots.stream()
+        return roots.stream()
                 .map(n -> toToc(n, byParentId))
                 .collect(Collectors.toList());
-
-        return ResponseEntity.ok(toc);
     }
 
     @GetMapping("/{id}/related")
@@ -101,16 +147,26 @@ public class LawController {
             @PathVariable Long id,
             @RequestParam(value = "docType", required = false) String docType
     ) {
-        if (!lawRepository.existsById(id)) {
+        if (!lawCache.exists(id)) {
             return ResponseEntity.notFound().build();
         }
-        List<Law> items;
-        if (docType != null && !docType.isBlank()) {
-            items = lawRepository.findByRelatedLaw_IdAndDocTypeIgnoreCase(id, docType);
-        } else {
-            items = lawRepository.findByRelatedLaw_Id(id);
-        }
-        return ResponseEntity.ok(items);
+        return ResponseEntity.ok(lawCache.related(id, docType));
+    }
+
+    @GetMapping("/{id}/related/graph")
+    @Operation(summary = "Get laws reachable from the base law over several related-law hops",
+            description = "Breadth-first over related_law_id links, e.g. decrees guiding a law and circulars guiding those "
+                    + "decrees. docType (comma-separated) filters the returned laws; traversal passes through other types.")
+    public ResponseEntity<List<RelatedLawDTO>> getRelatedGraph(
+            @PathVariable Long id,
+            @Parameter(description = "Maximum hops from the base law (1-" + MAX_RELATED_DEPTH + ")")
+            @RequestParam(defaultValue = "2") int depth,
+            @RequestParam(value = "docType", required = false) List<String> docTypes
+    ) {
+        int maxDepth = Math.max(1, Math.min(depth, MAX_RELATED_DEPTH));
+        return relatedGraph.traverse(id, maxDepth, docTypes)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     private TocDTO toToc(LawNode node, Map<Long, List<LawNode>> byParentId) {
@@ -1,10 +1,17 @@
 package com.example.lawservice.controller;
 
+import com.example.lawservice.dto.CursorPageResponse;
+import com.example.lawservice.dto.FacetedSearchResponse;
 import com.example.lawservice.dto.PageResponse;
 import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.NodeReferenceDTO;
 import com.example.lawservice.dto.NodeSearchDTO;
 import com.example.lawservice.model.LawNode;
 import com.example.lawservice.repository.LawNodeRepository;
+import com.example.lawservice.service.CorpusSnapshotService;
+import com.example.lawservice.service.CursorPagingService;
+import com.example.lawservice.service.LawMetadataCache;
+import com.example.lawservice.service.NodeReferenceService;
 import com.example.lawservice.service.NodeSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,21 +20,41 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Nodes", description = "Law node management endpoints")
 public class NodeController {
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    private static final int MAX_REFERENCE_SOURCES = 200;
+
     private final LawNodeRepository nodeRepository;
+    private final LawMetadataCache lawCache;
     private final NodeSearchService nodeSearchService;
+    private final CursorPagingService cursorPagingService;
+    private final CorpusSnapshotService snapshotService;
+    private final NodeReferenceService nodeReferenceService;
 
-    public NodeController(LawNodeRepository nodeRepository, NodeSearchService nodeSearchService) {
+    public NodeController(LawNodeRepository nodeRepository, LawMetadataCache lawCache, NodeSearchService nodeSearchService,
+                          CursorPagingService cursorPagingService, CorpusSnapshotService snapshotService,
+                          NodeReferenceService nodeReferenceService) {
         this.nodeRepository = nodeRepository;
+        this.lawCache = lawCache;
         this.nodeSearchService = nodeSearchService;
+        this.cursorPagingService = cursorPagingService;
+        this.snapshotService = snapshotService;
+        this.nodeReferenceService = nodeReferenceService;
     }
 
     @GetMapping("/laws/{lawId}/nodes")
@@ -49,16 +76,99 @@ public class NodeController {
         Page<NodeDTO> mapped = nodes.map(this::toDto);
         return PageResponse.from(mapped);
     }
+
+    @GetMapping("/laws/{lawId}/nodes/cursor")
+    @Operation(summary = "Get nodes for a specific law using keyset pagination (ordered by sortKey, id)")
+    public CursorPageResponse<NodeDTO> getByLawCursor(
+        @PathVariable Long lawId,
+        @Parameter(description = "Filter nodes effective at this date (YYYY-MM-DD)")
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate effectiveAt,
+        @Parameter(description = "Opaque cursor from the previous page (omit for the first page)")
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Also run a COUNT query and return totalElements")
+        @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return cursorPagingService.nodesByLaw(lawId, effectiveAt, cursor, size, withTotal);
+    }
+
+    @GetMapping("/laws/{lawId}/nodes/as-of")
+    @Operation(summary = "All nodes of the version of a law valid at a date, in table-of-contents order",
+            description = "Served from the corpus snapshot's per-law validity interval tree when current, so a past version costs about as much as the current one.")
+    public ResponseEntity<List<NodeDTO>> getVersionAsOf(
+        @PathVariable Long lawId,
+        @Parameter(description = "Date the version is valid at (YYYY-MM-DD)")
+        @RequestParam
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate effectiveAt
+    ) {
+        Optional<List<NodeDTO>> fromSnapshot = snapshotService.current().flatMap(s -> s.nodes(lawId, effectiveAt));
+        if (fromSnapshot.isPresent()) {
+            return ResponseEntity.ok(fromSnapshot.get());
+        }
+        if (!lawCache.exists(lawId)) {
+            return ResponseEntity.notFound().build();
+        }
+        // Same order as the snapshot: sort key ignoring case, then id
+        List<NodeDTO> nodes = nodeRepository.findByLaw_IdEffectiveAtOrderBySortKeyAscWithParent(lawId, effectiveAt).stream()
+            .sorted(Comparator.comparing((LawNode n) -> n.getSortKey() == null ? "" : n.getSortKey(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(LawNode::getId))
+            .map(this::toDto)
+            .toList();
+        return ResponseEntity.ok(nodes);
+    }
 
     @GetMapping("/nodes/{id}")
     @Operation(summary = "Get a specific node by ID")
     public ResponseEntity<NodeDTO> getNode(@PathVariable Long id) {
-        return nodeRepository.findById(id)
-            .map(this::toDto)
+        // Served from the mapped corpus snapshot when it is current, from MySQL otherwise
+        return snapshotService.current().flatMap(s -> s.node(id))
+            .or(() -> nodeRepository.findById(id).map(this::toDto))
             .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/nodes/references")
+    @Operation(summary = "Articles and laws cited in the text of the given nodes",
+            description = "References are extracted at ingestion (\"Điều 5\", \"Điều 5 Nghị định số 123/2015/NĐ-CP\", \"Luật số 52/2014/QH13\") "
+                    + "and resolved here against the cited law's current version. At most " + MAX_REFERENCE_SOURCES + " source ids are used.")
+    public List<NodeReferenceDTO> getReferences(
+        @Parameter(description = "Source node ids (comma-separated or repeated)")
+        @RequestParam List<Long> ids,
+        @Parameter(description = "Only resolve to articles valid at this date (YYYY-MM-DD)")
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate effectiveAt,
+        @Parameter(description = "Also return the direct children (Khoản) of each cited article")
+        @RequestParam(defaultValue = "false") boolean withChildren
+    ) {
+        List<Long> sources = ids.stream().distinct().limit(MAX_REFERENCE_SOURCES).toList();
+        return nodeReferenceService.referencesOf(sources, effectiveAt, withChildren);
+    }
+
+    @GetMapping(value = "/nodes/{id}/content", produces = "text/plain;charset=UTF-8")
+    @Operation(summary = "Plain text of a node",
+            description = "Text stored gzip-compressed (large whole-document nodes) is sent as stored with Content-Encoding: gzip when the client accepts gzip, and decompressed otherwise.")
+    public ResponseEntity<byte[]> getNodeContent(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return nodeRepository.findById(id)
+            .map(n -> {
+                ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                    .contentType(TEXT_UTF8)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (n.getContentTextGz() != null && acceptsGzip(acceptEncoding)) {
+                    return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(n.getContentTextGz());
+                }
+                String text = n.getContentText();
+                return ok.body(text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0]);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/nodes/search")
     @Operation(summary = "Search nodes by content")
     public PageResponse<NodeDTO> searchNodes(
@@ -67,27 +177,75 @@ public class NodeController {
         @RequestParam(required = false) 
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) 
         LocalDate effectiveAt,
+        @Parameter(description = "Typo/accent tolerant matching (e.g. 'thua ke' finds 'thừa kế')")
+        @RequestParam(defaultValue = "false") boolean fuzzy,
         @ParameterObject Pageable pageable
     ) {
-        Page<LawNode> nodes;
-        if (effectiveAt != null) {
-            nodes = nodeRepository.findByContentTextContainingIgnoreCaseAndEffectiveAt(keyword, effectiveAt, pageable);
-        } else {
-            nodes = nodeRepository.findByContentTextContainingIgnoreCase(keyword, pageable);
-        }
-        Page<NodeDTO> mapped = nodes.map(this::toDto);
-        return PageResponse.from(mapped);
+        return nodeSearchService.keyword(keyword, effectiveAt, fuzzy, pageable);
     }
 
+    @GetMapping("/nodes/search/faceted")
+    @Operation(summary = "Search nodes with facet counts by law, docType and level")
+    public FacetedSearchResponse searchNodesFaceted(
+        @RequestParam String keyword,
+        @Parameter(description = "Filter nodes effective at this date (YYYY-MM-DD)")
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate effectiveAt,
+        @Parameter(description = "Typo tolerant matching; when false tokens must match exactly (accents ignored)")
+        @RequestParam(defaultValue = "true") boolean fuzzy,
+        @Parameter(description = "Restrict to these law ids (repeatable)")
+        @RequestParam(required = false) Set<Long> lawId,
+        @Parameter(description = "Restrict to these document types, e.g. LAW, DECREE (repeatable)")
+        @RequestParam(required = false) Set<String> docType,
+        @Parameter(description = "Restrict to these node levels, e.g. DIEU, KHOAN (repeatable)")
+        @RequestParam(required = false) Set<String> level,
+        @ParameterObject Pageable pageable
+    ) {
+        return nodeSearchService.faceted(keyword, effectiveAt, fuzzy, lawId, docType, level, pageable);
+    }
+
+    @GetMapping("/nodes/search/cursor")
+    @Operation(summary = "Search nodes by content using keyset pagination (ordered by id)")
+    public CursorPageResponse<NodeDTO> searchNodesCursor(
+        @RequestParam String keyword,
+        @Parameter(description = "Filter nodes effective at this date (YYYY-MM-DD)")
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate effectiveAt,
+        @Parameter(description = "Opaque cursor from the previous page (omit for the first page)")
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Also run a COUNT query and return totalElements")
+        @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return cursorPagingService.searchNodes(keyword, effectiveAt, cursor, size, withTotal);
+    }
+
     @GetMapping("/nodes/search/fulltext")
-    @Operation(summary = "Fulltext search nodes by content with highlight")
+    @Operation(summary = "Fulltext search nodes by content with highlight, ordered by relevance")
     public PageResponse<NodeSearchDTO> searchNodesFulltext(
+        @Parameter(description = "Terms; supports \"exact phrase\", +required and -excluded")
         @RequestParam("q") String q,
         @ParameterObject Pageable pageable
     ) {
         return nodeSearchService.fulltext(q, pageable);
     }
 
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     private NodeDTO toDto(LawNode n) {
         return NodeDTO.builder()
             .id(n.getId())
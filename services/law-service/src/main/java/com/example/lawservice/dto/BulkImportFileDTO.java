@@ -0,0 +1,37 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Outcome of importing one PDF in a bulk import")
+public class BulkImportFileDTO {
+    @Schema(description = "File name inside the import directory")
+    String fileName;
+
+    @Schema(description = "Law code inferred from the file name", example = "121/VBHN/VPQH")
+    String lawCode;
+
+    @Schema(description = "ID of the law record (null when the file failed)")
+    Long lawId;
+
+    @Schema(description = "Pages read from the PDF")
+    int pages;
+
+    @Schema(description = "Nodes written")
+    int nodeCount;
+
+    @Schema(description = "Whether a new law row was created (vs. replaced)")
+    Boolean created;
+
+    @Schema(description = "Whether the file was unchanged (same SHA-256) and not re-imported")
+    boolean skipped;
+
+    @Schema(description = "Wall time for this file (extract, parse, persist), ms")
+    long elapsedMs;
+
+    @Schema(description = "Failure reason, null on success")
+    String error;
+}
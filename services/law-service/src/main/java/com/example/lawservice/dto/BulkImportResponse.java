@@ -0,0 +1,48 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "Report of a bulk directory import")
+public class BulkImportResponse {
+    @Schema(description = "Directory that was scanned (server path)")
+    String directory;
+
+    @Schema(description = "Worker threads used")
+    int threads;
+
+    @Schema(description = "Files imported successfully")
+    int imported;
+
+    @Schema(description = "Files that failed")
+    int failed;
+
+    @Schema(description = "Files skipped because their content was unchanged (counted in imported)")
+    int skipped;
+
+    @Schema(description = "Total pages read")
+    long pages;
+
+    @Schema(description = "Total nodes written")
+    long nodes;
+
+    @Schema(description = "Wall time of the whole run, ms")
+    long elapsedMs;
+
+    @Schema(description = "Pages per second over the whole run")
+    double pagesPerSecond;
+
+    @Schema(description = "Nodes per second over the whole run")
+    double nodesPerSecond;
+
+    @Schema(description = "Whether a single RAG reindex was triggered at the end")
+    boolean reindexed;
+
+    @Schema(description = "Per-file results, in file name order")
+    List<BulkImportFileDTO> files;
+}
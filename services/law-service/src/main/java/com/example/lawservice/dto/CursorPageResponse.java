@@ -0,0 +1,35 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Keyset (cursor) page wrapper; no COUNT query unless withTotal=true")
+public class CursorPageResponse<T> {
+    @Schema(description = "Items in the current page")
+    private List<T> content;
+
+    @Schema(description = "Page size requested")
+    private int pageSize;
+
+    @Schema(description = "Opaque cursor for the next page (null on the last page)")
+    private String nextCursor;
+
+    @Schema(description = "Whether more items exist after this page")
+    private boolean hasNext;
+
+    @Schema(description = "Total number of items (only when withTotal=true)")
+    private Long totalElements;
+
+    public static <T> CursorPageResponse<T> of(List<T> content, int pageSize, String nextCursor, Long totalElements) {
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setContent(content);
+        response.setPageSize(pageSize);
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        response.setTotalElements(totalElements);
+        return response;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Number of matching nodes for one facet value")
+public class FacetCountDTO {
+    @Schema(description = "Facet value to pass back as a filter (law id, docType or level)")
+    private String value;
+
+    @Schema(description = "Display label (e.g. law code)")
+    private String label;
+
+    @Schema(description = "Matching nodes with this value")
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(description = "Node search page with facet counts by law, document type and level")
+public class FacetedSearchResponse {
+    @Schema(description = "Matching nodes after all facet filters")
+    private PageResponse<NodeDTO> results;
+
+    @Schema(description = "Counts per law (ignoring the lawId filter)")
+    private List<FacetCountDTO> laws;
+
+    @Schema(description = "Counts per document type (ignoring the docType filter)")
+    private List<FacetCountDTO> docTypes;
+
+    @Schema(description = "Counts per node level (ignoring the level filter)")
+    private List<FacetCountDTO> levels;
+}
@@ -0,0 +1,47 @@
+package com.example.lawservice.dto;
+
+import com.example.lawservice.enums.IngestionStage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "Status of an asynchronous law upload")
+public class IngestionJobDTO {
+    @Schema(description = "Ingestion job id")
+    String jobId;
+
+    @Schema(description = "Law code from the upload metadata")
+    String lawCode;
+
+    @Schema(description = "Original file name")
+    String fileName;
+
+    @Schema(description = "Current stage (DONE/FAILED when finished)")
+    IngestionStage stage;
+
+    @Schema(description = "Progress of the current stage, 0..1")
+    double stageProgress;
+
+    @Schema(description = "Overall progress, 0..1")
+    double progress;
+
+    @Schema(description = "When the upload was accepted")
+    Instant submittedAt;
+
+    @Schema(description = "When the job reached DONE or FAILED")
+    Instant finishedAt;
+
+    @Schema(description = "Per-stage timings, in execution order")
+    List<IngestionStageTimingDTO> stages;
+
+    @Schema(description = "Failure reason when stage is FAILED")
+    String error;
+
+    @Schema(description = "Upload result once persisted")
+    LawUploadResponse result;
+}
@@ -0,0 +1,25 @@
+package com.example.lawservice.dto;
+
+import com.example.lawservice.enums.IngestionStage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+@Schema(description = "Timing of one ingestion stage")
+public class IngestionStageTimingDTO {
+    @Schema(description = "Stage")
+    IngestionStage stage;
+
+    @Schema(description = "When the stage started")
+    Instant startedAt;
+
+    @Schema(description = "Duration in ms (elapsed so far while running)")
+    long durationMs;
+
+    @Schema(description = "Whether the stage has finished")
+    boolean finished;
+}
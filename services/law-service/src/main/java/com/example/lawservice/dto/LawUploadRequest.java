@@ -41,6 +41,9 @@ public class LawUploadRequest {
     @Schema(description = "Trigger RAG reindex after upload", defaultValue = "false")
     private Boolean triggerReindex = false;
 
+    @Schema(description = "Re-process the PDF even if it is identical to the stored one", defaultValue = "false")
+    private Boolean force = false;
+
     @Schema(description = "Effective start date applied to created nodes", example = "2019-01-01")
     private LocalDate nodeEffectiveStart;
 
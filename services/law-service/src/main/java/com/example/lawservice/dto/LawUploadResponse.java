@@ -5,7 +5,7 @@ import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Result of uploading a law PDF")
 public class LawUploadResponse {
     @Schema(description = "ID of the law record")
@@ -17,9 +17,12 @@ public class LawUploadResponse {
     @Schema(description = "Law title")
     String title;
 
-    @Schema(description = "ID of the created root node containing extracted text")
+    @Schema(description = "ID of the first created node (first Chương/Điều, or the single DOCUMENT node when no structure was recognized)")
     Long nodeId;
 
+    @Schema(description = "Number of nodes created (CHUONG/DIEU/KHOAN/DIEM)")
+    Integer nodeCount;
+
     @Schema(description = "Absolute path of the stored PDF on server")
     String storedFile;
 
@@ -31,4 +34,22 @@ public class LawUploadResponse {
 
     @Schema(description = "Whether RAG reindex was triggered")
     Boolean reindexed;
+
+    @Schema(description = "True when the PDF was identical to the stored one (same SHA-256): extraction, node rewrite and reindex were skipped")
+    Boolean skipped;
+
+    @Schema(description = "Hex SHA-256 of the uploaded PDF")
+    String contentSha256;
+
+    @Schema(description = "Nodes inserted by this upload")
+    Integer nodesInserted;
+
+    @Schema(description = "Nodes whose text, labels or parent changed and were updated under their existing id")
+    Integer nodesUpdated;
+
+    @Schema(description = "Nodes of the previous version that were removed")
+    Integer nodesDeleted;
+
+    @Schema(description = "Nodes left untouched because their content hash was unchanged (in-place replacement only)")
+    Integer nodesUnchanged;
 }
@@ -0,0 +1,28 @@
+package com.example.lawservice.dto;
+
+import com.example.lawservice.enums.NodeChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+@Schema(description = "One node-level change, in commit order")
+public class NodeChangeDTO {
+    @Schema(description = "Monotonic change sequence number")
+    long seq;
+
+    @Schema(description = "Law the node belongs to")
+    Long lawId;
+
+    @Schema(description = "Affected node; DELETE ids no longer resolve")
+    Long nodeId;
+
+    @Schema(description = "INSERT, UPDATE or DELETE")
+    NodeChangeType changeType;
+
+    @Schema(description = "Commit time of the change")
+    Instant changedAt;
+}
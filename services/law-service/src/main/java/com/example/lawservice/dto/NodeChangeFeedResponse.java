@@ -0,0 +1,24 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "Page of the node change feed after a given sequence number")
+public class NodeChangeFeedResponse {
+    @Schema(description = "Changes with seq > since, ascending")
+    List<NodeChangeDTO> changes;
+
+    @Schema(description = "Pass as since to fetch the next page")
+    long nextSince;
+
+    @Schema(description = "Whether more changes exist after this page")
+    boolean hasMore;
+
+    @Schema(description = "Highest sequence number committed so far")
+    long latestSeq;
+}
@@ -0,0 +1,30 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "A citation found in a node's text, with the node it points at")
+public class NodeReferenceDTO {
+    @Schema(description = "Node whose text contains the citation")
+    long sourceNodeId;
+
+    @Schema(description = "Cited law code as written (normalized); null when the citation is to the source's own law")
+    String lawCode;
+
+    @Schema(description = "Cited law, or null when no law with that code is stored")
+    Long lawId;
+
+    @Schema(description = "Cited article number (Điều N); null when the law as a whole is cited")
+    Integer articleNo;
+
+    @Schema(description = "The cited article in the law's current version, valid at effectiveAt when given; null if none")
+    NodeDTO node;
+
+    @Schema(description = "Direct children of the cited article (Khoản), when requested")
+    List<NodeDTO> children;
+}
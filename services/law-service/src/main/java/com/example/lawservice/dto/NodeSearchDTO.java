@@ -25,5 +25,8 @@ public class NodeSearchDTO {
 
     @Schema(description = "Highlighted snippet around the query term")
     private String snippet;
+
+    @Schema(description = "MySQL fulltext relevance score (higher is better)")
+    private Double score;
 }
 
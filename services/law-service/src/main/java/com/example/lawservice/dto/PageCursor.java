@@ -0,0 +1,55 @@
+package com.example.lawservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position used by keyset (seek) pagination: the sort key and id of the
+ * last row returned. Encoded as URL-safe Base64 so clients treat it as a token.
+ */
+public final class PageCursor {
+    private static final char SEPARATOR = ':';
+
+    private final String sortKey;
+    private final long id;
+
+    public PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey == null ? "" : sortKey;
+        this.id = id;
+    }
+
+    /** Cursor positioned before the first row. */
+    public static PageCursor start() {
+        return new PageCursor("", 0L);
+    }
+
+    public String getSortKey() { return sortKey; }
+    public long getId() { return id; }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode()}; a blank value means "first page".
+     *
+     * @throws IllegalArgumentException when the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long id = Long.parseLong(raw.substring(0, sep));
+            return new PageCursor(raw.substring(sep + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
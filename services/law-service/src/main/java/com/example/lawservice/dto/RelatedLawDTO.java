@@ -0,0 +1,28 @@
+package com.example.lawservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "A law reached from a base law over related_law_id links")
+public class RelatedLawDTO {
+    @Schema(description = "Law ID")
+    long id;
+
+    @Schema(description = "Law code")
+    String code;
+
+    @Schema(description = "Document type (e.g., LAW, DECREE)")
+    String docType;
+
+    @Schema(description = "Title")
+    String title;
+
+    @Schema(description = "Hops from the base law (1 = directly related)")
+    int depth;
+
+    @Schema(description = "The law this one is related to (its related_law_id)")
+    long viaLawId;
+}
@@ -0,0 +1,16 @@
+package com.example.lawservice.enums;
+
+/** Pipeline stages of an asynchronous law upload, in execution order. */
+public enum IngestionStage {
+    QUEUED,
+    EXTRACTING,
+    PARSING,
+    PERSISTING,
+    REINDEXING,
+    DONE,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.lawservice.enums;
+
+/** Kind of a row in the node change feed. */
+public enum NodeChangeType {
+    INSERT,
+    UPDATE,
+    DELETE
+}
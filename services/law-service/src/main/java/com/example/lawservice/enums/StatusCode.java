@@ -9,7 +9,8 @@ public enum StatusCode {
     NOT_FOUND(404, "Not Found"),
     UNAUTHORIZED(401, "Unauthorized"),
     CONFLICT(409, "Conflict"),
-    INTERNAL_SERVER_ERROR(500, "Internal server error");
+    INTERNAL_SERVER_ERROR(500, "Internal server error"),
+    SERVICE_UNAVAILABLE(503, "Service unavailable");
 
     private final int code;
     private final String defaultMessage;
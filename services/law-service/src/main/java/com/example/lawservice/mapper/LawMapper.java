@@ -2,6 +2,7 @@ package com.example.lawservice.mapper;
 
 import com.example.lawservice.dto.LawDTO;
 import com.example.lawservice.dto.LawNodeDTO;
+import com.example.lawservice.dto.NodeDTO;
 import com.example.lawservice.model.Law;
 import com.example.lawservice.model.LawNode;
 
@@ -59,6 +60,26 @@ public class LawMapper {
         return dto;
     }
 
+    public static NodeDTO toNodeDTO(LawNode n) {
+        if (n == null) return null;
+
+        return NodeDTO.builder()
+                .id(n.getId())
+                .lawId(n.getLaw() != null ? n.getLaw().getId() : null)
+                .parentId(n.getParent() != null ? n.getParent().getId() : null)
+                .level(n.getLevel())
+                .ordinalLabel(n.getOrdinalLabel())
+                .heading(n.getHeading())
+                .contentText(n.getContentText())
+                .contentHtml(n.getContentHtml())
+                .sortKey(n.getSortKey())
+                .path(n.getPath())
+                .title(n.getTitle())
+                .effectiveStart(n.getEffectiveStart())
+                .effectiveEnd(n.getEffectiveEnd())
+                .build();
+    }
+
     public static List<LawNodeDTO> toLawNodeDTOs(List<LawNode> nodes) {
         if (nodes == null) return List.of();
         return nodes.stream()
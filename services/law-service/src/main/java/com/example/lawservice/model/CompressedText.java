@@ -0,0 +1,39 @@
+package com.example.lawservice.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * UTF-8 text as a gzip stream, the format of {@code law_nodes.content_text_gz}. Plain deflate would
+ * be a few bytes smaller, but gzip can be served as stored to clients that accept it.
+ */
+public final class CompressedText {
+
+    private CompressedText() {
+    }
+
+    public static byte[] compress(String text) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, text.length() / 4));
+        try (OutputStream out = new GZIPOutputStream(buffer, 8192)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static String decompress(byte[] gzip) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip), 8192)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt compressed node text", e);
+        }
+    }
+}
@@ -44,6 +44,9 @@ public class Law {
     @Column(name = "source_url")
     private String sourceUrl;
 
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256; // hex SHA-256 of the stored PDF
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "related_law_id")
     @JsonIgnore
@@ -76,6 +79,8 @@ public class Law {
     public void setUnifiedSource(String unifiedSource) { this.unifiedSource = unifiedSource; }
     public String getSourceUrl() { return sourceUrl; }
     public void setSourceUrl(String sourceUrl) { this.sourceUrl = sourceUrl; }
+    public String getContentSha256() { return contentSha256; }
+    public void setContentSha256(String contentSha256) { this.contentSha256 = contentSha256; }
     public Law getRelatedLaw() { return relatedLaw; }
     public void setRelatedLaw(Law relatedLaw) { this.relatedLaw = relatedLaw; }
 }
@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Where;
 
 @Getter
 @Setter
 
 @Entity
 @Table(name = "law_nodes")
+// Hide staged and retired rows of a law being replaced (see NodeGenerations)
+@Where(clause = "generation = (SELECT l.active_generation FROM laws l WHERE l.id = law_id)")
 public class LawNode {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +41,10 @@ public class LawNode {
     @Column(name = "content_text", columnDefinition = "LONGTEXT")
     private String contentText;
 
+    // Set instead of contentText for large whole-document text (law.nodes.compress-min-chars)
+    @Column(name = "content_text_gz", columnDefinition = "LONGBLOB")
+    private byte[] contentTextGz;
+
     @Column(name = "sort_key")
     private String sortKey;
     
@@ -53,4 +60,12 @@ public class LawNode {
     @Column(name = "effective_end")
     private LocalDate effectiveEnd;
 
+    @Column(name = "generation", nullable = false)
+    private int generation;
+
+    /** Plain text of the node, decompressed when it is stored in {@code content_text_gz}. */
+    public String getContentText() {
+        return contentText == null && contentTextGz != null ? CompressedText.decompress(contentTextGz) : contentText;
+    }
+
 }
@@ -6,9 +6,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
+// Every query here is a read, so it runs read-only and goes to the read replica when one is configured
+// (DataSourceConfig); save/delete keep the read-write transactions declared by SimpleJpaRepository
+@Transactional(readOnly = true)
 public interface LawNodeRepository extends JpaRepository<LawNode, Long> {
     Page<LawNode> findByLaw_Id(Long lawId, Pageable pageable);
     
@@ -18,6 +22,15 @@ public interface LawNodeRepository extends JpaRepository<LawNode, Long> {
     // Same as above but fetch parent to avoid LazyInitialization when open-in-view=false
     @Query("SELECT n FROM LawNode n LEFT JOIN FETCH n.parent WHERE n.law.id = :lawId ORDER BY n.sortKey")
     java.util.List<LawNode> findByLaw_IdOrderBySortKeyAscWithParent(@Param("lawId") Long lawId);
+
+    // The version of a law valid at a date (range scan on idx_nodes_law_validity)
+    @Query("SELECT n FROM LawNode n LEFT JOIN FETCH n.parent WHERE n.law.id = :lawId AND " +
+           "(n.effectiveStart IS NULL OR n.effectiveStart <= :effectiveAt) AND " +
+           "(n.effectiveEnd IS NULL OR n.effectiveEnd >= :effectiveAt) ORDER BY n.sortKey")
+    java.util.List<LawNode> findByLaw_IdEffectiveAtOrderBySortKeyAscWithParent(
+        @Param("lawId") Long lawId,
+        @Param("effectiveAt") LocalDate effectiveAt
+    );
     
     Page<LawNode> findByContentTextContainingIgnoreCase(String keyword, Pageable pageable);
     
@@ -66,11 +79,89 @@ public interface LawNodeRepository extends JpaRepository<LawNode, Long> {
         Pageable pageable
     );
 
-    // Fulltext search on content_text (requires FULLTEXT index ft_content)
+    // --- Keyset (seek) pagination: no OFFSET, no COUNT; callers pass PageRequest.of(0, size + 1) ---
+
+    @Query("SELECT n FROM LawNode n WHERE n.law.id = :lawId AND " +
+           "(n.sortKey > :sortKey OR (n.sortKey = :sortKey AND n.id > :afterId)) " +
+           "ORDER BY n.sortKey, n.id")
+    java.util.List<LawNode> seekByLaw(
+        @Param("lawId") Long lawId,
+        @Param("sortKey") String sortKey,
+        @Param("afterId") Long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT n FROM LawNode n WHERE n.law.id = :lawId AND " +
+           "(n.sortKey > :sortKey OR (n.sortKey = :sortKey AND n.id > :afterId)) AND " +
+           "(n.effectiveStart IS NULL OR n.effectiveStart <= :effectiveAt) AND " +
+           "(n.effectiveEnd IS NULL OR n.effectiveEnd >= :effectiveAt) " +
+           "ORDER BY n.sortKey, n.id")
+    java.util.List<LawNode> seekByLawEffectiveAt(
+        @Param("lawId") Long lawId,
+        @Param("sortKey") String sortKey,
+        @Param("afterId") Long afterId,
+        @Param("effectiveAt") LocalDate effectiveAt,
+        Pageable limit
+    );
+
+    @Query("SELECT n FROM LawNode n WHERE n.id > :afterId AND " +
+           "LOWER(n.contentText) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "ORDER BY n.id")
+    java.util.List<LawNode> seekByContent(
+        @Param("keyword") String keyword,
+        @Param("afterId") Long afterId,
+        Pageable limit
+    );
+
+    @Query("SELECT n FROM LawNode n WHERE n.id > :afterId AND " +
+           "LOWER(n.contentText) LIKE LOWER(CONCAT('%', :keyword, '%')) AND " +
+           "(n.effectiveStart IS NULL OR n.effectiveStart <= :effectiveAt) AND " +
+           "(n.effectiveEnd IS NULL OR n.effectiveEnd >= :effectiveAt) " +
+           "ORDER BY n.id")
+    java.util.List<LawNode> seekByContentEffectiveAt(
+        @Param("keyword") String keyword,
+        @Param("afterId") Long afterId,
+        @Param("effectiveAt") LocalDate effectiveAt,
+        Pageable limit
+    );
+
+    long countByLaw_Id(Long lawId);
+
+    @Query("SELECT count(n) FROM LawNode n WHERE n.law.id = :lawId AND " +
+           "(n.effectiveStart IS NULL OR n.effectiveStart <= :effectiveAt) AND " +
+           "(n.effectiveEnd IS NULL OR n.effectiveEnd >= :effectiveAt)")
+    long countByLaw_IdAndEffectiveAt(@Param("lawId") Long lawId, @Param("effectiveAt") LocalDate effectiveAt);
+
+    long countByContentTextContainingIgnoreCase(String keyword);
+
+    @Query("SELECT count(n) FROM LawNode n WHERE " +
+           "LOWER(n.contentText) LIKE LOWER(CONCAT('%', :keyword, '%')) AND " +
+           "(n.effectiveStart IS NULL OR n.effectiveStart <= :effectiveAt) AND " +
+           "(n.effectiveEnd IS NULL OR n.effectiveEnd >= :effectiveAt)")
+    long countByContentTextContainingIgnoreCaseAndEffectiveAt(
+        @Param("keyword") String keyword,
+        @Param("effectiveAt") LocalDate effectiveAt
+    );
+
+    // Batched scan of node text for in-memory index builds (keyset on id)
+    @Query("SELECT n.id AS id, n.law.id AS lawId, n.level AS level, n.heading AS heading, n.contentText AS contentText, " +
+           "n.effectiveStart AS effectiveStart, n.effectiveEnd AS effectiveEnd " +
+           "FROM LawNode n WHERE n.id > :afterId ORDER BY n.id")
+    java.util.List<NodeTextView> scanTextAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Boolean-mode fulltext over heading + content_text (requires ngram FULLTEXT index ft_nodes_ngram),
+    // ordered by relevance. Pass an unsorted Pageable: the ORDER BY is fixed here. Native, so the
+    // active-generation filter from @Where on LawNode is repeated as a join.
     @Query(
-        value = "SELECT * FROM law_nodes WHERE MATCH(content_text) AGAINST (?1 IN NATURAL LANGUAGE MODE)",
-        countQuery = "SELECT count(*) FROM law_nodes WHERE MATCH(content_text) AGAINST (?1 IN NATURAL LANGUAGE MODE)",
+        value = "SELECT n.id AS id, n.law_id AS lawId, n.level AS level, n.ordinal_label AS ordinalLabel, " +
+                "n.heading AS heading, n.content_text AS contentText, " +
+                "MATCH(n.heading, n.content_text) AGAINST (:q IN BOOLEAN MODE) AS score " +
+                "FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation " +
+                "WHERE MATCH(n.heading, n.content_text) AGAINST (:q IN BOOLEAN MODE) " +
+                "ORDER BY score DESC, n.id",
+        countQuery = "SELECT count(*) FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation " +
+                "WHERE MATCH(n.heading, n.content_text) AGAINST (:q IN BOOLEAN MODE)",
         nativeQuery = true
     )
-    Page<LawNode> fulltext(@Param("q") String q, Pageable pageable);
+    Page<NodeFulltextView> fulltext(@Param("q") String q, Pageable pageable);
 }
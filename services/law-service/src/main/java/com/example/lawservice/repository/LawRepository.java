@@ -7,10 +7,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface LawRepository extends JpaRepository<Law, Long> {
+    // Search reads may go to the read replica; findByCodeIgnoreCase stays on the primary for the upload checks
+    @Transactional(readOnly = true)
     Page<Law> findByCodeContainingIgnoreCaseOrTitleContainingIgnoreCase(
         String code, String title, Pageable pageable);
 
@@ -25,12 +28,24 @@ public interface LawRepository extends JpaRepository<Law, Long> {
            "     WHEN LOWER(l.title) LIKE LOWER(CONCAT(:keyword, '%')) THEN 2 " +
            "     ELSE 3 END, " +
            "l.code")
+    @Transactional(readOnly = true)
     List<Law> findSuggestions(@Param("keyword") String keyword, Pageable pageable);
     
     default List<Law> findSuggestions(String keyword, int limit) {
         return findSuggestions(keyword, PageRequest.of(0, limit));
     }
 
+    // Keyset (seek) pagination on id; callers pass PageRequest.of(0, size + 1)
+    List<Law> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+    @Query("SELECT l FROM Law l WHERE l.id > :afterId AND (" +
+           "LOWER(l.code) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(l.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "ORDER BY l.id")
+    List<Law> seekByKeyword(@Param("keyword") String keyword, @Param("afterId") Long afterId, Pageable limit);
+
+    long countByCodeContainingIgnoreCaseOrTitleContainingIgnoreCase(String code, String title);
+
     java.util.List<Law> findByRelatedLaw_Id(Long relatedLawId);
 
     java.util.List<Law> findByRelatedLaw_IdAndDocTypeIgnoreCase(Long relatedLawId, String docType);
@@ -0,0 +1,14 @@
+package com.example.lawservice.repository;
+
+/**
+ * Fulltext hit with the MySQL relevance score from {@code MATCH ... AGAINST}.
+ */
+public interface NodeFulltextView {
+    Long getId();
+    Long getLawId();
+    String getLevel();
+    String getOrdinalLabel();
+    String getHeading();
+    String getContentText();
+    Double getScore();
+}
@@ -0,0 +1,17 @@
+package com.example.lawservice.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a node's searchable text, used to build in-memory indexes
+ * without hydrating full {@code LawNode} entities.
+ */
+public interface NodeTextView {
+    Long getId();
+    Long getLawId();
+    String getLevel();
+    String getHeading();
+    String getContentText();
+    LocalDate getEffectiveStart();
+    LocalDate getEffectiveEnd();
+}
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
@@ -26,6 +27,8 @@ public class RateLimitFilter extends OncePerRequestFilter {
         long lastRefillEpochSec;
         final int capacity;
         final int refillSeconds;
+        // Not synchronized: a virtual thread blocked on a contended monitor pins its carrier (Java 21)
+        final ReentrantLock lock = new ReentrantLock();
 
         Bucket(int capacity, int refillSeconds) {
             this.capacity = capacity;
@@ -34,19 +37,24 @@ public class RateLimitFilter extends OncePerRequestFilter {
             this.lastRefillEpochSec = Instant.now().getEpochSecond();
         }
 
-        synchronized boolean tryConsume() {
-            long nowSec = Instant.now().getEpochSecond();
-            long elapsed = Math.max(0, nowSec - lastRefillEpochSec);
-            if (elapsed > 0) {
-                double ratePerSec = (double) capacity / (double) refillSeconds;
-                tokens = Math.min(capacity, tokens + elapsed * ratePerSec);
-                lastRefillEpochSec = nowSec;
+        boolean tryConsume() {
+            lock.lock();
+            try {
+                long nowSec = Instant.now().getEpochSecond();
+                long elapsed = Math.max(0, nowSec - lastRefillEpochSec);
+                if (elapsed > 0) {
+                    double ratePerSec = (double) capacity / (double) refillSeconds;
+                    tokens = Math.min(capacity, tokens + elapsed * ratePerSec);
+                    lastRefillEpochSec = nowSec;
+                }
+                if (tokens >= 1.0) {
+                    tokens -= 1.0;
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
             }
-            if (tokens >= 1.0) {
-                tokens -= 1.0;
-                return true;
-            }
-            return false;
         }
     }
 
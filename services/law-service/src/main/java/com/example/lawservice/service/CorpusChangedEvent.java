@@ -0,0 +1,19 @@
+package com.example.lawservice.service;
+
+import java.util.List;
+
+/**
+ * Published whenever laws or nodes change (upload, replace, reindex). Listeners that cache
+ * derived data react after the surrounding transaction commits.
+ *
+ * @param lawId   affected law, or {@code null} when the whole corpus may have changed
+ * @param reason  short tag for logs/metrics (e.g. "upload", "reindex")
+ * @param nodeIds inserted, updated and deleted node ids when a replacement was applied in place,
+ *                or {@code null} when every node of {@code lawId} may have changed
+ */
+public record CorpusChangedEvent(Long lawId, String reason, List<Long> nodeIds) {
+
+    public CorpusChangedEvent(Long lawId, String reason) {
+        this(lawId, reason, null);
+    }
+}
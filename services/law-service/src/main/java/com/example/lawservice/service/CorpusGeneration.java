@@ -0,0 +1,31 @@
+package com.example.lawservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic corpus version, bumped after every committed {@link CorpusChangedEvent}.
+ * Caches include it in their keys so results computed against an older corpus are never served.
+ */
+@Component
+public class CorpusGeneration {
+    private static final Logger log = LoggerFactory.getLogger(CorpusGeneration.class);
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCorpusChanged(CorpusChangedEvent event) {
+        long next = generation.incrementAndGet();
+        log.info("Corpus generation -> {} ({}, lawId={}, nodes={})", next, event.reason(), event.lawId(),
+                event.nodeIds() != null ? event.nodeIds().size() : "all");
+    }
+}
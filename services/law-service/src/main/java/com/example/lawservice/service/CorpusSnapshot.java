@@ -0,0 +1,504 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.TocDTO;
+import com.example.lawservice.model.CompressedText;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, memory-mapped copy of the active node generation of every law. Node metadata is
+ * stored column by column as primitive arrays (ids ascending, so a lookup is a binary search),
+ * strings as offset/length columns into one UTF-8 region, and each law's nodes as a run of row
+ * numbers in table-of-contents order. The file is written once by {@link #write} and read through
+ * a read-only {@link MappedByteBuffer}, so the corpus lives in the page cache instead of the heap.
+ * A mapping is limited to 2 GiB, which is far above the corpus size.
+ */
+public final class CorpusSnapshot {
+    private static final int MAGIC = 0x4c534e50; // "LSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_PARENT = -1;
+
+    // String columns, in storage order
+    private static final int LEVEL = 0;
+    private static final int ORDINAL_LABEL = 1;
+    private static final int HEADING = 2;
+    private static final int CONTENT_TEXT = 3;
+    private static final int CONTENT_HTML = 4;
+    private static final int SORT_KEY = 5;
+    private static final int PATH = 6;
+    private static final int TITLE = 7;
+    private static final int STRING_COLUMNS = 8;
+
+    private static final String SELECT_NODES = "SELECT n.id, n.law_id, n.parent_id, n.level, n.ordinal_label, n.heading, "
+            + "n.content_text, n.content_text_gz, n.content_html, n.sort_key, n.path, n.title, n.effective_start, n.effective_end "
+            + "FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation ORDER BY n.id";
+
+    private final ByteBuffer buffer;
+    private final long generation;
+    private final Layout layout;
+    // Built on first as-of read of a law; dropped with the snapshot, so never outlives the data
+    private final Map<Long, ValidityIntervalTree> validity = new ConcurrentHashMap<>();
+
+    private CorpusSnapshot(ByteBuffer buffer, long generation) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a corpus snapshot (version " + VERSION + ")");
+        }
+        this.buffer = buffer;
+        this.generation = generation;
+        this.layout = new Layout(buffer.getInt(16), buffer.getInt(20));
+    }
+
+    /** Maps a snapshot file read-only; {@code generation} is the corpus generation it was built for. */
+    public static CorpusSnapshot open(Path file, long generation) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CorpusSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), generation);
+        }
+    }
+
+    /** Writes the active generation of every law in MySQL to {@code file}; returns the number of nodes. */
+    public static int write(JdbcTemplate jdbcTemplate, Path file) throws IOException {
+        Writer writer = new Writer(file);
+        try {
+            jdbcTemplate.query(SELECT_NODES, rs -> {
+                String text = rs.getString("content_text");
+                byte[] gzip = rs.getBytes("content_text_gz");
+                long parentId = rs.getLong("parent_id");
+                boolean root = rs.wasNull();
+                writer.add(new Row(rs.getLong("id"), rs.getLong("law_id"), root ? null : parentId,
+                        rs.getString("level"), rs.getString("ordinal_label"), rs.getString("heading"),
+                        text == null && gzip != null ? CompressedText.decompress(gzip) : text,
+                        rs.getString("content_html"), rs.getString("sort_key"), rs.getString("path"), rs.getString("title"),
+                        toLocalDate(rs.getDate("effective_start")), toLocalDate(rs.getDate("effective_end"))));
+            });
+            writer.laws(jdbcTemplate.queryForList("SELECT id FROM laws", Long.class));
+            return writer.finish();
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int nodeCount() {
+        return layout.nodes;
+    }
+
+    public int lawCount() {
+        return layout.laws;
+    }
+
+    public long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /** Node by id, if it belongs to an active generation. */
+    public Optional<NodeDTO> node(long id) {
+        int row = search(layout.ids, layout.nodes, id);
+        return row < 0 ? Optional.empty() : Optional.of(toDto(row));
+    }
+
+    /** Table of contents of a law (children ordered by sort key), or empty when the law does not exist. */
+    public Optional<List<TocDTO>> toc(long lawId) {
+        return toc(lawId, null);
+    }
+
+    /**
+     * Table of contents of the version of a law valid on {@code asOf} (every node when null). A
+     * node valid on that day whose parent is not is left out together with its subtree, as in the
+     * MySQL TOC.
+     */
+    public Optional<List<TocDTO>> toc(long lawId, LocalDate asOf) {
+        int[] positions = positions(lawId, asOf);
+        if (positions == null) {
+            return Optional.empty();
+        }
+        // Rows are already in sort-key order, so appending keeps every child list ordered
+        Map<Long, List<Integer>> children = new HashMap<>();
+        List<Integer> roots = new ArrayList<>();
+        for (int position : positions) {
+            int row = buffer.getInt(layout.tocRows + position * 4);
+            long parent = buffer.getLong(layout.parentIds + row * 8);
+            if (parent == NO_PARENT) {
+                roots.add(row);
+            } else {
+                children.computeIfAbsent(parent, p -> new ArrayList<>()).add(row);
+            }
+        }
+        List<TocDTO> toc = new ArrayList<>(roots.size());
+        for (int root : roots) {
+            toc.add(toToc(root, children));
+        }
+        return Optional.of(toc);
+    }
+
+    /** Nodes of the version of a law valid on {@code asOf} (every node when null), in TOC order. */
+    public Optional<List<NodeDTO>> nodes(long lawId, LocalDate asOf) {
+        int[] positions = positions(lawId, asOf);
+        if (positions == null) {
+            return Optional.empty();
+        }
+        List<NodeDTO> nodes = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            nodes.add(toDto(buffer.getInt(layout.tocRows + position * 4)));
+        }
+        return Optional.of(nodes);
+    }
+
+    /** Positions in the TOC row section of a law's nodes valid on {@code asOf}, or null for an unknown law. */
+    private int[] positions(long lawId, LocalDate asOf) {
+        int law = search(layout.lawIds, layout.laws, lawId);
+        if (law < 0) {
+            return null;
+        }
+        int start = buffer.getInt(layout.lawTocStart + law * 4);
+        int count = buffer.getInt(layout.lawTocCount + law * 4);
+        int[] positions;
+        if (asOf == null) {
+            positions = new int[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = i;
+            }
+        } else {
+            positions = validity.computeIfAbsent(lawId, id -> validityTree(start, count)).stab((int) asOf.toEpochDay());
+        }
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] += start;
+        }
+        return positions;
+    }
+
+    private ValidityIntervalTree validityTree(int start, int count) {
+        int[] from = new int[count];
+        int[] to = new int[count];
+        for (int i = 0; i < count; i++) {
+            int row = buffer.getInt(layout.tocRows + (start + i) * 4);
+            int s = buffer.getInt(layout.effectiveStart + row * 4);
+            int e = buffer.getInt(layout.effectiveEnd + row * 4);
+            from[i] = s;
+            to[i] = e == NO_DATE ? Integer.MAX_VALUE : e;
+        }
+        return ValidityIntervalTree.build(from, to);
+    }
+
+    private TocDTO toToc(int row, Map<Long, List<Integer>> children) {
+        long id = buffer.getLong(layout.ids + row * 8);
+        List<TocDTO> nested = new ArrayList<>();
+        for (int child : children.getOrDefault(id, List.of())) {
+            nested.add(toToc(child, children));
+        }
+        return TocDTO.builder()
+                .id(id)
+                .label(label(row))
+                .level(string(LEVEL, row))
+                .children(nested)
+                .build();
+    }
+
+    private String label(int row) {
+        for (int column : new int[]{ORDINAL_LABEL, HEADING, TITLE}) {
+            String value = string(column, row);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private NodeDTO toDto(int row) {
+        long parent = buffer.getLong(layout.parentIds + row * 8);
+        return NodeDTO.builder()
+                .id(buffer.getLong(layout.ids + row * 8))
+                .lawId(buffer.getLong(layout.lawIdsOfNodes + row * 8))
+                .parentId(parent == NO_PARENT ? null : parent)
+                .level(string(LEVEL, row))
+                .ordinalLabel(string(ORDINAL_LABEL, row))
+                .heading(string(HEADING, row))
+                .contentText(string(CONTENT_TEXT, row))
+                .contentHtml(string(CONTENT_HTML, row))
+                .sortKey(string(SORT_KEY, row))
+                .path(string(PATH, row))
+                .title(string(TITLE, row))
+                .effectiveStart(date(layout.effectiveStart, row))
+                .effectiveEnd(date(layout.effectiveEnd, row))
+                .build();
+    }
+
+    private String string(int column, int row) {
+        int slot = (column * layout.nodes + row) * 4;
+        int length = buffer.getInt(layout.stringLengths + slot);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(layout.text + buffer.getInt(layout.stringOffsets + slot), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private LocalDate date(int section, int row) {
+        int day = buffer.getInt(section + row * 4);
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private int search(int section, int count, long key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = buffer.getLong(section + mid * 8);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    /** One node as read from MySQL. */
+    record Row(long id, long lawId, Long parentId, String level, String ordinalLabel, String heading, String contentText,
+               String contentHtml, String sortKey, String path, String title, LocalDate effectiveStart, LocalDate effectiveEnd) {
+    }
+
+    /** Byte offsets of every section for a given node and law count. */
+    private static final class Layout {
+        final int nodes;
+        final int laws;
+        final int ids;
+        final int lawIdsOfNodes;
+        final int parentIds;
+        final int effectiveStart;
+        final int effectiveEnd;
+        final int stringOffsets;
+        final int stringLengths;
+        final int lawIds;
+        final int lawTocStart;
+        final int lawTocCount;
+        final int tocRows;
+        final int text;
+
+        Layout(int nodes, int laws) {
+            this.nodes = nodes;
+            this.laws = laws;
+            long at = HEADER_BYTES;
+            ids = (int) at;
+            at += 8L * nodes;
+            lawIdsOfNodes = (int) at;
+            at += 8L * nodes;
+            parentIds = (int) at;
+            at += 8L * nodes;
+            effectiveStart = (int) at;
+            at += 4L * nodes;
+            effectiveEnd = (int) at;
+            at += 4L * nodes;
+            stringOffsets = (int) at;
+            at += 4L * STRING_COLUMNS * nodes;
+            stringLengths = (int) at;
+            at += 4L * STRING_COLUMNS * nodes;
+            lawIds = (int) at;
+            at += 8L * laws;
+            lawTocStart = (int) at;
+            at += 4L * laws;
+            lawTocCount = (int) at;
+            at += 4L * laws;
+            tocRows = (int) at;
+            at += 4L * nodes;
+            if (at > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Corpus too large for one snapshot mapping");
+            }
+            text = (int) at;
+        }
+    }
+
+    /**
+     * Collects rows in id order: metadata into heap arrays, strings straight into a temporary text
+     * file. {@link #finish} sorts the TOC order and writes header, columns and text into one file.
+     */
+    static final class Writer {
+        private final Path file;
+        private final Path textFile;
+        private final OutputStream text;
+        private long[] ids = new long[1024];
+        private long[] lawIds = new long[1024];
+        private long[] parentIds = new long[1024];
+        private int[] effectiveStart = new int[1024];
+        private int[] effectiveEnd = new int[1024];
+        private int[][] offsets = new int[STRING_COLUMNS][1024];
+        private int[][] lengths = new int[STRING_COLUMNS][1024];
+        private final List<String> sortKeys = new ArrayList<>();
+        private long[] laws = new long[0];
+        private long textBytes;
+        private int count;
+
+        Writer(Path file) throws IOException {
+            this.file = file;
+            this.textFile = Files.createTempFile(file.toAbsolutePath().getParent(), "corpus-text", ".tmp");
+            this.text = new BufferedOutputStream(Files.newOutputStream(textFile), 1 << 16);
+        }
+
+        void add(Row row) {
+            if (count > 0 && row.id() <= ids[count - 1]) {
+                throw new IllegalArgumentException("Rows must be added in ascending id order");
+            }
+            if (count == ids.length) {
+                grow();
+            }
+            ids[count] = row.id();
+            lawIds[count] = row.lawId();
+            parentIds[count] = row.parentId() != null ? row.parentId() : NO_PARENT;
+            effectiveStart[count] = row.effectiveStart() != null ? (int) row.effectiveStart().toEpochDay() : NO_DATE;
+            effectiveEnd[count] = row.effectiveEnd() != null ? (int) row.effectiveEnd().toEpochDay() : NO_DATE;
+            String[] values = {row.level(), row.ordinalLabel(), row.heading(), row.contentText(), row.contentHtml(),
+                    row.sortKey(), row.path(), row.title()};
+            for (int column = 0; column < STRING_COLUMNS; column++) {
+                appendString(column, values[column]);
+            }
+            sortKeys.add(row.sortKey());
+            count++;
+        }
+
+        void laws(List<Long> lawIds) {
+            laws = lawIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        int finish() throws IOException {
+            text.close();
+            Layout layout = new Layout(count, laws.length);
+            if (layout.text + textBytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Corpus too large for one snapshot mapping");
+            }
+            // TOC order: by law, then sort key as the TOC endpoints compare it, then id
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(i -> lawIds[i])
+                    .thenComparing(i -> nullToEmpty(sortKeys.get(i)), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingLong(i -> ids[i]));
+            int[] tocStart = new int[laws.length];
+            int[] tocCount = new int[laws.length];
+            for (int i = 0; i < count; ) {
+                long law = lawIds[order[i]];
+                int end = i;
+                while (end < count && lawIds[order[end]] == law) {
+                    end++;
+                }
+                int index = Arrays.binarySearch(laws, law);
+                if (index >= 0) {
+                    tocStart[index] = i;
+                    tocCount[index] = end - i;
+                }
+                i = end;
+            }
+
+            // Header: magic, version, reserved, node count, law count, text bytes
+            ByteBuffer columns = ByteBuffer.allocate(layout.text);
+            columns.putInt(MAGIC).putInt(VERSION).putLong(0).putInt(count).putInt(laws.length).putLong(textBytes);
+            for (int i = 0; i < count; i++) columns.putLong(ids[i]);
+            for (int i = 0; i < count; i++) columns.putLong(lawIds[i]);
+            for (int i = 0; i < count; i++) columns.putLong(parentIds[i]);
+            for (int i = 0; i < count; i++) columns.putInt(effectiveStart[i]);
+            for (int i = 0; i < count; i++) columns.putInt(effectiveEnd[i]);
+            for (int c = 0; c < STRING_COLUMNS; c++) for (int i = 0; i < count; i++) columns.putInt(offsets[c][i]);
+            for (int c = 0; c < STRING_COLUMNS; c++) for (int i = 0; i < count; i++) columns.putInt(lengths[c][i]);
+            for (long law : laws) columns.putLong(law);
+            for (int start : tocStart) columns.putInt(start);
+            for (int n : tocCount) columns.putInt(n);
+            for (Integer row : order) columns.putInt(row);
+            columns.flip();
+
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+                 FileChannel in = FileChannel.open(textFile, StandardOpenOption.READ)) {
+                while (columns.hasRemaining()) {
+                    out.write(columns);
+                }
+                long copied = 0;
+                while (copied < textBytes) {
+                    copied += in.transferTo(copied, textBytes - copied, out);
+                }
+                out.force(false);
+            } finally {
+                Files.deleteIfExists(textFile);
+            }
+            return count;
+        }
+
+        void abort() {
+            try {
+                text.close();
+                Files.deleteIfExists(textFile);
+            } catch (IOException ignored) {
+                // temp file is left behind; the snapshot directory is cleaned on startup
+            }
+        }
+
+        private void appendString(int column, String value) {
+            if (value == null) {
+                lengths[column][count] = -1;
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            offsets[column][count] = (int) textBytes;
+            lengths[column][count] = bytes.length;
+            try {
+                text.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            textBytes += bytes.length;
+            if (textBytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Corpus too large for one snapshot mapping");
+            }
+        }
+
+        private void grow() {
+            int size = ids.length * 2;
+            ids = Arrays.copyOf(ids, size);
+            lawIds = Arrays.copyOf(lawIds, size);
+            parentIds = Arrays.copyOf(parentIds, size);
+            effectiveStart = Arrays.copyOf(effectiveStart, size);
+            effectiveEnd = Arrays.copyOf(effectiveEnd, size);
+            for (int c = 0; c < STRING_COLUMNS; c++) {
+                offsets[c] = Arrays.copyOf(offsets[c], size);
+                lengths[c] = Arrays.copyOf(lengths[c], size);
+            }
+        }
+
+        private static String nullToEmpty(String s) {
+            return s == null ? "" : s;
+        }
+    }
+}
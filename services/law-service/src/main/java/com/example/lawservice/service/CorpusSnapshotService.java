@@ -0,0 +1,183 @@
+package com.example.lawservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps a {@link CorpusSnapshot} of the corpus memory-mapped for the node and table-of-contents
+ * read endpoints. MySQL stays the source of truth: the snapshot is rebuilt in the background on
+ * startup and after every committed {@link CorpusChangedEvent}, swapped in atomically once it is
+ * mapped, and only handed out while its {@link CorpusGeneration} is still current, so callers fall
+ * back to MySQL between an upload and the next rebuild. Rebuild requests coalesce: one build runs,
+ * at most one waits, and a build that saw the corpus change under it simply runs again.
+ */
+@Service
+public class CorpusSnapshotService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(CorpusSnapshotService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CorpusGeneration corpusGeneration;
+    private final boolean enabled;
+    private final Path dir;
+    private final ThreadPoolTaskExecutor executor;
+    private final AtomicReference<Mapped> current = new AtomicReference<>();
+    private final Timer buildTimer;
+    private final Counter hits;
+    private final Counter stale;
+
+    public CorpusSnapshotService(JdbcTemplate jdbcTemplate,
+                                 CorpusGeneration corpusGeneration,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${law.snapshot.enabled:true}") boolean enabled,
+                                 @Value("${law.snapshot.dir:snapshot}") String dir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.corpusGeneration = corpusGeneration;
+        this.enabled = enabled;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("corpus-snapshot-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        this.buildTimer = Timer.builder("law.snapshot.build")
+                .description("Corpus snapshot build (query, write and map)")
+                .register(meterRegistry);
+        this.hits = Counter.builder("law.snapshot.reads").tag("result", "hit")
+                .description("Node and TOC reads by outcome: served from the snapshot, or stale (MySQL fallback)")
+                .register(meterRegistry);
+        this.stale = Counter.builder("law.snapshot.reads").tag("result", "stale")
+                .description("Node and TOC reads by outcome: served from the snapshot, or stale (MySQL fallback)")
+                .register(meterRegistry);
+        Gauge.builder("law.snapshot.nodes", current, ref -> ref.get() != null ? ref.get().snapshot.nodeCount() : 0)
+                .description("Nodes in the mapped corpus snapshot")
+                .register(meterRegistry);
+    }
+
+    /** The mapped snapshot when it reflects the latest committed corpus, otherwise empty. */
+    public Optional<CorpusSnapshot> current() {
+        Mapped mapped = current.get();
+        if (mapped != null && mapped.snapshot.generation() == corpusGeneration.current()) {
+            hits.increment();
+            return Optional.of(mapped.snapshot);
+        }
+        stale.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for a current snapshot, for the startup warm-up; false
+     * when disabled or not built in time (reads then use MySQL, as always).
+     */
+    public boolean awaitCurrent(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (enabled && Files.isDirectory(dir)) {
+            Mapped mapped = current.get();
+            if (mapped != null && mapped.snapshot.generation() == corpusGeneration.current()) {
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    // On "started" rather than "ready": ApplicationRunners (the warm-up) run in between and can wait for it
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            // Files of a previous run are never reused: their generation numbers mean nothing now
+            try (DirectoryStream<Path> old = Files.newDirectoryStream(dir, "corpus-*")) {
+                for (Path file : old) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Corpus snapshot disabled, cannot use {}: {}", dir, e.getMessage());
+            return;
+        }
+        executor.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCorpusChanged(CorpusChangedEvent event) {
+        if (enabled && Files.isDirectory(dir)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        long generation;
+        do {
+            generation = corpusGeneration.current();
+            try {
+                build(generation);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Corpus snapshot build failed, reads use MySQL: {}", e.getMessage());
+                return;
+            }
+        } while (generation != corpusGeneration.current());
+    }
+
+    private void build(long generation) throws IOException {
+        long start = System.nanoTime();
+        Path file = dir.resolve("corpus-" + generation + "-" + start + ".bin");
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+        int nodes;
+        try {
+            nodes = CorpusSnapshot.write(jdbcTemplate, tmp);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        CorpusSnapshot snapshot = CorpusSnapshot.open(file, generation);
+        Mapped previous = current.getAndSet(new Mapped(snapshot, file));
+        long elapsed = System.nanoTime() - start;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Corpus snapshot {}: {} nodes, {} laws, {} KiB in {} ms", generation, nodes, snapshot.lawCount(),
+                snapshot.sizeBytes() / 1024, elapsed / 1_000_000);
+        if (previous != null) {
+            // Readers still holding the old mapping keep it valid; the pages are released when it is collected
+            Files.deleteIfExists(previous.file);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private record Mapped(CorpusSnapshot snapshot, Path file) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.CursorPageResponse;
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.PageCursor;
+import com.example.lawservice.mapper.LawMapper;
+import com.example.lawservice.model.Law;
+import com.example.lawservice.model.LawNode;
+import com.example.lawservice.repository.LawNodeRepository;
+import com.example.lawservice.repository.LawRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset (seek) pagination for node and law listings. Each page is one index range scan
+ * starting after the cursor row, so page 1000 costs the same as page 1; the COUNT query
+ * only runs when the caller asks for it.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CursorPagingService {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final LawNodeRepository nodeRepository;
+    private final LawRepository lawRepository;
+
+    public CursorPageResponse<NodeDTO> nodesByLaw(Long lawId, LocalDate effectiveAt, String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<LawNode> rows = effectiveAt != null
+                ? nodeRepository.seekByLawEffectiveAt(lawId, after.getSortKey(), after.getId(), effectiveAt, limit)
+                : nodeRepository.seekByLaw(lawId, after.getSortKey(), after.getId(), limit);
+        Long total = null;
+        if (withTotal) {
+            total = effectiveAt != null
+                    ? nodeRepository.countByLaw_IdAndEffectiveAt(lawId, effectiveAt)
+                    : nodeRepository.countByLaw_Id(lawId);
+        }
+        return toPage(rows, pageSize, total, LawMapper::toNodeDTO, n -> new PageCursor(n.getSortKey(), n.getId()));
+    }
+
+    public CursorPageResponse<NodeDTO> searchNodes(String keyword, LocalDate effectiveAt, String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<LawNode> rows = effectiveAt != null
+                ? nodeRepository.seekByContentEffectiveAt(keyword, after.getId(), effectiveAt, limit)
+                : nodeRepository.seekByContent(keyword, after.getId(), limit);
+        Long total = null;
+        if (withTotal) {
+            total = effectiveAt != null
+                    ? nodeRepository.countByContentTextContainingIgnoreCaseAndEffectiveAt(keyword, effectiveAt)
+                    : nodeRepository.countByContentTextContainingIgnoreCase(keyword);
+        }
+        return toPage(rows, pageSize, total, LawMapper::toNodeDTO, n -> new PageCursor(null, n.getId()));
+    }
+
+    public CursorPageResponse<Law> laws(String keyword, String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        List<Law> rows = hasKeyword
+                ? lawRepository.seekByKeyword(keyword, after.getId(), limit)
+                : lawRepository.findByIdGreaterThanOrderByIdAsc(after.getId(), limit);
+        Long total = null;
+        if (withTotal) {
+            total = hasKeyword
+                    ? lawRepository.countByCodeContainingIgnoreCaseOrTitleContainingIgnoreCase(keyword, keyword)
+                    : lawRepository.count();
+        }
+        return toPage(rows, pageSize, total, Function.identity(), l -> new PageCursor(null, l.getId()));
+    }
+
+    private <E, T> CursorPageResponse<T> toPage(List<E> rows, int pageSize, Long total,
+                                                Function<E, T> mapper, Function<E, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        List<T> content = page.stream().map(mapper).collect(Collectors.toList());
+        return CursorPageResponse.of(content, pageSize, next, total);
+    }
+
+    private int clampSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(MAX_SIZE, size);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.lawservice.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * User search input translated to a MySQL {@code BOOLEAN MODE} expression.
+ *
+ * <p>Supported syntax: {@code "exact phrase"}, {@code +required}, {@code -excluded} (prefixes also
+ * apply to phrases) and plain optional terms that only raise relevance. Any other boolean-mode
+ * operator characters in the input are treated as separators, so user text can never produce a
+ * malformed expression.
+ */
+public final class FulltextQuery {
+    private static final String OPERATOR_CHARS = "+-<>()~*\"@";
+
+    private final String expression;
+    private final List<String> highlightTerms;
+
+    private FulltextQuery(String expression, List<String> highlightTerms) {
+        this.expression = expression;
+        this.highlightTerms = highlightTerms;
+    }
+
+    public static FulltextQuery parse(String input) {
+        List<String> clauses = new ArrayList<>();
+        List<String> highlights = new ArrayList<>();
+        boolean hasPositive = false;
+        String s = input == null ? "" : input;
+        int i = 0;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            char prefix = 0;
+            if ((c == '+' || c == '-') && i + 1 < s.length() && !Character.isWhitespace(s.charAt(i + 1))) {
+                prefix = c;
+                c = s.charAt(++i);
+            }
+            String raw;
+            boolean quoted = c == '"';
+            if (quoted) {
+                int end = s.indexOf('"', i + 1);
+                if (end < 0) end = s.length();
+                raw = s.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < s.length() && !Character.isWhitespace(s.charAt(end)) && s.charAt(end) != '"') end++;
+                raw = s.substring(i, end);
+                i = end;
+            }
+            String term = sanitize(raw);
+            if (term.isEmpty()) {
+                continue;
+            }
+            // Sanitizing may split a word ("a-b"); keep its parts together as a phrase.
+            boolean phrase = quoted || term.indexOf(' ') >= 0;
+            String body = phrase ? '"' + term + '"' : term;
+            clauses.add(prefix == 0 ? body : prefix + body);
+            if (prefix != '-') {
+                hasPositive = true;
+                highlights.add(term);
+            }
+        }
+        if (!hasPositive) {
+            // Boolean mode returns nothing for purely negative queries
+            return new FulltextQuery("", List.of());
+        }
+        return new FulltextQuery(String.join(" ", clauses), Collections.unmodifiableList(highlights));
+    }
+
+    private static String sanitize(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            sb.append(OPERATOR_CHARS.indexOf(c) >= 0 || Character.isWhitespace(c) ? ' ' : c);
+        }
+        return sb.toString().trim().replaceAll("\\s+", " ");
+    }
+
+    public boolean isEmpty() {
+        return expression.isEmpty();
+    }
+
+    /** Expression to bind to {@code AGAINST (? IN BOOLEAN MODE)}. */
+    public String expression() {
+        return expression;
+    }
+
+    /** Phrases and non-excluded terms, for snippet highlighting. */
+    public List<String> highlightTerms() {
+        return highlightTerms;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.model.Law;
+import com.example.lawservice.model.LawNode;
+import com.example.lawservice.repository.LawNodeRepository;
+import com.example.lawservice.repository.LawRepository;
+import com.example.lawservice.repository.NodeTextView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typo-tolerant node search backed by a {@link TrigramIndex} over node text and law titles.
+ * Also serves faceted search (counts by law, docType and level) from the same index.
+ * The index is built lazily from MySQL and dropped after each committed {@link CorpusChangedEvent}.
+ * It is only served while its {@link CorpusGeneration} is still current, and a build that saw the
+ * corpus change under it runs again, so cached search results never pair a new generation with an
+ * index scanned before the change.
+ */
+@Service
+public class FuzzyNodeSearchService {
+    private static final Logger log = LoggerFactory.getLogger(FuzzyNodeSearchService.class);
+    private static final int SCAN_BATCH = 500;
+
+    private final LawNodeRepository nodeRepository;
+    private final LawRepository lawRepository;
+    private final CorpusGeneration corpusGeneration;
+    private final Timer searchTimer;
+    private final Timer buildTimer;
+    private final Timer facetTimer;
+
+    private volatile Built index;
+    // Held across the MySQL scan, so a lock rather than a monitor that would pin a virtual thread's carrier
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    public FuzzyNodeSearchService(LawNodeRepository nodeRepository, LawRepository lawRepository,
+                                  CorpusGeneration corpusGeneration, MeterRegistry meterRegistry) {
+        this.nodeRepository = nodeRepository;
+        this.lawRepository = lawRepository;
+        this.corpusGeneration = corpusGeneration;
+        this.searchTimer = Timer.builder("law.search.fuzzy")
+                .description("Typo-tolerant node search latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("law.search.fuzzy.build")
+                .description("Trigram index build time")
+                .register(meterRegistry);
+        this.facetTimer = Timer.builder("law.search.faceted")
+                .description("Faceted node search latency (match + facet counts)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public Page<LawNode> search(String keyword, LocalDate effectiveAt, Pageable pageable) {
+        return searchTimer.record(() -> page(index().search(keyword, effectiveAt), pageable));
+    }
+
+    /** Ranked ids plus facet counts; {@code fuzzy=false} requires exact (accent-folded) token matches. */
+    public TrigramIndex.Result facetedSearch(String keyword, LocalDate effectiveAt, boolean fuzzy,
+                                             TrigramIndex.FacetFilter filter) {
+        return facetTimer.record(() -> index().search(keyword, effectiveAt, fuzzy, filter));
+    }
+
+    public String lawCode(long lawId) {
+        return index().lawCode(lawId);
+    }
+
+    /** Loads one page of nodes for already ranked ids, preserving rank order. */
+    public Page<LawNode> page(List<Long> ids, Pageable pageable) {
+        Pageable p = pageable.isPaged() ? pageable : PageRequest.of(0, 20);
+        int from = (int) Math.min(ids.size(), p.getOffset());
+        int to = Math.min(ids.size(), from + p.getPageSize());
+        List<Long> pageIds = ids.subList(from, to);
+
+        Map<Long, LawNode> byId = new HashMap<>();
+        nodeRepository.findAllById(pageIds).forEach(n -> byId.put(n.getId(), n));
+        List<LawNode> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            LawNode n = byId.get(id);
+            if (n != null) content.add(n);
+        }
+        return new PageImpl<>(content, p, ids.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCorpusChanged(CorpusChangedEvent event) {
+        index = null;
+    }
+
+    TrigramIndex index() {
+        Built current = index;
+        if (current != null && current.generation == corpusGeneration.current()) {
+            return current.index;
+        }
+        buildLock.lock();
+        try {
+            current = index;
+            while (current == null || current.generation != corpusGeneration.current()) {
+                long generation = corpusGeneration.current();
+                current = new Built(buildTimer.record(this::build), generation);
+                index = current;
+            }
+            return current.index;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private TrigramIndex build() {
+        TrigramIndex.Builder builder = TrigramIndex.builder();
+        long afterId = 0L;
+        while (true) {
+            List<NodeTextView> batch = nodeRepository.scanTextAfter(afterId, PageRequest.of(0, SCAN_BATCH));
+            for (NodeTextView v : batch) {
+                builder.addNode(v.getId(), v.getLawId(), v.getLevel(), v.getHeading(), v.getContentText(),
+                        v.getEffectiveStart(), v.getEffectiveEnd());
+            }
+            if (batch.size() < SCAN_BATCH) break;
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        for (Law law : lawRepository.findAll()) {
+            builder.addLaw(law.getId(), law.getCode(), law.getTitle(), law.getDocType());
+        }
+        TrigramIndex built = builder.build();
+        log.info("Built trigram index: {} nodes, {} terms", built.documentCount(), built.termCount());
+        return built;
+    }
+
+    private record Built(TrigramIndex index, long generation) {
+    }
+}
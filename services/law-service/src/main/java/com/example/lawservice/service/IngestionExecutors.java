@@ -0,0 +1,68 @@
+package com.example.lawservice.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded pools for the upload pipeline: CPU-bound extraction/parsing, DB persistence, RAG
+ * reindex and the purge of replaced node generations each get their own threads and queue, so a burst of large PDFs cannot exhaust DB
+ * connections or block reindex calls. Kept out of the context as plain fields so they don't
+ * replace Spring Boot's default {@code applicationTaskExecutor}.
+ */
+@Component
+public class IngestionExecutors implements DisposableBean {
+    private final ThreadPoolTaskExecutor extract;
+    private final ThreadPoolTaskExecutor persist;
+    private final ThreadPoolTaskExecutor reindex;
+    private final ThreadPoolTaskExecutor cleanup;
+
+    public IngestionExecutors(
+            @Value("${law.ingest.extract-threads:2}") int extractThreads,
+            @Value("${law.ingest.persist-threads:1}") int persistThreads,
+            @Value("${law.ingest.queue-capacity:16}") int queueCapacity) {
+        this.extract = pool("ingest-extract-", extractThreads, queueCapacity);
+        this.persist = pool("ingest-persist-", persistThreads, queueCapacity);
+        this.reindex = pool("ingest-reindex-", 1, queueCapacity);
+        this.cleanup = pool("ingest-cleanup-", 1, queueCapacity);
+    }
+
+    private static ThreadPoolTaskExecutor pool(String prefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(Math.max(1, threads));
+        executor.setMaxPoolSize(Math.max(1, threads));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    public Executor extract() {
+        return extract;
+    }
+
+    public Executor persist() {
+        return persist;
+    }
+
+    public Executor reindex() {
+        return reindex;
+    }
+
+    public Executor cleanup() {
+        return cleanup;
+    }
+
+    @Override
+    public void destroy() {
+        extract.shutdown();
+        persist.shutdown();
+        reindex.shutdown();
+        cleanup.shutdown();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.IngestionJobDTO;
+import com.example.lawservice.dto.IngestionStageTimingDTO;
+import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.enums.IngestionStage;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable state of one asynchronous upload. Written by pipeline threads, read by the status
+ * endpoint; all access goes through this object's monitor.
+ */
+public class IngestionJob {
+    // Rough share of wall time per stage, used only to turn stage progress into overall progress
+    private static final Map<IngestionStage, Double> WEIGHTS = Map.of(
+            IngestionStage.EXTRACTING, 0.45,
+            IngestionStage.PARSING, 0.05,
+            IngestionStage.PERSISTING, 0.40,
+            IngestionStage.REINDEXING, 0.10);
+
+    private final String id;
+    private final String lawCode;
+    private final String fileName;
+    private final boolean reindexRequested;
+    private final Instant submittedAt = Instant.now();
+
+    private final Map<IngestionStage, long[]> nanos = new EnumMap<>(IngestionStage.class);
+    private final Map<IngestionStage, Instant> startedAt = new EnumMap<>(IngestionStage.class);
+    private IngestionStage stage = IngestionStage.QUEUED;
+    private double stageProgress;
+    private Instant finishedAt;
+    private String error;
+    private LawUploadResponse result;
+
+    IngestionJob(String id, String lawCode, String fileName, boolean reindexRequested) {
+        this.id = id;
+        this.lawCode = lawCode;
+        this.fileName = fileName;
+        this.reindexRequested = reindexRequested;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isReindexRequested() {
+        return reindexRequested;
+    }
+
+    public synchronized IngestionStage getStage() {
+        return stage;
+    }
+
+    synchronized void enter(IngestionStage next) {
+        closeCurrent();
+        stage = next;
+        stageProgress = 0;
+        if (!next.isTerminal()) {
+            startedAt.put(next, Instant.now());
+            nanos.put(next, new long[]{System.nanoTime(), -1});
+        } else {
+            finishedAt = Instant.now();
+        }
+    }
+
+    /** Closes the running stage and returns its duration in nanoseconds. */
+    synchronized long finishStage() {
+        closeCurrent();
+        long[] t = nanos.get(stage);
+        return t == null ? 0 : t[1] - t[0];
+    }
+
+    synchronized void progress(double fraction) {
+        stageProgress = Math.max(0, Math.min(1, fraction));
+    }
+
+    synchronized void result(LawUploadResponse response) {
+        this.result = response;
+    }
+
+    synchronized void fail(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        enter(IngestionStage.FAILED);
+    }
+
+    private void closeCurrent() {
+        long[] t = nanos.get(stage);
+        if (t != null && t[1] < 0) {
+            t[1] = System.nanoTime();
+        }
+    }
+
+    public synchronized IngestionJobDTO toDto() {
+        List<IngestionStageTimingDTO> timings = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Map.Entry<IngestionStage, long[]> e : nanos.entrySet()) {
+            long[] t = e.getValue();
+            boolean finished = t[1] >= 0;
+            timings.add(IngestionStageTimingDTO.builder()
+                    .stage(e.getKey())
+                    .startedAt(startedAt.get(e.getKey()))
+                    .durationMs(((finished ? t[1] : now) - t[0]) / 1_000_000)
+                    .finished(finished)
+                    .build());
+        }
+        return IngestionJobDTO.builder()
+                .jobId(id)
+                .lawCode(lawCode)
+                .fileName(fileName)
+                .stage(stage)
+                .stageProgress(stage == IngestionStage.DONE ? 1 : stageProgress)
+                .progress(overallProgress())
+                .submittedAt(submittedAt)
+                .finishedAt(finishedAt)
+                .stages(timings)
+                .error(error)
+                .result(result)
+                .build();
+    }
+
+    private double overallProgress() {
+        if (stage == IngestionStage.DONE) {
+            return 1;
+        }
+        double total = 0;
+        double done = 0;
+        for (IngestionStage s : IngestionStage.values()) {
+            Double w = WEIGHTS.get(s);
+            if (w == null || (s == IngestionStage.REINDEXING && !reindexRequested)) continue;
+            total += w;
+            long[] t = nanos.get(s);
+            if (t != null && t[1] >= 0) {
+                done += w;
+            } else if (s == stage) {
+                done += w * stageProgress;
+            }
+        }
+        return total == 0 ? 0 : done / total;
+    }
+}
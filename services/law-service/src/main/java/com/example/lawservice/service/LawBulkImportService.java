@@ -0,0 +1,269 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.BulkImportFileDTO;
+import com.example.lawservice.dto.BulkImportResponse;
+import com.example.lawservice.dto.LawUploadRequest;
+import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.enums.StatusCode;
+import com.example.lawservice.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports every PDF of a server-side directory (the JVM replacement for tools/seed_pdfs.sh):
+ * codes, titles and doc types are inferred from file names and text the same way as
+ * tools/import_pdf.py, files are extracted, parsed and persisted on {@code law.import.threads}
+ * workers (nodes written in batches under a staged generation), and the resulting node changes
+ * are sent to RAG once at the end.
+ */
+@Service
+public class LawBulkImportService {
+    private static final Logger log = LoggerFactory.getLogger(LawBulkImportService.class);
+    private static final Pattern CODE_SEPARATORS = Pattern.compile("[\\s_\\-]+");
+    private static final Pattern NATIONAL_HEADER = Pattern.compile("CỘNG HÒA|XÃ HỘI|ĐỘC LẬP|TỰ DO|HẠNH PHÚC",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    private static final int TITLE_SCAN_LINES = 50;
+
+    private final LawUploadService uploadService;
+    private final PdfTextExtractor pdfTextExtractor;
+    private final RagChangeNotifier changeNotifier;
+    private final MeterRegistry meterRegistry;
+    private final Path importRoot;
+    private final int threads;
+    private final boolean importOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LawBulkImportService(LawUploadService uploadService,
+                                PdfTextExtractor pdfTextExtractor,
+                                RagChangeNotifier changeNotifier,
+                                MeterRegistry meterRegistry,
+                                @Value("${law.import.dir:import}") String importDir,
+                                @Value("${law.import.threads:2}") int threads,
+                                @Value("${law.import.on-startup:false}") boolean importOnStartup) {
+        this.uploadService = uploadService;
+        this.pdfTextExtractor = pdfTextExtractor;
+        this.changeNotifier = changeNotifier;
+        this.meterRegistry = meterRegistry;
+        this.importRoot = Paths.get(importDir).toAbsolutePath().normalize();
+        this.threads = Math.max(1, threads);
+        this.importOnStartup = importOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importOnStartup() {
+        if (!importOnStartup) {
+            return;
+        }
+        try {
+            BulkImportResponse report = importDirectory(null, true, true);
+            log.info("Startup import of {}: {} imported, {} failed", report.getDirectory(), report.getImported(), report.getFailed());
+        } catch (CustomException e) {
+            log.warn("Startup import skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Imports all {@code *.pdf} files of {@code subdir} (relative to {@code law.import.dir}, or the
+     * root itself when blank). Only one run at a time; a file that fails does not stop the others.
+     */
+    public BulkImportResponse importDirectory(String subdir, boolean replaceExisting, boolean triggerReindex) throws CustomException {
+        Path dir = resolve(subdir);
+        if (!running.compareAndSet(false, true)) {
+            throw new CustomException(StatusCode.CONFLICT, "A bulk import is already running");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, namedThreads());
+        try {
+            List<Path> pdfs = listPdfs(dir);
+            long start = System.nanoTime();
+            Set<String> codes = new HashSet<>();
+            List<CompletableFuture<BulkImportFileDTO>> futures = new ArrayList<>();
+            for (Path pdf : pdfs) {
+                String code = inferCode(pdf.getFileName().toString());
+                if (!codes.add(code.toLowerCase(Locale.ROOT))) {
+                    futures.add(CompletableFuture.completedFuture(failed(pdf, code, 0, "Duplicate law code in directory")));
+                    continue;
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> importFile(pdf, code, replaceExisting), executor));
+            }
+            List<BulkImportFileDTO> files = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+            int imported = (int) files.stream().filter(f -> f.getError() == null).count();
+            int skipped = (int) files.stream().filter(BulkImportFileDTO::isSkipped).count();
+            boolean reindexed = false;
+            if (triggerReindex && imported > skipped) {
+                try {
+                    changeNotifier.push();
+                    reindexed = true;
+                } catch (RuntimeException e) {
+                    log.warn("Reindex after bulk import failed: {}", e.getMessage());
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            meterRegistry.timer("law.import.run").record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            long pages = files.stream().mapToLong(BulkImportFileDTO::getPages).sum();
+            long nodes = files.stream().mapToLong(BulkImportFileDTO::getNodeCount).sum();
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            BulkImportResponse report = BulkImportResponse.builder()
+                    .directory(dir.toString())
+                    .threads(threads)
+                    .imported(imported)
+                    .failed(files.size() - imported)
+                    .skipped(skipped)
+                    .pages(pages)
+                    .nodes(nodes)
+                    .elapsedMs(elapsedNanos / 1_000_000)
+                    .pagesPerSecond(pages / seconds)
+                    .nodesPerSecond(nodes / seconds)
+                    .reindexed(reindexed)
+                    .files(files)
+                    .build();
+            log.info("Bulk import of {}: {} files, {} pages, {} nodes in {} ms ({} pages/s, {} nodes/s)",
+                    dir, files.size(), pages, nodes, report.getElapsedMs(),
+                    Math.round(report.getPagesPerSecond()), Math.round(report.getNodesPerSecond()));
+            return report;
+        } finally {
+            executor.shutdown();
+            running.set(false);
+        }
+    }
+
+    private BulkImportFileDTO importFile(Path pdf, String code, boolean replaceExisting) {
+        long start = System.nanoTime();
+        int pages = 0;
+        try {
+            String fileName = pdf.getFileName().toString();
+            LawUploadRequest request = new LawUploadRequest();
+            request.setCode(code);
+            request.setReplaceExisting(replaceExisting);
+            String sha256 = LawUploadService.sha256(pdf);
+            Optional<LawUploadResponse> unchanged = uploadService.skipIfUnchanged(request, pdf, sha256);
+            if (unchanged.isPresent()) {
+                return BulkImportFileDTO.builder()
+                        .fileName(fileName)
+                        .lawCode(code)
+                        .lawId(unchanged.get().getLawId())
+                        .created(false)
+                        .skipped(true)
+                        .elapsedMs((System.nanoTime() - start) / 1_000_000)
+                        .build();
+            }
+            PdfTextExtractor.Extraction extraction = pdfTextExtractor.extractDocument(pdf, fraction -> { });
+            pages = extraction.pages();
+            request.setTitle(inferTitle(extraction.text(), fileName));
+            request.setDocType(inferDocType(fileName));
+            List<LawStructureParser.ParsedNode> nodes = uploadService.parse(extraction.text(), code);
+            LawUploadResponse response = uploadService.persist(request, pdf, sha256, extraction.text(), nodes, fraction -> { });
+            return BulkImportFileDTO.builder()
+                    .fileName(fileName)
+                    .lawCode(code)
+                    .lawId(response.getLawId())
+                    .pages(pages)
+                    .nodeCount(response.getNodeCount())
+                    .created(response.getCreated())
+                    .elapsedMs((System.nanoTime() - start) / 1_000_000)
+                    .build();
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Bulk import of {} failed: {}", pdf, cause.getMessage());
+            return failed(pdf, code, pages, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        }
+    }
+
+    private static BulkImportFileDTO failed(Path pdf, String code, int pages, String error) {
+        return BulkImportFileDTO.builder()
+                .fileName(pdf.getFileName().toString())
+                .lawCode(code)
+                .pages(pages)
+                .error(error)
+                .build();
+    }
+
+    private Path resolve(String subdir) throws CustomException {
+        Path dir = StringUtils.hasText(subdir) ? importRoot.resolve(subdir.trim()).normalize() : importRoot;
+        if (!dir.startsWith(importRoot)) {
+            throw new CustomException(StatusCode.VALIDATION_ERROR, "Directory must be inside law.import.dir");
+        }
+        if (!Files.isDirectory(dir)) {
+            throw new CustomException(StatusCode.NOT_FOUND, "Import directory not found: " + dir);
+        }
+        return dir;
+    }
+
+    private static List<Path> listPdfs(Path dir) throws CustomException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".pdf"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Cannot list {}", dir, e);
+            throw new CustomException(StatusCode.INTERNAL_SERVER_ERROR, "Cannot list import directory");
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bulk-import-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** "121-vbhn-vpqh.pdf" -> "121/VBHN/VPQH", as {@code infer_code_from_filename} in tools/import_pdf.py. */
+    static String inferCode(String fileName) {
+        String name = fileName.replaceFirst("(?i)\\.pdf$", "");
+        return Stream.of(CODE_SEPARATORS.split(name))
+                .filter(p -> !p.isEmpty())
+                .map(p -> p.toUpperCase(Locale.ROOT))
+                .collect(Collectors.joining("/"));
+    }
+
+    /** Decrees are recognized by "nghi" in the file name, everything else is a LAW. */
+    static String inferDocType(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).contains("nghi") ? "DECREE" : "LAW";
+    }
+
+    /** First non-empty line among the first 50 that is not part of the national motto header. */
+    static String inferTitle(String text, String fileName) {
+        String[] lines = text.split("\\R", TITLE_SCAN_LINES + 1);
+        for (int i = 0; i < Math.min(lines.length, TITLE_SCAN_LINES); i++) {
+            String line = lines[i].replaceAll("\\s+", " ").strip();
+            if (line.isEmpty() || NATIONAL_HEADER.matcher(line).find()) {
+                continue;
+            }
+            return line;
+        }
+        return fileName;
+    }
+}
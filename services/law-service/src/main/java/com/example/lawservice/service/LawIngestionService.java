@@ -0,0 +1,225 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.IngestionJobDTO;
+import com.example.lawservice.dto.LawUploadRequest;
+import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.enums.IngestionStage;
+import com.example.lawservice.enums.StatusCode;
+import com.example.lawservice.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous upload pipeline. The request thread only validates and stores the PDF; extraction
+ * and parsing run on the extract pool, the DB write (one short transaction) on the persist pool and
+ * the optional RAG reindex (a push of the new node changes, see {@link RagChangeNotifier}) on a
+ * single reindex thread, where concurrent requests are coalesced.
+ * Job state is kept in memory for the last {@code law.ingest.retained-jobs} uploads.
+ */
+@Service
+public class LawIngestionService {
+    private static final Logger log = LoggerFactory.getLogger(LawIngestionService.class);
+
+    private final LawUploadService uploadService;
+    private final PdfTextExtractor pdfTextExtractor;
+    private final RagChangeNotifier changeNotifier;
+    private final Executor extractExecutor;
+    private final Executor persistExecutor;
+    private final Executor reindexExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int retainedJobs;
+
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> order = new ConcurrentLinkedDeque<>();
+    private CompletableFuture<Void> queuedReindex; // guarded by this
+
+    @Autowired
+    public LawIngestionService(LawUploadService uploadService,
+                               PdfTextExtractor pdfTextExtractor,
+                               RagChangeNotifier changeNotifier,
+                               IngestionExecutors executors,
+                               MeterRegistry meterRegistry,
+                               @Value("${law.ingest.retained-jobs:200}") int retainedJobs) {
+        this(uploadService, pdfTextExtractor, changeNotifier, executors.extract(), executors.persist(),
+                executors.reindex(), meterRegistry, retainedJobs);
+    }
+
+    LawIngestionService(LawUploadService uploadService, PdfTextExtractor pdfTextExtractor,
+                        RagChangeNotifier changeNotifier, Executor extractExecutor, Executor persistExecutor,
+                        Executor reindexExecutor, MeterRegistry meterRegistry, int retainedJobs) {
+        this.uploadService = uploadService;
+        this.pdfTextExtractor = pdfTextExtractor;
+        this.changeNotifier = changeNotifier;
+        this.extractExecutor = extractExecutor;
+        this.persistExecutor = persistExecutor;
+        this.reindexExecutor = reindexExecutor;
+        this.meterRegistry = meterRegistry;
+        this.retainedJobs = Math.max(1, retainedJobs);
+    }
+
+    public IngestionJobDTO submit(MultipartFile file, LawUploadRequest request) throws CustomException {
+        LawUploadService.StoredPdf stored = uploadService.accept(file, request);
+        Path storedFile = stored.path();
+        String code = request.getCode().trim();
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), code, file.getOriginalFilename(),
+                Boolean.TRUE.equals(request.getTriggerReindex()));
+        register(job);
+
+        Optional<LawUploadResponse> unchanged = uploadService.skipIfUnchanged(request, storedFile, stored.sha256());
+        if (unchanged.isPresent()) {
+            // Same bytes as the stored PDF: nothing to extract, rewrite or reindex
+            job.result(unchanged.get());
+            job.enter(IngestionStage.DONE);
+            return job.toDto();
+        }
+
+        CompletableFuture<String> extracted;
+        try {
+            extracted = CompletableFuture.supplyAsync(
+                    () -> stage(job, IngestionStage.EXTRACTING, () -> pdfTextExtractor.extract(storedFile, job::progress)),
+                    extractExecutor);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            order.remove(job.getId());
+            throw new CustomException(StatusCode.SERVICE_UNAVAILABLE, "Ingestion queue is full, retry later");
+        }
+
+        extracted
+                .thenApply(text -> new Parsed(text,
+                        stage(job, IngestionStage.PARSING, () -> uploadService.parse(text, code))))
+                .thenApplyAsync(parsed -> stage(job, IngestionStage.PERSISTING,
+                        () -> uploadService.persist(request, storedFile, stored.sha256(), parsed.text(), parsed.nodes(),
+                                job::progress)),
+                        persistExecutor)
+                .thenCompose(response -> {
+                    job.result(response);
+                    if (!job.isReindexRequested()) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    job.enter(IngestionStage.REINDEXING);
+                    return scheduleReindex().thenApply(v -> {
+                        record(job, IngestionStage.REINDEXING);
+                        return response.toBuilder().reindexed(true).build();
+                    });
+                })
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        log.warn("Ingestion {} for {} failed in {}: {}", job.getId(), code, job.getStage(), cause.getMessage());
+                        job.fail(cause);
+                    } else {
+                        job.result(response);
+                        job.enter(IngestionStage.DONE);
+                        log.info("Ingestion {} for {} done: {} nodes", job.getId(), code, response.getNodeCount());
+                    }
+                });
+        return job.toDto();
+    }
+
+    public Optional<IngestionJobDTO> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(IngestionJob::toDto);
+    }
+
+    /** Most recent jobs first. */
+    public List<IngestionJobDTO> recent(int limit) {
+        List<IngestionJobDTO> out = new ArrayList<>();
+        Iterator<String> it = order.descendingIterator();
+        while (it.hasNext() && out.size() < limit) {
+            IngestionJob job = jobs.get(it.next());
+            if (job != null) out.add(job.toDto());
+        }
+        return out;
+    }
+
+    private void register(IngestionJob job) {
+        jobs.put(job.getId(), job);
+        order.addLast(job.getId());
+        // Drop the oldest finished jobs; running jobs are never evicted
+        while (order.size() > retainedJobs) {
+            String oldest = order.peekFirst();
+            IngestionJob candidate = oldest != null ? jobs.get(oldest) : null;
+            if (candidate != null && !candidate.getStage().isTerminal()) {
+                break;
+            }
+            order.pollFirst();
+            if (oldest != null) jobs.remove(oldest);
+        }
+    }
+
+    private <T> T stage(IngestionJob job, IngestionStage stage, Callable<T> work) {
+        job.enter(stage);
+        try {
+            T result = work.call();
+            job.progress(1);
+            record(job, stage);
+            return result;
+        } catch (CompletionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void record(IngestionJob job, IngestionStage stage) {
+        Timer.builder("law.ingest.stage")
+                .description("Upload pipeline stage duration")
+                .tag("stage", stage.name())
+                .register(meterRegistry)
+                .record(job.finishStage(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the reindex that has been queued but not started yet, or queues a new one. A reindex
+     * that is already running may miss the caller's rows, so it is never reused.
+     */
+    private synchronized CompletableFuture<Void> scheduleReindex() {
+        if (queuedReindex != null) {
+            return queuedReindex;
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        queuedReindex = future;
+        try {
+            reindexExecutor.execute(() -> {
+                synchronized (this) {
+                    if (queuedReindex == future) queuedReindex = null;
+                }
+                try {
+                    changeNotifier.push();
+                    future.complete(null);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedReindex = null;
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private record Parsed(String text, List<LawStructureParser.ParsedNode> nodes) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.TocDTO;
+import com.example.lawservice.model.Law;
+import com.example.lawservice.repository.LawRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of law rows and law-level node metadata, which change only on upload:
+ * {@code laws} (law by id, including "does not exist") and {@code lawToc} (a law's table of
+ * contents built from MySQL, per effectiveAt). Related-law lists come from the in-memory
+ * {@link RelatedLawGraph} plus {@code laws}. {@link LawUploadService} evicts a law after each
+ * committed write via {@link #evict}. Cached {@link Law} instances are detached and shared, so callers must treat them
+ * as read-only. Hit/miss counters are exported as {@code cache.gets{cache="laws"}} etc.
+ */
+@Component
+public class LawMetadataCache {
+    public static final String LAWS = "laws";
+    public static final String TOC = "lawToc";
+
+    private final LawRepository lawRepository;
+    private final RelatedLawGraphService relatedGraph;
+    private final Cache laws;
+    private final Cache toc;
+
+    public LawMetadataCache(LawRepository lawRepository, RelatedLawGraphService relatedGraph, CacheManager cacheManager) {
+        this.lawRepository = lawRepository;
+        this.relatedGraph = relatedGraph;
+        this.laws = cacheManager.getCache(LAWS);
+        this.toc = cacheManager.getCache(TOC);
+    }
+
+    public Optional<Law> law(long id) {
+        if (laws == null) {
+            return lawRepository.findById(id);
+        }
+        return Optional.ofNullable(laws.get(id, () -> lawRepository.findById(id).orElse(null)));
+    }
+
+    public boolean exists(long id) {
+        return law(id).isPresent();
+    }
+
+    /** Laws whose {@code related_law_id} is {@code baseLawId}, optionally of one docType (case-insensitive). */
+    public List<Law> related(long baseLawId, String docType) {
+        return relatedGraph.graph().related(baseLawId, docType).stream()
+                .map(this::law)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /** Table of contents of a law as built by {@code loader} from MySQL, cached per effectiveAt. */
+    public List<TocDTO> toc(long lawId, LocalDate effectiveAt, Supplier<List<TocDTO>> loader) {
+        if (toc == null) {
+            return loader.get();
+        }
+        return toc.get(new TocKey(lawId, effectiveAt), loader::get);
+    }
+
+    /**
+     * Drops everything derived from the law: its row, its TOCs and the related-law graph (the law
+     * may have left one base law and joined another). Call after the write has committed, so the
+     * next miss loads the new state.
+     */
+    public void evict(long lawId) {
+        if (laws != null) {
+            laws.evict(lawId);
+        }
+        relatedGraph.invalidate();
+        if (toc != null) {
+            if (toc.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                evictLaw(caffeine.asMap(), lawId);
+            } else if (toc.getNativeCache() instanceof ConcurrentMap<?, ?> map) {
+                evictLaw(map, lawId);
+            } else {
+                toc.clear();
+            }
+        }
+    }
+
+    private static void evictLaw(Map<?, ?> entries, long lawId) {
+        entries.keySet().removeIf(key -> key instanceof TocKey k && k.lawId() == lawId);
+    }
+
+    private record TocKey(long lawId, LocalDate effectiveAt) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.model.CompressedText;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Persists {@link LawStructureParser.ParsedNode}s for one law with JDBC batch inserts. Hibernate
+ * cannot batch inserts of {@code IDENTITY} entities, so nodes bypass JPA: each batch is written
+ * as a few multi-row inserts (with {@code rewriteBatchedStatements=true} on the JDBC URL), one per
+ * tree depth present in the batch, so parent ids are known from the generated keys of the
+ * previous round before children are inserted. Rows are written under the given node generation
+ * (see {@link NodeGenerations}) and committed per statement unless the caller holds a transaction.
+ * Each round's citations follow as {@code node_references} rows.
+ */
+@Component
+public class LawNodeBatchWriter {
+    private static final String INSERT = "INSERT INTO law_nodes (law_id, parent_id, level, ordinal_label, heading, "
+            + "content_text, sort_key, path, title, effective_start, effective_end, generation, content_text_gz) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REFERENCE = "INSERT INTO node_references (source_node_id, target_law_code, article_no) "
+            + "VALUES (?, ?, ?)";
+    private static final int REFERENCE_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int compressMinChars;
+
+    @Autowired
+    public LawNodeBatchWriter(JdbcTemplate jdbcTemplate,
+                              @Value("${law.upload.node-batch-size:200}") int batchSize,
+                              @Value("${law.nodes.compress-min-chars:0}") int compressMinChars) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.compressMinChars = compressMinChars;
+    }
+
+    LawNodeBatchWriter(JdbcTemplate jdbcTemplate, int batchSize) {
+        this(jdbcTemplate, batchSize, 0);
+    }
+
+    public Batch begin(long lawId, int generation, LocalDate effectiveStart, LocalDate effectiveEnd) {
+        return new Batch(lawId, generation, effectiveStart, effectiveEnd);
+    }
+
+    /**
+     * Binds the node text to {@code content_text} or, for a whole-document node of at least
+     * {@code law.nodes.compress-min-chars} (0 = never), gzip-compressed to {@code content_text_gz}.
+     * Compressed text is not covered by the fulltext index or keyword search; structured nodes
+     * (Chương/Điều/Khoản/Điểm) are always stored plain.
+     */
+    void bindContent(PreparedStatement ps, int textIndex, int gzipIndex, LawStructureParser.ParsedNode node) throws SQLException {
+        String text = node.contentText();
+        if (compressMinChars > 0 && text != null && text.length() >= compressMinChars && "DOCUMENT".equals(node.level())) {
+            ps.setNull(textIndex, Types.LONGVARCHAR);
+            ps.setBytes(gzipIndex, CompressedText.compress(text));
+        } else {
+            ps.setString(textIndex, text);
+            ps.setNull(gzipIndex, Types.LONGVARBINARY);
+        }
+    }
+
+    /**
+     * Writes the article and law citations found in the nodes' text (see {@link NodeReferences})
+     * as {@code node_references} edges of the given node ids, position by position; returns the
+     * number written.
+     */
+    int writeReferences(List<Long> ids, List<LawStructureParser.ParsedNode> nodes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            LawStructureParser.ParsedNode node = nodes.get(i);
+            for (NodeReferences.Reference ref : NodeReferences.extract(node.level(), node.ordinalLabel(), node.contentText())) {
+                rows.add(new Object[]{ids.get(i), ref.lawCode(), ref.articleNo()});
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_REFERENCE, rows, REFERENCE_BATCH, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setString(2, (String) row[1]);
+            if (row[2] != null) {
+                ps.setInt(3, (Integer) row[2]);
+            } else {
+                ps.setNull(3, Types.INTEGER);
+            }
+        });
+        return rows.size();
+    }
+
+    public final class Batch implements Consumer<LawStructureParser.ParsedNode> {
+        private final long lawId;
+        private final int generation;
+        private final LocalDate effectiveStart;
+        private final LocalDate effectiveEnd;
+        // Database ids of chapters/articles/clauses by parser index; children only ever point back to these
+        private final Map<Integer, Long> parentIds = new HashMap<>();
+        private final List<LawStructureParser.ParsedNode> pending = new ArrayList<>();
+        private final List<Long> insertedIds = new ArrayList<>();
+        private Long firstId;
+        private int written;
+
+        private Batch(long lawId, int generation, LocalDate effectiveStart, LocalDate effectiveEnd) {
+            this.lawId = lawId;
+            this.generation = generation;
+            this.effectiveStart = effectiveStart;
+            this.effectiveEnd = effectiveEnd;
+        }
+
+        @Override
+        public void accept(LawStructureParser.ParsedNode parsed) {
+            pending.add(parsed);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /** Registers a node that is already stored, so new children of it can be written under its id. */
+        public void known(int index, long id) {
+            parentIds.put(index, id);
+        }
+
+        /** Database id of a chapter/article/clause by parser index, written or {@link #known}; null otherwise. */
+        public Long idOf(int index) {
+            return parentIds.get(index);
+        }
+
+        /** Ids of the nodes written so far, in insert order. */
+        public List<Long> insertedIds() {
+            return insertedIds;
+        }
+
+        /** Writes any remaining nodes; returns the total written. */
+        public int finish() {
+            flush();
+            return written;
+        }
+
+        /** Id of the first node written (document order), or null when the parser found no structure. */
+        public Long firstId() {
+            return firstId;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Round = depth below the nodes whose parent is already stored (or that have none)
+            Map<Integer, Integer> roundOf = new HashMap<>();
+            List<List<LawStructureParser.ParsedNode>> rounds = new ArrayList<>();
+            for (LawStructureParser.ParsedNode node : pending) {
+                Integer parentRound = roundOf.get(node.parentIndex());
+                int round = parentRound == null ? 0 : parentRound + 1;
+                roundOf.put(node.index(), round);
+                if (rounds.size() == round) {
+                    rounds.add(new ArrayList<>());
+                }
+                rounds.get(round).add(node);
+            }
+            for (List<LawStructureParser.ParsedNode> round : rounds) {
+                insert(round);
+            }
+            written += pending.size();
+            pending.clear();
+        }
+
+        private void insert(List<LawStructureParser.ParsedNode> nodes) {
+            List<Long> ids = new ArrayList<>(nodes.size());
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                    for (LawStructureParser.ParsedNode node : nodes) {
+                        bind(ps, node);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (LawStructureParser.ParsedNode node : nodes) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("Missing generated key for node " + node.path());
+                            }
+                            long id = keys.getLong(1);
+                            ids.add(id);
+                            insertedIds.add(id);
+                            if (firstId == null) {
+                                firstId = id;
+                            }
+                            if (!"DIEM".equals(node.level())) {
+                                parentIds.put(node.index(), id);
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+            writeReferences(ids, nodes);
+        }
+
+        private void bind(PreparedStatement ps, LawStructureParser.ParsedNode node) throws SQLException {
+            ps.setLong(1, lawId);
+            Long parentId = node.parentIndex() >= 0 ? parentIds.get(node.parentIndex()) : null;
+            if (parentId != null) {
+                ps.setLong(2, parentId);
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, node.level());
+            ps.setString(4, node.ordinalLabel());
+            ps.setString(5, node.heading());
+            bindContent(ps, 6, 13, node);
+            ps.setString(7, node.sortKey());
+            ps.setString(8, node.path());
+            ps.setString(9, node.title());
+            ps.setDate(10, effectiveStart != null ? Date.valueOf(effectiveStart) : null);
+            ps.setDate(11, effectiveEnd != null ? Date.valueOf(effectiveEnd) : null);
+            ps.setInt(12, generation);
+        }
+    }
+}
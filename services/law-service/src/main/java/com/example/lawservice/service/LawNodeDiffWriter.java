@@ -0,0 +1,128 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.model.CompressedText;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies a replacement to a law's active generation in place, touching only the nodes that
+ * {@link NodeDiff} reports as changed: new nodes are inserted, changed ones updated under their
+ * existing ids and vanished ones deleted, and exactly those ids go to {@link NodeChangeLog}. When
+ * more than {@code law.upload.diff-max-fraction} of the tree changed, nothing is written and the
+ * caller falls back to a staged generation, which is cheaper for a near-complete rewrite.
+ */
+@Component
+public class LawNodeDiffWriter {
+    private static final String SELECT = "SELECT id, parent_id, level, ordinal_label, heading, content_text, content_text_gz, "
+            + "sort_key, path, title, effective_start, effective_end FROM law_nodes WHERE law_id = ? AND generation = ?";
+    private static final String UPDATE = "UPDATE law_nodes SET parent_id = ?, level = ?, ordinal_label = ?, heading = ?, "
+            + "content_text = ?, sort_key = ?, title = ?, effective_start = ?, effective_end = ?, content_text_gz = ? WHERE id = ?";
+    private static final int STATEMENT_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LawNodeBatchWriter batchWriter;
+    private final NodeChangeLog changeLog;
+    private final double maxFraction;
+
+    public LawNodeDiffWriter(JdbcTemplate jdbcTemplate,
+                             LawNodeBatchWriter batchWriter,
+                             NodeChangeLog changeLog,
+                             @Value("${law.upload.diff-max-fraction:0.5}") double maxFraction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWriter = batchWriter;
+        this.changeLog = changeLog;
+        this.maxFraction = maxFraction;
+    }
+
+    /**
+     * @param firstId    id of the first node in document order
+     * @param changedIds inserted, updated and deleted node ids
+     */
+    public record Applied(Long firstId, int inserted, int updated, int deleted, int unchanged, List<Long> changedIds) {
+    }
+
+    /**
+     * Diffs {@code nodes} against {@code generation} (the active one, locked by the caller) and
+     * writes the difference. Empty when the change is too large for an in-place edit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Applied> apply(long lawId, int generation, List<LawStructureParser.ParsedNode> nodes,
+                                   LocalDate effectiveStart, LocalDate effectiveEnd) {
+        List<NodeDiff.StoredNode> stored = jdbcTemplate.query(SELECT, (rs, i) -> {
+            long parentId = rs.getLong("parent_id");
+            boolean root = rs.wasNull();
+            Date start = rs.getDate("effective_start");
+            Date end = rs.getDate("effective_end");
+            String text = rs.getString("content_text");
+            byte[] gzip = rs.getBytes("content_text_gz");
+            String hash = NodeDiff.hash(rs.getString("level"), rs.getString("ordinal_label"), rs.getString("heading"),
+                    text == null && gzip != null ? CompressedText.decompress(gzip) : text, rs.getString("sort_key"), rs.getString("title"),
+                    start != null ? start.toLocalDate() : null, end != null ? end.toLocalDate() : null);
+            return new NodeDiff.StoredNode(rs.getLong("id"), root ? null : parentId, rs.getString("path"), hash);
+        }, lawId, generation);
+
+        NodeDiff.Result diff = NodeDiff.compute(stored, nodes, effectiveStart, effectiveEnd);
+        if (diff.changes() > maxFraction * Math.max(stored.size(), nodes.size())) {
+            return Optional.empty();
+        }
+
+        LawNodeBatchWriter.Batch batch = batchWriter.begin(lawId, generation, effectiveStart, effectiveEnd);
+        diff.matched().forEach(batch::known);
+        diff.inserted().forEach(batch);
+        batch.finish();
+
+        // Updates run after inserts so a moved node can point at a new parent, and before deletes
+        // so no surviving row still references a parent that goes away
+        List<Long> updatedIds = new ArrayList<>();
+        jdbcTemplate.batchUpdate(UPDATE, diff.updated(), STATEMENT_BATCH, (ps, node) -> {
+            Long parentId = node.parentIndex() >= 0 ? batch.idOf(node.parentIndex()) : null;
+            if (parentId != null) {
+                ps.setLong(1, parentId);
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, node.level());
+            ps.setString(3, node.ordinalLabel());
+            ps.setString(4, node.heading());
+            batchWriter.bindContent(ps, 5, 10, node);
+            ps.setString(6, node.sortKey());
+            ps.setString(7, node.title());
+            ps.setDate(8, effectiveStart != null ? Date.valueOf(effectiveStart) : null);
+            ps.setDate(9, effectiveEnd != null ? Date.valueOf(effectiveEnd) : null);
+            ps.setLong(11, diff.matched().get(node.index()));
+        });
+        diff.updated().forEach(node -> updatedIds.add(diff.matched().get(node.index())));
+        jdbcTemplate.batchUpdate("DELETE FROM node_references WHERE source_node_id = ?", updatedIds, STATEMENT_BATCH,
+                (ps, id) -> ps.setLong(1, id));
+        batchWriter.writeReferences(updatedIds, diff.updated());
+        jdbcTemplate.batchUpdate("DELETE FROM law_nodes WHERE id = ?", diff.deleted(), STATEMENT_BATCH,
+                (ps, id) -> ps.setLong(1, id));
+
+        List<Long> insertedIds = batch.insertedIds();
+        changeLog.recordChanges(lawId, insertedIds, updatedIds, diff.deleted());
+
+        List<Long> changedIds = new ArrayList<>(insertedIds);
+        changedIds.addAll(updatedIds);
+        changedIds.addAll(diff.deleted());
+        Long firstId = null;
+        if (!nodes.isEmpty()) {
+            int first = nodes.get(0).index();
+            firstId = diff.matched().containsKey(first) ? diff.matched().get(first) : batch.idOf(first);
+        }
+        if (firstId == null && !insertedIds.isEmpty()) {
+            firstId = insertedIds.get(0);
+        }
+        return Optional.of(new Applied(firstId, insertedIds.size(), updatedIds.size(), diff.deleted().size(),
+                diff.unchanged(), changedIds));
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.lawservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming Chương/Điều/Khoản/Điểm parser for extracted law text, a line-by-line port of
+ * {@code parse_structure}/{@code insert_nodes} in {@code tools/import_pdf.py}.
+ *
+ * <p>Nodes are emitted as soon as they are complete, parents before children, with the same
+ * {@code sort_key}, {@code path}, labels and titles the Python importer writes, so documents
+ * uploaded through the API and imported with the script are interchangeable. Only the open
+ * chapter/article/clause is held in memory.
+ */
+public final class LawStructureParser {
+    private static final int CI = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+    static final Pattern CHUONG = Pattern.compile("^(Chương|CHUONG|Chuong)\\s+([IVXLCDM]+|\\d{1,3})[\\.:]?\\s*(.*)$", CI);
+    static final Pattern DIEU = Pattern.compile("^(Điều|DIEU|Dieu)\\s+([IVXLCDM]+|\\d{1,3})[\\.:]?\\s*(.*)$", CI);
+    static final Pattern KHOAN = Pattern.compile("^(Khoản|KHOAN|Khoan)\\s+(\\d{1,2})[\\.:]?\\s*(.*)$", CI);
+    static final Pattern STT = Pattern.compile("^(\\d{1,2})[\\.)]\\s*(.*)$", Pattern.UNICODE_CHARACTER_CLASS);
+    static final Pattern DIEM_WORD = Pattern.compile("^(Điểm|DIEM)\\s+([a-zA-ZđĐ])\\)\\s*(.*)$", Pattern.UNICODE_CHARACTER_CLASS);
+    static final Pattern DIEM_LETTER = Pattern.compile("^([a-zA-ZđĐ])\\)\\s+(.*)$", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern SPACE_BEFORE_PUNCT = Pattern.compile("\\s+([,.;:!?])", Pattern.UNICODE_CHARACTER_CLASS);
+
+    /** A parsed node; {@code parentIndex} refers to an earlier node's {@code index}, or -1 for a root. */
+    public record ParsedNode(int index, int parentIndex, String level, String ordinalLabel, String heading,
+                             String contentText, String sortKey, String path, String title) {
+    }
+
+    private final String code;
+    private final Consumer<ParsedNode> sink;
+    private int nextIndex;
+    private boolean previousRawEmpty;
+
+    private Chapter chapter;
+    private Article article;
+    private Clause clause;
+    private String pointLetter;
+    private List<String> pointBuf = new ArrayList<>();
+
+    public LawStructureParser(String code, Consumer<ParsedNode> sink) {
+        this.code = code;
+        this.sink = sink;
+    }
+
+    /** Parses the whole text and returns the number of nodes emitted. */
+    public static int parse(Reader text, String code, Consumer<ParsedNode> sink) {
+        LawStructureParser parser = new LawStructureParser(code, sink);
+        try (BufferedReader reader = new BufferedReader(text)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parser.accept(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parser.finish();
+        return parser.nextIndex;
+    }
+
+    /** Feeds one raw line (without terminator). */
+    public void accept(String rawLine) {
+        // normalize_lines collapses runs of 3+ newlines, i.e. consecutive empty raw lines, into one
+        boolean rawEmpty = rawLine.isEmpty();
+        if (rawEmpty && previousRawEmpty) {
+            return;
+        }
+        previousRawEmpty = rawEmpty;
+        processLine(normalizeLine(rawLine));
+    }
+
+    /** Flushes the open clause/point; call once after the last line. */
+    public void finish() {
+        flushClause();
+    }
+
+    static String normalizeLine(String raw) {
+        String line = WHITESPACE.matcher(raw).replaceAll(" ").strip();
+        return SPACE_BEFORE_PUNCT.matcher(line).replaceAll("$1");
+    }
+
+    private void processLine(String line) {
+        if (line.isEmpty()) {
+            // paragraph separator
+            if (pointLetter != null) {
+                pointBuf.add("");
+            } else if (clause != null) {
+                clause.preamble.add("");
+            }
+            return;
+        }
+
+        Matcher m = CHUONG.matcher(line);
+        if (m.matches()) {
+            flushClause();
+            startChapter(m.group(2), m.group(3));
+            return;
+        }
+
+        m = DIEU.matcher(line);
+        if (m.matches()) {
+            flushClause();
+            startArticle(m.group(2), m.group(3));
+            return;
+        }
+
+        if (article == null) {
+            return; // skip preamble before first article
+        }
+
+        m = KHOAN.matcher(line);
+        if (!m.matches()) {
+            m = STT.matcher(line);
+            if (m.matches()) {
+                flushClause();
+                startClause(m.group(1), m.group(2));
+                return;
+            }
+        } else {
+            flushClause();
+            startClause(m.group(2), m.group(3));
+            return;
+        }
+
+        if (clause != null) {
+            Matcher word = DIEM_WORD.matcher(line);
+            Matcher letter = word.matches() ? null : DIEM_LETTER.matcher(line);
+            if (letter == null || letter.matches()) {
+                flushPoint();
+                emitClauseIfPending();
+                pointLetter = (letter == null ? word.group(2) : letter.group(1)).toLowerCase(Locale.ROOT);
+                String rest = nullToEmpty(letter == null ? word.group(3) : letter.group(2)).strip();
+                pointBuf = new ArrayList<>();
+                if (!rest.isEmpty()) pointBuf.add(rest);
+                return;
+            }
+            if (pointLetter != null) {
+                pointBuf.add(line);
+            } else {
+                clause.preamble.add(line);
+            }
+        }
+    }
+
+    private void startChapter(String number, String rest) {
+        String heading = nullToEmpty(rest).strip();
+        String label = "Chương " + number;
+        int index = emit(-1, "CHUONG", label, emptyToNull(heading), null,
+                String.format("%03d", toIntOrRoman(number)),
+                "/" + code + "/Chuong-" + number,
+                heading.isEmpty() ? label : heading);
+        chapter = new Chapter(index, number);
+    }
+
+    private void startArticle(String number, String rest) {
+        String heading = nullToEmpty(rest).strip();
+        String sortKey = String.format("%03d", toIntOrRoman(number));
+        String path = chapter == null
+                ? "/" + code + "/Dieu-" + number
+                : "/" + code + "/Chuong-" + chapter.number + "/Dieu-" + number;
+        String label = "Điều " + number;
+        int index = emit(chapter == null ? -1 : chapter.index, "DIEU", label, emptyToNull(heading), null,
+                sortKey, path, heading.isEmpty() ? label : heading);
+        article = new Article(index, sortKey, path);
+    }
+
+    private void startClause(String number, String rest) {
+        article.clauseCount++;
+        clause = new Clause(number, article.clauseCount);
+        String r = nullToEmpty(rest).strip();
+        if (!r.isEmpty()) clause.preamble.add(r);
+    }
+
+    private void flushPoint() {
+        if (clause != null && pointLetter != null) {
+            String content = String.join(" ", pointBuf).strip();
+            if (!content.isEmpty()) {
+                clause.pointCount++;
+                int idx = letterIndex(pointLetter);
+                idx = idx < 99 ? idx : clause.pointCount;
+                String label = "Điểm " + pointLetter;
+                emit(clause.index, "DIEM", label, null, content,
+                        clause.sortKey + "." + String.format("%03d", idx),
+                        clause.path + "/Diem-" + pointLetter, label);
+            }
+        }
+        pointLetter = null;
+        pointBuf = new ArrayList<>();
+    }
+
+    private void flushClause() {
+        flushPoint();
+        emitClauseIfPending();
+        clause = null;
+    }
+
+    // A clause's text is final once its first point starts, so it is written before its points.
+    private void emitClauseIfPending() {
+        if (clause == null || clause.index >= 0) {
+            return;
+        }
+        int number;
+        try {
+            number = Integer.parseInt(clause.number);
+        } catch (NumberFormatException e) {
+            number = clause.ordinal;
+        }
+        clause.sortKey = article.sortKey + "." + String.format("%03d", number);
+        clause.path = article.path + "/Khoan-" + clause.number;
+        String label = "Khoản " + clause.number;
+        clause.index = emit(article.index, "KHOAN", label, null,
+                emptyToNull(String.join(" ", clause.preamble).strip()),
+                clause.sortKey, clause.path, label);
+    }
+
+    private int emit(int parentIndex, String level, String ordinalLabel, String heading, String contentText,
+                     String sortKey, String path, String title) {
+        int index = nextIndex++;
+        sink.accept(new ParsedNode(index, parentIndex, level, ordinalLabel, heading, contentText, sortKey, path, title));
+        return index;
+    }
+
+    static int toIntOrRoman(String s) {
+        String t = s.strip();
+        if (!t.isEmpty() && t.chars().allMatch(Character::isDigit)) {
+            return Integer.parseInt(t);
+        }
+        Integer roman = romanToInt(t);
+        return roman != null ? roman : 0;
+    }
+
+    static Integer romanToInt(String s) {
+        String u = s.toUpperCase(Locale.ROOT);
+        if (!u.matches("[IVXLCDM]+")) {
+            return null;
+        }
+        int total = 0;
+        int prev = 0;
+        for (int i = u.length() - 1; i >= 0; i--) {
+            int val = switch (u.charAt(i)) {
+                case 'I' -> 1;
+                case 'V' -> 5;
+                case 'X' -> 10;
+                case 'L' -> 50;
+                case 'C' -> 100;
+                case 'D' -> 500;
+                default -> 1000;
+            };
+            if (val < prev) {
+                total -= val;
+            } else {
+                total += val;
+                prev = val;
+            }
+        }
+        return total;
+    }
+
+    // Simple order a..z with đ placed next to d
+    static int letterIndex(String letter) {
+        char l = letter.toLowerCase(Locale.ROOT).charAt(0);
+        if (l == 'đ') return 'd' - 96;
+        if (l >= 'a' && l <= 'z') return l - 96;
+        return 99;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    private record Chapter(int index, String number) {
+    }
+
+    private static final class Article {
+        final int index;
+        final String sortKey;
+        final String path;
+        int clauseCount;
+
+        Article(int index, String sortKey, String path) {
+            this.index = index;
+            this.sortKey = sortKey;
+            this.path = path;
+        }
+    }
+
+    private static final class Clause {
+        final String number;
+        final int ordinal;
+        final List<String> preamble = new ArrayList<>();
+        int index = -1;
+        int pointCount;
+        String sortKey;
+        String path;
+
+        Clause(String number, int ordinal) {
+            this.number = number;
+            this.ordinal = ordinal;
+        }
+    }
+}
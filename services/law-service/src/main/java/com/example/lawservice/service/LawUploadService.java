@@ -1,55 +1,80 @@
 package com.example.lawservice.service;
 
-import com.example.lawservice.clients.RagClient;
 import com.example.lawservice.dto.LawUploadRequest;
 import com.example.lawservice.dto.LawUploadResponse;
 import com.example.lawservice.enums.StatusCode;
 import com.example.lawservice.exception.CustomException;
 import com.example.lawservice.model.Law;
-import com.example.lawservice.model.LawNode;
-import com.example.lawservice.repository.LawNodeRepository;
 import com.example.lawservice.repository.LawRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.DoubleConsumer;
 
 @Service
 public class LawUploadService {
     private static final Logger log = LoggerFactory.getLogger(LawUploadService.class);
     private static final LocalDate DEFAULT_EFFECTIVE_START = LocalDate.of(1900, 1, 1);
     private static final LocalDate DEFAULT_EFFECTIVE_END = LocalDate.of(9999, 12, 31);
+    private static final int PROGRESS_STEP = 100;
 
     private final LawRepository lawRepository;
-    private final LawNodeRepository lawNodeRepository;
-    private final RagClient ragClient;
+    private final LawNodeDiffWriter nodeDiffWriter;
+    private final RagChangeNotifier changeNotifier;
     private final PdfTextExtractor pdfTextExtractor;
+    private final LawNodeBatchWriter nodeBatchWriter;
+    private final NodeGenerations nodeGenerations;
+    private final NodeChangeLog nodeChangeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LawMetadataCache lawMetadataCache;
     private final Path storageDir;
 
     public LawUploadService(
             LawRepository lawRepository,
-            LawNodeRepository lawNodeRepository,
-            RagClient ragClient,
+            LawNodeDiffWriter nodeDiffWriter,
+            RagChangeNotifier changeNotifier,
             PdfTextExtractor pdfTextExtractor,
+            LawNodeBatchWriter nodeBatchWriter,
+            NodeGenerations nodeGenerations,
+            NodeChangeLog nodeChangeLog,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            LawMetadataCache lawMetadataCache,
             @Value("${law.upload-dir:uploads}") String uploadDir
     ) {
         this.lawRepository = lawRepository;
-        this.lawNodeRepository = lawNodeRepository;
-        this.ragClient = ragClient;
+        this.nodeDiffWriter = nodeDiffWriter;
+        this.changeNotifier = changeNotifier;
         this.pdfTextExtractor = pdfTextExtractor;
+        this.nodeBatchWriter = nodeBatchWriter;
+        this.nodeGenerations = nodeGenerations;
+        this.nodeChangeLog = nodeChangeLog;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.lawMetadataCache = lawMetadataCache;
         this.storageDir = Paths.get(uploadDir).toAbsolutePath().normalize();
         try {
             Files.createDirectories(this.storageDir);
@@ -58,49 +83,242 @@ public class LawUploadService {
         }
     }
 
-    @Transactional
+    /** Synchronous upload: all stages on the calling thread. */
     public LawUploadResponse upload(MultipartFile file, LawUploadRequest request) throws CustomException {
-        validate(file, request);
+        StoredPdf stored = accept(file, request);
+        Optional<LawUploadResponse> unchanged = skipIfUnchanged(request, stored.path(), stored.sha256());
+        if (unchanged.isPresent()) {
+            return unchanged.get();
+        }
+        String text = pdfTextExtractor.extract(stored.path());
+        List<LawStructureParser.ParsedNode> nodes = parse(text, request.getCode().trim());
+        LawUploadResponse response = persist(request, stored.path(), stored.sha256(), text, nodes, fraction -> { });
 
+        boolean reindexed = Boolean.TRUE.equals(request.getTriggerReindex());
+        if (reindexed) {
+            changeNotifier.push();
+        }
+        return response.toBuilder().reindexed(reindexed).build();
+    }
+
+    /**
+     * Validates the request and copies the upload to {@code law.upload-dir}, hashing it on the way.
+     * Runs on the request thread because the multipart temp file does not outlive the request.
+     */
+    public StoredPdf accept(MultipartFile file, LawUploadRequest request) throws CustomException {
+        validate(file, request);
         String code = request.getCode().trim();
-        Path storedFile = storeFile(file, code);
-        String text = pdfTextExtractor.extract(storedFile);
+        if (!Boolean.TRUE.equals(request.getReplaceExisting()) && lawRepository.findByCodeIgnoreCase(code).isPresent()) {
+            throw new CustomException(StatusCode.CONFLICT, "Law code already exists, set replaceExisting=true to overwrite");
+        }
+        return storeFile(file, code);
+    }
+
+    /**
+     * Returns a "skipped" response when the law already stores a PDF with the same SHA-256 and the
+     * request is a plain replacement (no {@code force}); the new copy is then deleted if it was
+     * stored under {@code law.upload-dir}. Empty means the file must be processed.
+     */
+    public Optional<LawUploadResponse> skipIfUnchanged(LawUploadRequest request, Path file, String sha256) {
+        if (Boolean.TRUE.equals(request.getForce()) || sha256 == null) {
+            return Optional.empty();
+        }
+        Optional<Law> existing = lawRepository.findByCodeIgnoreCase(request.getCode().trim())
+                .filter(law -> sha256.equals(law.getContentSha256()));
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Law law = existing.get();
+        if (file.startsWith(storageDir) && !file.toString().equals(law.getSourceUrl())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Cannot delete duplicate upload {}: {}", file, e.getMessage());
+            }
+        }
+        log.info("PDF for law {} is unchanged ({}), skipping", law.getCode(), sha256);
+        return Optional.of(LawUploadResponse.builder()
+                .lawId(law.getId())
+                .lawCode(law.getCode())
+                .title(law.getTitle())
+                .nodeCount(0)
+                .storedFile(law.getSourceUrl())
+                .created(false)
+                .reindexed(false)
+                .skipped(true)
+                .contentSha256(sha256)
+                .build());
+    }
+
+    public List<LawStructureParser.ParsedNode> parse(String text, String code) {
+        List<LawStructureParser.ParsedNode> nodes = new ArrayList<>();
+        LawStructureParser.parse(new StringReader(text), code, nodes::add);
+        return nodes;
+    }
 
+    /**
+     * Upserts the law and replaces its nodes without a long transaction: the new nodes are written
+     * under a staging generation that readers don't see, then the law's metadata and active
+     * generation are switched in one short transaction, together with the node change feed entries
+     * ({@link NodeChangeLog}), and the old rows are purged in the background. Extraction and parsing
+     * have already happened. {@code progress} receives the fraction of nodes written.
+     * <p>
+     * A replacement that only changes part of the tree is applied in place instead
+     * ({@link LawNodeDiffWriter}): unchanged nodes keep their ids and rows, and only the changed
+     * ids reach the change feed and {@link CorpusChangedEvent}.
+     */
+    public LawUploadResponse persist(LawUploadRequest request, Path storedFile, String sha256, String text,
+                                     List<LawStructureParser.ParsedNode> nodes, DoubleConsumer progress) throws CustomException {
+        String code = request.getCode().trim();
         Optional<Law> existing = lawRepository.findByCodeIgnoreCase(code);
         boolean created = existing.isEmpty();
-        Law law = existing.orElseGet(Law::new);
 
         if (existing.isPresent() && !Boolean.TRUE.equals(request.getReplaceExisting())) {
             throw new CustomException(StatusCode.CONFLICT, "Law code already exists, set replaceExisting=true to overwrite");
         }
+        Law related = resolveRelated(request);
+        LocalDate start = firstNonNull(request.getNodeEffectiveStart(), request.getEffectiveDate(), DEFAULT_EFFECTIVE_START);
+        LocalDate end = firstNonNull(request.getNodeEffectiveEnd(), request.getExpireDate(), DEFAULT_EFFECTIVE_END);
+        if (nodes.isEmpty()) {
+            // No Chương/Điều structure recognized: keep the whole text as a single node
+            String title = StringUtils.hasText(request.getTitle()) ? request.getTitle() : existing.map(Law::getTitle).orElse(null);
+            nodes = List.of(new LawStructureParser.ParsedNode(0, -1, "DOCUMENT", "PDF", title, text, "000",
+                    "/" + code, "Toan van PDF"));
+        }
 
-        if (existing.isPresent() && Boolean.TRUE.equals(request.getReplaceExisting())) {
-            deleteNodesForLaw(law.getId());
+        if (!created) {
+            Optional<LawUploadResponse> inPlace = replaceInPlace(existing.get().getId(), request, storedFile, sha256,
+                    text, nodes, start, end, related);
+            if (inPlace.isPresent()) {
+                progress.accept(1);
+                return inPlace.get();
+            }
         }
 
-        populateLaw(law, request, storedFile.toString());
-        law = lawRepository.save(law);
+        Law law = existing.orElseGet(Law::new);
+        if (created) {
+            // New laws have no readers yet; existing ones get their metadata with the switch below
+            populateLaw(law, request, storedFile.toString(), sha256, related);
+            law = lawRepository.save(law);
+        }
+        long lawId = law.getId();
+        int generation = nodeGenerations.allocate(lawId);
 
-        LawNode node = createRootNode(law, request, text);
-        node = lawNodeRepository.save(node);
+        Long nodeId;
+        int nodeCount;
+        Law stored;
+        int retiredCount;
+        try {
+            LawNodeBatchWriter.Batch batch = nodeBatchWriter.begin(lawId, generation, start, end);
+            for (int i = 0; i < nodes.size(); i++) {
+                batch.accept(nodes.get(i));
+                if ((i + 1) % PROGRESS_STEP == 0) {
+                    progress.accept((i + 1) / (double) nodes.size());
+                }
+            }
+            nodeCount = batch.finish();
+            nodeId = batch.firstId();
 
-        boolean reindexed = Boolean.TRUE.equals(request.getTriggerReindex());
-        if (reindexed) {
-            ragClient.reindex();
+            int[] retiredNodes = new int[1];
+            stored = transactionTemplate.execute(status -> {
+                Law current = lawRepository.findById(lawId).orElseThrow();
+                if (!created) {
+                    populateLaw(current, request, storedFile.toString(), sha256, related);
+                    current = lawRepository.save(current);
+                }
+                int retired = nodeGenerations.activate(lawId, generation);
+                if (retired < 0) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                retiredNodes[0] = nodeChangeLog.recordReplacement(lawId, retired, generation);
+                return current;
+            });
+            retiredCount = retiredNodes[0];
+            if (stored == null) {
+                throw new CustomException(StatusCode.CONFLICT, "A newer version of this law was stored concurrently");
+            }
+        } catch (RuntimeException | CustomException e) {
+            if (created) {
+                nodeGenerations.dropLaw(lawId);
+            } else {
+                nodeGenerations.purgeStaged(lawId, generation);
+            }
+            lawMetadataCache.evict(lawId);
+            throw e;
         }
+        progress.accept(1);
+        nodeGenerations.purgeRetired(lawId);
+        lawMetadataCache.evict(lawId);
+        log.info("Stored {} nodes for law {} as generation {}", nodeCount, stored.getCode(), generation);
+        eventPublisher.publishEvent(new CorpusChangedEvent(lawId, "upload"));
 
         return LawUploadResponse.builder()
-                .lawId(law.getId())
-                .lawCode(law.getCode())
-                .title(law.getTitle())
-                .nodeId(node.getId())
+                .lawId(lawId)
+                .lawCode(stored.getCode())
+                .title(stored.getTitle())
+                .nodeId(nodeId)
+                .nodeCount(nodeCount)
                 .storedFile(storedFile.toString())
                 .extractedChars(text != null ? text.length() : 0)
                 .created(created)
-                .reindexed(reindexed)
+                .reindexed(false)
+                .skipped(false)
+                .contentSha256(sha256)
+                .nodesInserted(nodeCount)
+                .nodesUpdated(0)
+                .nodesDeleted(retiredCount)
+                .nodesUnchanged(0)
                 .build();
     }
 
+    /**
+     * Diffs the parsed tree against the active generation under the law row lock and, when the
+     * change is small enough, writes it there together with the law metadata. Empty when the
+     * staged path has to take over.
+     */
+    private Optional<LawUploadResponse> replaceInPlace(long lawId, LawUploadRequest request, Path storedFile, String sha256,
+                                                       String text, List<LawStructureParser.ParsedNode> nodes,
+                                                       LocalDate start, LocalDate end, Law related) {
+        Law[] stored = new Law[1];
+        LawNodeDiffWriter.Applied applied = transactionTemplate.execute(status -> {
+            int active = nodeGenerations.lockActive(lawId);
+            Optional<LawNodeDiffWriter.Applied> result = nodeDiffWriter.apply(lawId, active, nodes, start, end);
+            if (result.isEmpty()) {
+                return null;
+            }
+            Law current = lawRepository.findById(lawId).orElseThrow();
+            populateLaw(current, request, storedFile.toString(), sha256, related);
+            stored[0] = lawRepository.save(current);
+            return result.get();
+        });
+        if (applied == null) {
+            return Optional.empty();
+        }
+        lawMetadataCache.evict(lawId);
+        log.info("Updated law {} in place: {} inserted, {} updated, {} deleted, {} unchanged nodes",
+                stored[0].getCode(), applied.inserted(), applied.updated(), applied.deleted(), applied.unchanged());
+        eventPublisher.publishEvent(new CorpusChangedEvent(lawId, "upload", applied.changedIds()));
+
+        return Optional.of(LawUploadResponse.builder()
+                .lawId(lawId)
+                .lawCode(stored[0].getCode())
+                .title(stored[0].getTitle())
+                .nodeId(applied.firstId())
+                .nodeCount(nodes.size())
+                .storedFile(storedFile.toString())
+                .extractedChars(text != null ? text.length() : 0)
+                .created(false)
+                .reindexed(false)
+                .skipped(false)
+                .contentSha256(sha256)
+                .nodesInserted(applied.inserted())
+                .nodesUpdated(applied.updated())
+                .nodesDeleted(applied.deleted())
+                .nodesUnchanged(applied.unchanged())
+                .build());
+    }
+
     private void validate(MultipartFile file, LawUploadRequest request) throws CustomException {
         if (file == null || file.isEmpty()) {
             throw new CustomException(StatusCode.VALIDATION_ERROR, "PDF file is required");
@@ -119,20 +337,47 @@ public class LawUploadService {
         }
     }
 
-    private Path storeFile(MultipartFile file, String code) throws CustomException {
+    private StoredPdf storeFile(MultipartFile file, String code) throws CustomException {
         String safeCode = code.replaceAll("[^a-zA-Z0-9_-]", "_");
         String fileName = safeCode + "-" + System.currentTimeMillis() + ".pdf";
         Path target = storageDir.resolve(fileName);
-        try {
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return target;
+        MessageDigest digest = sha256Digest();
+        // Hash while copying so the upload is read once
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            return new StoredPdf(target, HexFormat.of().formatHex(digest.digest()));
         } catch (IOException e) {
             log.error("Failed to store file {}", target, e);
             throw new CustomException(StatusCode.INTERNAL_SERVER_ERROR, "Cannot store uploaded file");
         }
     }
 
-    private void populateLaw(Law law, LawUploadRequest request, String storedPath) throws CustomException {
+    private Law resolveRelated(LawUploadRequest request) throws CustomException {
+        if (request.getRelatedLawId() == null) {
+            return null;
+        }
+        return lawRepository.findById(request.getRelatedLawId())
+                .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND, "related law not found: " + request.getRelatedLawId()));
+    }
+
+    /** Hex SHA-256 of a file already on disk (bulk import reads PDFs in place). */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256Digest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void populateLaw(Law law, LawUploadRequest request, String storedPath, String sha256, Law related) {
         law.setCode(request.getCode().trim());
         String docType = StringUtils.hasText(request.getDocType()) ? request.getDocType().trim() : null;
         if (docType != null) {
@@ -156,53 +401,14 @@ public class LawUploadService {
             law.setExpireDate(request.getExpireDate());
         }
         law.setSourceUrl(storedPath);
-
-        if (request.getRelatedLawId() != null) {
-            var related = lawRepository.findById(request.getRelatedLawId())
-                    .orElseThrow(() -> new CustomException(StatusCode.NOT_FOUND, "related law not found: " + request.getRelatedLawId()));
+        law.setContentSha256(sha256);
+        if (related != null) {
             law.setRelatedLaw(related);
         }
     }
 
-    private LawNode createRootNode(Law law, LawUploadRequest request, String contentText) {
-        LawNode node = new LawNode();
-        node.setLaw(law);
-        node.setParent(null);
-        node.setLevel("DOCUMENT");
-        node.setOrdinalLabel("PDF");
-        node.setHeading(law.getTitle());
-        node.setContentHtml(null);
-        node.setContentText(contentText);
-        node.setSortKey("000");
-        node.setPath("/" + law.getCode());
-        node.setTitle("Toan van PDF");
-
-        LocalDate start = firstNonNull(request.getNodeEffectiveStart(), request.getEffectiveDate(), DEFAULT_EFFECTIVE_START);
-        LocalDate end = firstNonNull(request.getNodeEffectiveEnd(), request.getExpireDate(), DEFAULT_EFFECTIVE_END);
-        node.setEffectiveStart(start);
-        node.setEffectiveEnd(end);
-        return node;
-    }
-
-    private void deleteNodesForLaw(Long lawId) {
-        List<LawNode> nodes = lawNodeRepository.findByLaw_IdOrderBySortKeyAsc(lawId);
-        nodes.stream()
-                .sorted(Comparator.comparingInt(this::pathDepth).reversed())
-                .forEach(lawNodeRepository::delete);
-    }
-
-    private int pathDepth(LawNode node) {
-        if (node.getPath() == null) {
-            return 0;
-        }
-        String[] segments = node.getPath().split("/");
-        int depth = 0;
-        for (String s : segments) {
-            if (!s.isEmpty()) {
-                depth++;
-            }
-        }
-        return depth;
+    /** A PDF copied to {@code law.upload-dir} and the hex SHA-256 of its bytes. */
+    public record StoredPdf(Path path, String sha256) {
     }
 
     private LocalDate firstNonNull(LocalDate... dates) {
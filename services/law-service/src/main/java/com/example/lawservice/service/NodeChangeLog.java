@@ -0,0 +1,106 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.NodeChangeDTO;
+import com.example.lawservice.enums.NodeChangeType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Outbox of node-level changes ({@code node_changes}), appended in the same transaction that
+ * switches a law's active generation. Appends first lock the {@code writer} row of
+ * {@code node_change_cursors}, so concurrent switches commit their rows in sequence order and a
+ * consumer polling "seq &gt; N" cannot miss a row that commits after it has read past N. Consumer
+ * positions live in the same table under their own names.
+ */
+@Component
+public class NodeChangeLog {
+    private static final String WRITER = "writer";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NodeChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records a generation switch: every node of {@code retiredGeneration} as deleted and every node
+     * of {@code activeGeneration} as inserted. Must run inside the switching transaction; returns
+     * the number of retired nodes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordReplacement(long lawId, int retiredGeneration, int activeGeneration) {
+        lockWriter();
+        int deleted = appendGeneration(lawId, retiredGeneration, NodeChangeType.DELETE);
+        appendGeneration(lawId, activeGeneration, NodeChangeType.INSERT);
+        return deleted;
+    }
+
+    /** Records an in-place diff of a law's active generation. Must run inside the writing transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(long lawId, List<Long> inserted, List<Long> updated, List<Long> deleted) {
+        lockWriter();
+        append(lawId, deleted, NodeChangeType.DELETE);
+        append(lawId, updated, NodeChangeType.UPDATE);
+        append(lawId, inserted, NodeChangeType.INSERT);
+    }
+
+    /** Changes after {@code seq}, oldest first. */
+    public List<NodeChangeDTO> since(long seq, int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, law_id, node_id, change_type, changed_at FROM node_changes WHERE seq > ? ORDER BY seq LIMIT ?",
+                (rs, i) -> {
+                    Timestamp changedAt = rs.getTimestamp("changed_at");
+                    return NodeChangeDTO.builder()
+                            .seq(rs.getLong("seq"))
+                            .lawId(rs.getLong("law_id"))
+                            .nodeId(rs.getLong("node_id"))
+                            .changeType(NodeChangeType.valueOf(rs.getString("change_type")))
+                            .changedAt(changedAt != null ? changedAt.toInstant() : null)
+                            .build();
+                },
+                seq, limit);
+    }
+
+    public long latestSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM node_changes", Long.class);
+        return seq != null ? seq : 0;
+    }
+
+    /** Last sequence number delivered to {@code consumer}, 0 when it has never been advanced. */
+    public long position(String consumer) {
+        List<Long> seq = jdbcTemplate.queryForList("SELECT seq FROM node_change_cursors WHERE name = ?", Long.class, consumer);
+        return seq.isEmpty() ? 0 : seq.get(0);
+    }
+
+    /** Moves a consumer position forward; never backwards. */
+    public void advance(String consumer, long seq) {
+        if (jdbcTemplate.update("UPDATE node_change_cursors SET seq = GREATEST(seq, ?) WHERE name = ?", seq, consumer) == 0) {
+            jdbcTemplate.update("INSERT INTO node_change_cursors (name, seq) VALUES (?, ?)", consumer, seq);
+        }
+    }
+
+    private void lockWriter() {
+        jdbcTemplate.queryForList("SELECT seq FROM node_change_cursors WHERE name = ? FOR UPDATE", Long.class, WRITER);
+    }
+
+    private void append(long lawId, List<Long> nodeIds, NodeChangeType type) {
+        jdbcTemplate.batchUpdate("INSERT INTO node_changes (law_id, node_id, change_type) VALUES (?, ?, ?)",
+                nodeIds, 500, (ps, nodeId) -> {
+                    ps.setLong(1, lawId);
+                    ps.setLong(2, nodeId);
+                    ps.setString(3, type.name());
+                });
+    }
+
+    private int appendGeneration(long lawId, int generation, NodeChangeType type) {
+        return jdbcTemplate.update(
+                "INSERT INTO node_changes (law_id, node_id, change_type) "
+                        + "SELECT law_id, id, ? FROM law_nodes WHERE law_id = ? AND generation = ? ORDER BY id",
+                type.name(), lawId, generation);
+    }
+}
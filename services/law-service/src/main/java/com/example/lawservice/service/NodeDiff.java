@@ -0,0 +1,119 @@
+package com.example.lawservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Matches the parsed nodes of a replacement against the stored tree of the same law. Nodes are
+ * keyed by {@code path}; a path can repeat within one document (amending decrees restate
+ * articles), so the n-th occurrence in document order matches the n-th stored row with that path
+ * in id order. A matched node keeps its id and is only updated when its content hash (labels, text,
+ * sort key, validity) or its parent changed.
+ * <p>
+ * Ids say nothing about nesting: a matched node whose parent occurrence is newly inserted is
+ * re-parented to a row with a higher id than its own. Deletes are therefore ordered by tree depth.
+ */
+final class NodeDiff {
+    private static final char SEPARATOR = '\u001f';
+
+    private NodeDiff() {
+    }
+
+    /** A stored node of the active generation, with the hash of its comparable columns. */
+    record StoredNode(long id, Long parentId, String path, String hash) {
+    }
+
+    /**
+     * @param matched   parser index -> id of the stored node it replaces (unchanged and updated)
+     * @param inserted  parsed nodes with no stored counterpart, in document order
+     * @param updated   matched nodes whose content or parent changed, in document order
+     * @param deleted   stored ids with no parsed counterpart, deepest path first (children before parents)
+     * @param unchanged number of matched nodes left as they are
+     */
+    record Result(Map<Integer, Long> matched, List<LawStructureParser.ParsedNode> inserted,
+                  List<LawStructureParser.ParsedNode> updated, List<Long> deleted, int unchanged) {
+
+        int changes() {
+            return inserted.size() + updated.size() + deleted.size();
+        }
+    }
+
+    static Result compute(List<StoredNode> stored, List<LawStructureParser.ParsedNode> nodes,
+                          LocalDate effectiveStart, LocalDate effectiveEnd) {
+        Map<String, Deque<StoredNode>> byPath = new LinkedHashMap<>();
+        stored.stream()
+                .sorted(Comparator.comparingLong(StoredNode::id))
+                .forEach(n -> byPath.computeIfAbsent(n.path(), p -> new ArrayDeque<>()).addLast(n));
+
+        Map<Integer, Long> matched = new HashMap<>();
+        List<LawStructureParser.ParsedNode> inserted = new ArrayList<>();
+        List<LawStructureParser.ParsedNode> updated = new ArrayList<>();
+        int unchanged = 0;
+        for (LawStructureParser.ParsedNode node : nodes) {
+            Deque<StoredNode> candidates = byPath.get(node.path());
+            StoredNode old = candidates != null ? candidates.pollFirst() : null;
+            if (old == null) {
+                inserted.add(node);
+                continue;
+            }
+            matched.put(node.index(), old.id());
+            // Parents come first in document order, so a matched parent is already in the map
+            Long parentId = node.parentIndex() >= 0 ? matched.get(node.parentIndex()) : null;
+            boolean moved = node.parentIndex() >= 0 ? parentId == null || !parentId.equals(old.parentId())
+                    : old.parentId() != null;
+            if (moved || !hash(node, effectiveStart, effectiveEnd).equals(old.hash())) {
+                updated.add(node);
+            } else {
+                unchanged++;
+            }
+        }
+        List<Long> deleted = byPath.values().stream()
+                .flatMap(Deque::stream)
+                .sorted(Comparator.comparingInt((StoredNode n) -> depth(n.path())).reversed()
+                        .thenComparing(StoredNode::id, Comparator.reverseOrder()))
+                .map(StoredNode::id)
+                .toList();
+        return new Result(matched, inserted, updated, deleted, unchanged);
+    }
+
+    /** Number of path segments; a child's path extends its parent's by one. */
+    static int depth(String path) {
+        int depth = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') depth++;
+        }
+        return depth;
+    }
+
+    static String hash(LawStructureParser.ParsedNode node, LocalDate effectiveStart, LocalDate effectiveEnd) {
+        return hash(node.level(), node.ordinalLabel(), node.heading(), node.contentText(), node.sortKey(),
+                node.title(), effectiveStart, effectiveEnd);
+    }
+
+    static String hash(String level, String ordinalLabel, String heading, String contentText, String sortKey,
+                       String title, LocalDate effectiveStart, LocalDate effectiveEnd) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : new Object[]{level, ordinalLabel, heading, contentText, sortKey, title, effectiveStart, effectiveEnd}) {
+            // Null and "" differ so that clearing a heading counts as a change
+            key.append(part == null ? "\u0000" : Objects.toString(part)).append(SEPARATOR);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.lawservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node generations of a law. A replacement writes its nodes under a freshly allocated generation
+ * that readers don't see (LawNode's {@code @Where} and the fulltext join only return
+ * {@code laws.active_generation}), then {@link #activate} switches the pointer in one row update.
+ * Older generations, and staged rows of failed or superseded attempts, are deleted afterwards on
+ * the cleanup pool in chunks that keep each statement's locks short. Chunks go deepest path first,
+ * so children are deleted before their parents ({@code fk_nodes_parent}); ids give no such order
+ * once an in-place edit has re-parented a node under a newer row.
+ */
+@Component
+public class NodeGenerations {
+    private static final Logger log = LoggerFactory.getLogger(NodeGenerations.class);
+    private static final String CHILDREN_FIRST = " ORDER BY LENGTH(path) - LENGTH(REPLACE(path, '/', '')) DESC, id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor cleanupExecutor;
+    private final Timer purgeTimer;
+    private final int chunkSize;
+
+    @Autowired
+    public NodeGenerations(JdbcTemplate jdbcTemplate,
+                           IngestionExecutors executors,
+                           MeterRegistry meterRegistry,
+                           @Value("${law.upload.delete-chunk-size:1000}") int chunkSize) {
+        this(jdbcTemplate, executors.cleanup(), meterRegistry, chunkSize);
+    }
+
+    NodeGenerations(JdbcTemplate jdbcTemplate, Executor cleanupExecutor, MeterRegistry meterRegistry, int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cleanupExecutor = cleanupExecutor;
+        this.purgeTimer = Timer.builder("law.nodes.purge")
+                .description("Background delete of replaced node generations")
+                .register(meterRegistry);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /** Reserves a new generation number for the law; rows written under it stay invisible until activated. */
+    @Transactional
+    public int allocate(long lawId) {
+        jdbcTemplate.update("UPDATE laws SET last_generation = last_generation + 1 WHERE id = ?", lawId);
+        Integer generation = jdbcTemplate.queryForObject("SELECT last_generation FROM laws WHERE id = ?", Integer.class, lawId);
+        if (generation == null) {
+            throw new IllegalStateException("Law not found: " + lawId);
+        }
+        return generation;
+    }
+
+    /**
+     * Makes {@code generation} the visible one and returns the generation it replaced, or -1 when a
+     * newer generation is already active (a concurrent replacement finished first); the caller's
+     * rows are then purged as retired.
+     */
+    @Transactional
+    public int activate(long lawId, int generation) {
+        int active = lockActive(lawId);
+        if (active >= generation) {
+            return -1;
+        }
+        jdbcTemplate.update("UPDATE laws SET active_generation = ? WHERE id = ?", generation, lawId);
+        return active;
+    }
+
+    /**
+     * Locks the law row and returns its active generation, so an in-place edit of that generation
+     * cannot interleave with a concurrent switch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int lockActive(long lawId) {
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT active_generation FROM laws WHERE id = ? FOR UPDATE", Integer.class, lawId);
+        if (active == null) {
+            throw new IllegalStateException("Law not found: " + lawId);
+        }
+        return active;
+    }
+
+    /** Schedules deletion of every generation older than the active one. */
+    public void purgeRetired(long lawId) {
+        schedule(lawId, () -> deleteChunked(lawId,
+                "DELETE FROM law_nodes WHERE law_id = ? AND generation < "
+                        + "(SELECT active_generation FROM laws WHERE id = ?)" + CHILDREN_FIRST,
+                lawId, lawId, chunkSize));
+    }
+
+    /** Schedules deletion of a staged generation that was never activated. */
+    public void purgeStaged(long lawId, int generation) {
+        schedule(lawId, () -> deleteChunked(lawId,
+                "DELETE FROM law_nodes WHERE law_id = ? AND generation = ? AND generation <> "
+                        + "(SELECT active_generation FROM laws WHERE id = ?)" + CHILDREN_FIRST,
+                lawId, generation, lawId, chunkSize));
+    }
+
+    /**
+     * Removes a law whose first upload failed, with whatever nodes were staged for it. Runs on the
+     * caller's thread; a failure is only logged since the law has no visible nodes either way.
+     */
+    public void dropLaw(long lawId) {
+        try {
+            deleteChunked(lawId, "DELETE FROM law_nodes WHERE law_id = ?" + CHILDREN_FIRST, lawId, chunkSize);
+            jdbcTemplate.update("DELETE FROM laws WHERE id = ?", lawId);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove law {} after a failed first upload: {}", lawId, e.getMessage());
+        }
+    }
+
+    private void schedule(long lawId, Runnable purge) {
+        try {
+            cleanupExecutor.execute(() -> {
+                try {
+                    purge.run();
+                } catch (RuntimeException e) {
+                    // Rows stay invisible; the next replacement of this law retries
+                    log.warn("Purge of old nodes for law {} failed: {}", lawId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Cleanup queue full, old nodes of law {} are kept until its next replacement", lawId);
+        }
+    }
+
+    private int deleteChunked(long lawId, String sql, Object... args) {
+        long start = System.nanoTime();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, args);
+            total += deleted;
+        } while (deleted == chunkSize);
+        purgeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (total > 0) {
+            log.info("Purged {} old nodes of law {}", total, lawId);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.NodeReferenceDTO;
+import com.example.lawservice.mapper.LawMapper;
+import com.example.lawservice.model.CompressedText;
+import com.example.lawservice.repository.LawNodeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the {@code node_references} edges written at ingestion (see {@link NodeReferences}) and
+ * resolves them to nodes in one query: the cited law by code (or the source's own law), and the
+ * cited article by its "Điều N" label in that law's active generation, valid at the requested
+ * date. Node bodies come from the corpus snapshot when it is current, from MySQL otherwise.
+ */
+@Service
+public class NodeReferenceService {
+    private static final Logger log = LoggerFactory.getLogger(NodeReferenceService.class);
+
+    private static final String SELECT = "SELECT r.id, r.source_node_id, r.target_law_code, r.article_no, tl.id AS law_id, t.id AS node_id "
+            + "FROM node_references r "
+            + "JOIN law_nodes s ON s.id = r.source_node_id "
+            + "LEFT JOIN laws tl ON (r.target_law_code IS NULL AND tl.id = s.law_id) OR tl.code = r.target_law_code "
+            + "LEFT JOIN law_nodes t ON r.article_no IS NOT NULL AND t.law_id = tl.id AND t.generation = tl.active_generation "
+            + "AND t.level = 'DIEU' AND t.ordinal_label = CONCAT('Điều ', r.article_no)%s "
+            + "WHERE r.source_node_id IN (%s) ORDER BY r.id, t.id";
+    private static final String VALID_AT = " AND (t.effective_start IS NULL OR t.effective_start <= ?) "
+            + "AND (t.effective_end IS NULL OR t.effective_end >= ?)";
+    private static final String SELECT_ACTIVE = "SELECT n.id, n.level, n.ordinal_label, n.content_text, n.content_text_gz "
+            + "FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation "
+            + "WHERE n.id > ? ORDER BY n.id LIMIT ?";
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LawNodeBatchWriter batchWriter;
+    private final LawNodeRepository nodeRepository;
+    private final CorpusSnapshotService snapshotService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer lookupTimer;
+
+    public NodeReferenceService(JdbcTemplate jdbcTemplate,
+                                LawNodeBatchWriter batchWriter,
+                                LawNodeRepository nodeRepository,
+                                CorpusSnapshotService snapshotService,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWriter = batchWriter;
+        this.nodeRepository = nodeRepository;
+        this.snapshotService = snapshotService;
+        this.transactionTemplate = transactionTemplate;
+        this.lookupTimer = Timer.builder("law.references.lookup")
+                .description("Resolving the cross-references of a set of nodes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * References of {@code nodeIds}, grouped by source node in the given order, each source's in
+     * text order. With {@code withChildren} the cited articles' direct children are included, and,
+     * like the articles, only those valid at {@code effectiveAt} when it is given.
+     */
+    public List<NodeReferenceDTO> referencesOf(List<Long> nodeIds, LocalDate effectiveAt, boolean withChildren) {
+        if (nodeIds.isEmpty()) {
+            return List.of();
+        }
+        return lookupTimer.record(() -> resolve(nodeIds, effectiveAt, withChildren));
+    }
+
+    private List<NodeReferenceDTO> resolve(List<Long> nodeIds, LocalDate effectiveAt, boolean withChildren) {
+        String sql = String.format(SELECT, effectiveAt != null ? VALID_AT : "",
+                String.join(",", Collections.nCopies(nodeIds.size(), "?")));
+        List<Object> args = new ArrayList<>();
+        if (effectiveAt != null) {
+            args.add(Date.valueOf(effectiveAt));
+            args.add(Date.valueOf(effectiveAt));
+        }
+        args.addAll(nodeIds);
+        // An article label can repeat within a law (e.g. amending decrees); the first match wins
+        Map<Long, Row> byReference = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Row row = new Row(rs.getLong("source_node_id"), rs.getString("target_law_code"),
+                    (Integer) rs.getObject("article_no", Integer.class), (Long) rs.getObject("law_id", Long.class),
+                    (Long) rs.getObject("node_id", Long.class));
+            byReference.putIfAbsent(rs.getLong("id"), row);
+        }, args.toArray());
+
+        List<Long> targetIds = byReference.values().stream().map(Row::nodeId).filter(id -> id != null).distinct().toList();
+        Map<Long, List<Long>> childIds = withChildren ? childIds(targetIds, effectiveAt) : Map.of();
+        List<Long> all = new ArrayList<>(targetIds);
+        childIds.values().forEach(all::addAll);
+        Map<Long, NodeDTO> nodes = nodes(all);
+
+        Map<Long, List<NodeReferenceDTO>> bySource = new HashMap<>();
+        for (Row row : byReference.values()) {
+            List<NodeDTO> children = row.nodeId == null ? List.of() : childIds.getOrDefault(row.nodeId, List.of()).stream()
+                    .map(nodes::get).filter(n -> n != null).toList();
+            bySource.computeIfAbsent(row.sourceNodeId, k -> new ArrayList<>()).add(NodeReferenceDTO.builder()
+                    .sourceNodeId(row.sourceNodeId)
+                    .lawCode(row.lawCode)
+                    .lawId(row.lawId)
+                    .articleNo(row.articleNo)
+                    .node(row.nodeId != null ? nodes.get(row.nodeId) : null)
+                    .children(children)
+                    .build());
+        }
+        return nodeIds.stream().distinct()
+                .flatMap(id -> bySource.getOrDefault(id, List.of()).stream())
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, List<Long>> childIds(List<Long> parentIds, LocalDate effectiveAt) {
+        if (parentIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> args = new ArrayList<>(parentIds);
+        if (effectiveAt != null) {
+            args.add(Date.valueOf(effectiveAt));
+            args.add(Date.valueOf(effectiveAt));
+        }
+        Map<Long, List<Long>> out = new HashMap<>();
+        jdbcTemplate.query("SELECT t.parent_id, t.id FROM law_nodes t WHERE t.parent_id IN ("
+                        + String.join(",", Collections.nCopies(parentIds.size(), "?")) + ")"
+                        + (effectiveAt != null ? VALID_AT : "") + " ORDER BY t.parent_id, t.sort_key, t.id",
+                rs -> {
+                    out.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2));
+                }, args.toArray());
+        return out;
+    }
+
+    private Map<Long, NodeDTO> nodes(List<Long> ids) {
+        Map<Long, NodeDTO> out = new HashMap<>();
+        Optional<CorpusSnapshot> snapshot = snapshotService.current();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<NodeDTO> node = snapshot.flatMap(s -> s.node(id));
+            if (node.isPresent()) {
+                out.put(id, node.get());
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            nodeRepository.findAllById(missing).forEach(n -> out.put(n.getId(), LawMapper.toNodeDTO(n)));
+        }
+        return out;
+    }
+
+    /**
+     * Re-extracts the references of every node in an active generation, in id chunks of one
+     * transaction each. For nodes stored before references were extracted at ingestion.
+     */
+    public int rebuild() {
+        long after = 0;
+        int nodes = 0;
+        int references = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            List<LawStructureParser.ParsedNode> parsed = new ArrayList<>();
+            jdbcTemplate.query(SELECT_ACTIVE, rs -> {
+                byte[] gzip = rs.getBytes("content_text_gz");
+                String text = rs.getString("content_text");
+                ids.add(rs.getLong("id"));
+                parsed.add(new LawStructureParser.ParsedNode(parsed.size(), -1, rs.getString("level"), rs.getString("ordinal_label"),
+                        null, text == null && gzip != null ? CompressedText.decompress(gzip) : text, null, null, null));
+            }, after, REBUILD_CHUNK);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer written = transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate("DELETE FROM node_references WHERE source_node_id = ?", ids, REBUILD_CHUNK,
+                        (ps, id) -> ps.setLong(1, id));
+                return batchWriter.writeReferences(ids, parsed);
+            });
+            references += written != null ? written : 0;
+            nodes += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        log.info("Rebuilt node references: {} nodes, {} references", nodes, references);
+        return references;
+    }
+
+    private record Row(long sourceNodeId, String lawCode, Integer articleNo, Long lawId, Long nodeId) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.lawservice.service;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the article and law citations of a node's text, the same patterns rag-service used to
+ * scan for at query time: "Điều 5" (an article of the same law), "Điều 5 Nghị định số
+ * 123/2015/NĐ-CP" or "Điều 5 của Luật Hộ tịch số 60/2014/QH13" (an article of another
+ * document), and a bare "Nghị định số 123/2015/NĐ-CP" (the document as a whole). Codes are
+ * upper-cased and "ND-"/"QD-" are written with Đ, as in stored law codes.
+ */
+final class NodeReferences {
+    static final int MAX_PER_NODE = 64;
+    // laws.code / node_references.target_law_code
+    private static final int MAX_CODE_LENGTH = 64;
+
+    private static final String DOC_TYPE = "(?:Bộ\\s+luật|Luật|Nghị\\s+định|Thông\\s+tư(?:\\s+liên\\s+tịch)?|Nghị\\s+quyết|Pháp\\s+lệnh|Quyết\\s+định)";
+    // Optional document name between type and code: "Luật Hộ tịch số 60/2014/QH13"
+    private static final String NAME = "(?:\\s+\\p{L}+){0,8}?";
+    private static final String CODE = "(\\d{1,4}/\\d{4}/[\\p{L}\\d]+(?:-[\\p{L}\\d]+)*)";
+    private static final Pattern ARTICLE = Pattern.compile(
+            "\\b(?:Điều|Dieu)\\s+(\\d{1,3})\\b(?:\\s+(?:của\\s+)?" + DOC_TYPE + NAME + "(?:\\s+số)?\\s+" + CODE + ")?",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern DOCUMENT = Pattern.compile(
+            "\\b" + DOC_TYPE + NAME + "(?:\\s+số)?\\s+" + CODE,
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern OWN_ARTICLE = Pattern.compile("^\\s*Điều\\s+(\\d{1,3})\\b");
+
+    private NodeReferences() {
+    }
+
+    /** @param lawCode cited law code, null for the node's own law; articleNo null for the whole law */
+    record Reference(String lawCode, Integer articleNo) {
+    }
+
+    /**
+     * Distinct references in order of first appearance, at most {@link #MAX_PER_NODE}. An article
+     * node's mention of its own number ("Điều 5" inside Điều 5) is not a reference.
+     */
+    static List<Reference> extract(String level, String ordinalLabel, String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        Integer ownArticle = null;
+        if ("DIEU".equals(level) && ordinalLabel != null) {
+            Matcher own = OWN_ARTICLE.matcher(Normalizer.normalize(ordinalLabel, Normalizer.Form.NFC));
+            ownArticle = own.find() ? Integer.valueOf(own.group(1)) : null;
+        }
+
+        Set<Reference> out = new LinkedHashSet<>();
+        // Codes already taken as an article's document, by start offset
+        Set<Integer> cited = new HashSet<>();
+        Matcher article = ARTICLE.matcher(nfc);
+        while (article.find() && out.size() < MAX_PER_NODE) {
+            int number = Integer.parseInt(article.group(1));
+            String code = article.group(2) != null ? normalizeCode(article.group(2)) : null;
+            if (code != null) {
+                cited.add(article.start(2));
+                if (code.length() > MAX_CODE_LENGTH) {
+                    continue;
+                }
+            }
+            if (code == null && ownArticle != null && ownArticle == number) {
+                continue;
+            }
+            out.add(new Reference(code, number));
+        }
+        Matcher document = DOCUMENT.matcher(nfc);
+        while (document.find() && out.size() < MAX_PER_NODE) {
+            String code = normalizeCode(document.group(1));
+            if (code.length() <= MAX_CODE_LENGTH && !cited.contains(document.start(1))) {
+                out.add(new Reference(code, null));
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    static String normalizeCode(String code) {
+        return code.toUpperCase(Locale.ROOT).replaceAll("(?<=/)([NQ])D-", "$1Đ-");
+    }
+}
@@ -1,55 +1,157 @@
 package com.example.lawservice.service;
 
+import com.example.lawservice.dto.FacetCountDTO;
+import com.example.lawservice.dto.FacetedSearchResponse;
+import com.example.lawservice.dto.NodeDTO;
 import com.example.lawservice.dto.NodeSearchDTO;
 import com.example.lawservice.dto.PageResponse;
+import com.example.lawservice.mapper.LawMapper;
 import com.example.lawservice.model.LawNode;
 import com.example.lawservice.repository.LawNodeRepository;
+import com.example.lawservice.repository.NodeFulltextView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class NodeSearchService {
     private static final int CONTEXT_CHARS = 80; // chars around each match
     private static final int MAX_WINDOWS = 3;    // max windows to include
     private static final int MAX_SNIPPET = 240;  // overall snippet cap
 
     private final LawNodeRepository nodeRepository;
+    private final FuzzyNodeSearchService fuzzyNodeSearchService;
+    private final SearchResultCache searchResultCache;
+
+    /** Keyword (LIKE) or fuzzy search over node content, served from the search result cache. */
+    public PageResponse<NodeDTO> keyword(String keyword, LocalDate effectiveAt, boolean fuzzy, Pageable pageable) {
+        String kind = fuzzy ? "fuzzy" : "keyword";
+        String normalized = fuzzy ? TextNormalizer.normalizeQuery(keyword) : SearchResultCache.normalize(keyword);
+        return searchResultCache.get(kind, normalized, effectiveAt, pageable, () -> {
+            Page<LawNode> nodes;
+            if (fuzzy) {
+                nodes = fuzzyNodeSearchService.search(normalized, effectiveAt, pageable);
+            } else if (effectiveAt != null) {
+                nodes = nodeRepository.findByContentTextContainingIgnoreCaseAndEffectiveAt(normalized, effectiveAt, pageable);
+            } else {
+                nodes = nodeRepository.findByContentTextContainingIgnoreCase(normalized, pageable);
+            }
+            return PageResponse.from(nodes.map(LawMapper::toNodeDTO));
+        });
+    }
+
+    /**
+     * Token search (fuzzy or exact, accent-insensitive) with facet counts by law, docType and level.
+     * Facet filters narrow the results; each facet's counts ignore its own filter.
+     */
+    public FacetedSearchResponse faceted(String keyword, LocalDate effectiveAt, boolean fuzzy,
+                                         Set<Long> lawIds, Set<String> docTypes, Set<String> levels,
+                                         Pageable pageable) {
+        TrigramIndex.FacetFilter filter = new TrigramIndex.FacetFilter(
+                lawIds != null ? new TreeSet<>(lawIds) : Set.of(),
+                upperSorted(docTypes),
+                upperSorted(levels));
+        String normalized = TextNormalizer.normalizeQuery(keyword);
+        String kind = "faceted:" + fuzzy + ":" + filter;
+        return searchResultCache.get(kind, normalized, effectiveAt, pageable, () -> {
+            TrigramIndex.Result result = fuzzyNodeSearchService.facetedSearch(normalized, effectiveAt, fuzzy, filter);
+            Page<LawNode> nodes = fuzzyNodeSearchService.page(result.ids(), pageable);
+            List<FacetCountDTO> laws = new ArrayList<>();
+            result.lawCounts().forEach((lawId, count) -> laws.add(FacetCountDTO.builder()
+                    .value(String.valueOf(lawId))
+                    .label(fuzzyNodeSearchService.lawCode(lawId))
+                    .count(count)
+                    .build()));
+            return FacetedSearchResponse.builder()
+                    .results(PageResponse.from(nodes.map(LawMapper::toNodeDTO)))
+                    .laws(sortFacets(laws))
+                    .docTypes(toFacets(result.docTypeCounts()))
+                    .levels(toFacets(result.levelCounts()))
+                    .build();
+        });
+    }
+
+    private static Set<String> upperSorted(Set<String> values) {
+        Set<String> out = new TreeSet<>();
+        if (values != null) {
+            for (String v : values) {
+                if (v != null && !v.isBlank()) out.add(v.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return out;
+    }
+
+    private static List<FacetCountDTO> toFacets(Map<String, Integer> counts) {
+        List<FacetCountDTO> out = new ArrayList<>();
+        counts.forEach((value, count) -> out.add(FacetCountDTO.builder().value(value).label(value).count(count).build()));
+        return sortFacets(out);
+    }
+
+    // Largest buckets first, then by value for a stable order
+    private static List<FacetCountDTO> sortFacets(List<FacetCountDTO> facets) {
+        facets.sort(Comparator.comparingLong(FacetCountDTO::getCount).reversed()
+                .thenComparing(FacetCountDTO::getValue));
+        return facets;
+    }
 
     public PageResponse<NodeSearchDTO> fulltext(String q, Pageable pageable) {
-        Page<LawNode> page = nodeRepository.fulltext(q, pageable);
+        String normalized = SearchResultCache.normalize(q);
+        return searchResultCache.get("fulltext", normalized, null, pageable, () -> renderFulltext(normalized, pageable));
+    }
+
+    private PageResponse<NodeSearchDTO> renderFulltext(String q, Pageable pageable) {
+        FulltextQuery query = FulltextQuery.parse(q);
+        // Relevance order is fixed in the query, so only page/size are taken from the request
+        Pageable p = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : PageRequest.of(0, 20);
+        if (query.isEmpty()) {
+            return PageResponse.from(Page.<NodeSearchDTO>empty(p));
+        }
+        Page<NodeFulltextView> page = nodeRepository.fulltext(query.expression(), p);
         Page<NodeSearchDTO> mapped = page.map(node -> NodeSearchDTO.builder()
             .id(node.getId())
-            .lawId(node.getLaw() != null ? node.getLaw().getId() : null)
+            .lawId(node.getLawId())
             .level(node.getLevel())
             .ordinalLabel(node.getOrdinalLabel())
             .heading(node.getHeading())
-            .snippet(buildSnippet(node.getContentText(), q))
+            .snippet(buildSnippet(node.getContentText(), query.highlightTerms()))
+            .score(node.getScore())
             .build());
         return PageResponse.from(mapped);
     }
 
-    private String buildSnippet(String text, String q) {
+    private String buildSnippet(String text, List<String> terms) {
         if (text == null || text.isBlank()) {
             return "";
         }
-        if (q == null || q.isBlank()) {
+        if (terms.isEmpty()) {
             return safeTruncateHtmlish(escapeHtml(text), MAX_SNIPPET);
         }
 
         String lower = text.toLowerCase();
-        String qLower = q.toLowerCase();
 
         java.util.List<int[]> windows = new java.util.ArrayList<>();
         int pos = 0;
         int guard = 0;
         while (true) {
-            int idx = lower.indexOf(qLower, pos);
-            if (idx < 0) break;
+            int[] hit = indexOfAny(lower, terms, pos);
+            if (hit == null) break;
+            int idx = hit[0];
             int start = Math.max(0, idx - CONTEXT_CHARS);
-            int end = Math.min(text.length(), idx + q.length() + CONTEXT_CHARS);
+            int end = Math.min(text.length(), idx + hit[1] + CONTEXT_CHARS);
             if (!windows.isEmpty()) {
                 int[] last = windows.get(windows.size() - 1);
                 if (start <= last[1] + 20) { // merge overlapping/close windows
@@ -60,7 +162,7 @@ public class NodeSearchService {
             } else {
                 windows.add(new int[]{start, end});
             }
-            pos = idx + q.length();
+            pos = idx + hit[1];
             if (windows.size() >= MAX_WINDOWS) break;
             if (++guard > 1000) break; // safety
         }
@@ -74,24 +176,39 @@ public class NodeSearchService {
             if (i > 0) sb.append(" ... ");
             int[] w = windows.get(i);
             String segment = text.substring(w[0], w[1]);
-            sb.append(highlightAndEscape(segment, q));
+            sb.append(highlightAndEscape(segment, terms));
             if (sb.length() > MAX_SNIPPET + 64) break; // soft cap
         }
         return safeTruncateHtmlish(sb.toString(), MAX_SNIPPET);
     }
 
-    private String highlightAndEscape(String segment, String q) {
+    // Earliest occurrence of any term at or after {@code from}, as {index, length}; longest term wins ties
+    private int[] indexOfAny(String lower, List<String> terms, int from) {
+        int[] best = null;
+        for (String term : terms) {
+            String t = term.toLowerCase();
+            if (t.isEmpty()) continue;
+            int idx = lower.indexOf(t, from);
+            if (idx < 0) continue;
+            if (best == null || idx < best[0] || (idx == best[0] && t.length() > best[1])) {
+                best = new int[]{idx, t.length()};
+            }
+        }
+        return best;
+    }
+
+    private String highlightAndEscape(String segment, List<String> terms) {
         String lower = segment.toLowerCase();
-        String qLower = q.toLowerCase();
         StringBuilder out = new StringBuilder();
         int i = 0;
-        int idx;
-        while ((idx = lower.indexOf(qLower, i)) >= 0) {
+        int[] hit;
+        while ((hit = indexOfAny(lower, terms, i)) != null) {
+            int idx = hit[0];
             String pre = segment.substring(i, idx);
-            String match = segment.substring(idx, Math.min(segment.length(), idx + q.length()));
+            String match = segment.substring(idx, Math.min(segment.length(), idx + hit[1]));
             out.append(escapeHtml(pre));
             out.append("<mark>").append(escapeHtml(match)).append("</mark>");
-            i = idx + q.length();
+            i = idx + hit[1];
         }
         out.append(escapeHtml(segment.substring(i)));
         return out.toString();
@@ -1,33 +1,151 @@
 package com.example.lawservice.service;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
 
+/**
+ * PDF text extraction with bounded memory. Documents are opened with a mixed memory setting
+ * (up to {@code law.pdf.max-main-memory-mb} on heap, the rest in a scratch file), and documents
+ * of at least {@code law.pdf.parallel-min-pages} pages are split into page ranges extracted on a
+ * shared fork-join pool. {@code PDDocument} is not thread-safe, so every range opens its own
+ * document and stripper; range texts are concatenated in page order, which yields the same text
+ * as a single {@code getText} over the whole document.
+ */
 @Component
-public class PdfTextExtractor {
+public class PdfTextExtractor implements DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(PdfTextExtractor.class);
+    private static final int PAGES_PER_STEP = 16;
+
+    private final long maxMainMemoryBytes;
+    private final int parallelMinPages;
+    private final int threads;
+    private final ForkJoinPool pool;
+
+    /** Sequential extractor with default memory limits (tests, tools). */
+    public PdfTextExtractor() {
+        this(64, Integer.MAX_VALUE, 1);
+    }
+
+    @Autowired
+    public PdfTextExtractor(@Value("${law.pdf.max-main-memory-mb:64}") long maxMainMemoryMb,
+                            @Value("${law.pdf.parallel-min-pages:32}") int parallelMinPages,
+                            @Value("${law.pdf.extract-threads:0}") int threads) {
+        this.maxMainMemoryBytes = Math.max(1, maxMainMemoryMb) * 1024 * 1024;
+        this.parallelMinPages = Math.max(1, parallelMinPages);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
 
     public String extract(Path path) {
+        return extract(path, fraction -> { });
+    }
+
+    /** Extracts the text, reporting the fraction of pages done (possibly from worker threads). */
+    public String extract(Path path, DoubleConsumer progress) {
+        return extractDocument(path, progress).text();
+    }
+
+    /** Same as {@link #extract(Path, DoubleConsumer)}, also returning the page count. */
+    public Extraction extractDocument(Path path, DoubleConsumer progress) {
         if (path == null || !Files.exists(path)) {
             throw new IllegalArgumentException("PDF file not found: " + path);
         }
-        try (PDDocument document = PDDocument.load(path.toFile())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document);
-            if (text == null || text.isBlank()) {
+        try {
+            int pages;
+            try (PDDocument document = open(path)) {
+                pages = document.getNumberOfPages();
+            }
+            AtomicInteger done = new AtomicInteger();
+            String text;
+            if (pool == null || pages < parallelMinPages) {
+                text = extractRange(path, 1, pages, done, pages, progress);
+            } else {
+                text = extractParallel(path, pages, done, progress);
+            }
+            if (text.isBlank()) {
                 throw new IllegalArgumentException("Cannot extract text from PDF: " + path);
             }
-            return text.trim();
-        } catch (IOException e) {
+            return new Extraction(text.trim(), pages);
+        } catch (IOException | UncheckedIOException e) {
             log.error("Failed to read PDF {}", path, e);
             throw new RuntimeException("Failed to read PDF: " + path, e);
         }
     }
+
+    private String extractParallel(Path path, int pages, AtomicInteger done, DoubleConsumer progress) throws IOException {
+        // A few ranges per worker so one slow (image-heavy) range doesn't leave the others idle
+        int ranges = Math.min(threads * 2, (pages + PAGES_PER_STEP - 1) / PAGES_PER_STEP);
+        int perRange = (pages + ranges - 1) / ranges;
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int first = 1; first <= pages; first += perRange) {
+            int from = first;
+            int to = Math.min(pages, first + perRange - 1);
+            tasks.add(() -> extractRange(path, from, to, done, pages, progress));
+        }
+        StringBuilder text = new StringBuilder();
+        try {
+            for (Future<String> part : pool.invokeAll(tasks)) {
+                text.append(part.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting " + path, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IOException(cause);
+        }
+        return text.toString();
+    }
+
+    private String extractRange(Path path, int from, int to, AtomicInteger done, int pages,
+                                DoubleConsumer progress) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (PDDocument document = open(path)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int first = from; first <= to; first += PAGES_PER_STEP) {
+                int last = Math.min(to, first + PAGES_PER_STEP - 1);
+                stripper.setStartPage(first);
+                stripper.setEndPage(last);
+                text.append(stripper.getText(document));
+                progress.accept(done.addAndGet(last - first + 1) / (double) pages);
+            }
+        }
+        return text.toString();
+    }
+
+    private PDDocument open(Path path) throws IOException {
+        return PDDocument.load(path.toFile(), MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+    }
+
+    public record Extraction(String text, int pages) {
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.clients.RagClient;
+import com.example.lawservice.dto.NodeChangeDTO;
+import com.example.lawservice.enums.NodeChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends the node change feed to rag-service as id lists, so re-embedding cost follows the size of
+ * a change instead of the corpus. The delivered position is the {@code rag} cursor in
+ * {@code node_change_cursors}; a failed push leaves it where it was and the next push resends the
+ * same changes, which is harmless because rag-service upserts and deletes by node id.
+ */
+@Component
+public class RagChangeNotifier {
+    private static final Logger log = LoggerFactory.getLogger(RagChangeNotifier.class);
+    static final String CONSUMER = "rag";
+
+    private final NodeChangeLog changeLog;
+    private final RagClient ragClient;
+    private final Timer pushTimer;
+    private final Counter changesCounter;
+    private final int batchSize;
+    // One push at a time; held across the HTTP calls, where a monitor would pin a virtual thread's carrier
+    private final ReentrantLock pushLock = new ReentrantLock();
+
+    public RagChangeNotifier(NodeChangeLog changeLog,
+                             RagClient ragClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${law.rag.sync-batch-size:1000}") int batchSize) {
+        this.changeLog = changeLog;
+        this.ragClient = ragClient;
+        this.pushTimer = Timer.builder("law.rag.sync")
+                .description("Incremental RAG reindex pushes")
+                .register(meterRegistry);
+        this.changesCounter = Counter.builder("law.rag.sync.changes")
+                .description("Node changes sent to rag-service")
+                .register(meterRegistry);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** Sends every change after the rag cursor, {@code law.rag.sync-batch-size} per request; returns how many were sent. */
+    public int push() {
+        pushLock.lock();
+        try {
+            return pushTimer.record(() -> {
+                long position = changeLog.position(CONSUMER);
+                int sent = 0;
+                List<NodeChangeDTO> changes;
+                do {
+                    changes = changeLog.since(position, batchSize);
+                    if (changes.isEmpty()) {
+                        break;
+                    }
+                    send(changes);
+                    position = changes.get(changes.size() - 1).getSeq();
+                    changeLog.advance(CONSUMER, position);
+                    sent += changes.size();
+                    changesCounter.increment(changes.size());
+                } while (changes.size() == batchSize);
+                if (sent > 0) {
+                    log.info("Sent {} node changes to RAG, position now {}", sent, position);
+                }
+                return sent;
+            });
+        } finally {
+            pushLock.unlock();
+        }
+    }
+
+    private void send(List<NodeChangeDTO> changes) {
+        // Last change per node wins; node ids are never reused, so INSERT then DELETE is just a delete
+        Map<Long, NodeChangeType> latest = new LinkedHashMap<>();
+        for (NodeChangeDTO change : changes) {
+            latest.put(change.getNodeId(), change.getChangeType());
+        }
+        List<Long> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        latest.forEach((nodeId, type) -> (type == NodeChangeType.DELETE ? deletes : upserts).add(nodeId));
+        ragClient.reindexNodes(upserts, deletes);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.RelatedLawDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory copy of the {@code laws.related_law_id} graph as adjacency arrays: laws
+ * sorted by id, and for each law the positions of the laws that point at it (decrees guiding a
+ * law, circulars guiding a decree) in one flat array indexed by {@code childStart}. Built from a
+ * single scan of {@code laws}; {@link RelatedLawGraphService} decides when.
+ */
+public final class RelatedLawGraph {
+    static final String SELECT_LAWS = "SELECT id, related_law_id, code, doc_type, title FROM laws ORDER BY id";
+
+    private final long[] ids;
+    private final String[] codes;
+    private final String[] docTypes;
+    private final String[] titles;
+    private final int[] childStart;
+    private final int[] children;
+
+    private RelatedLawGraph(long[] ids, String[] codes, String[] docTypes, String[] titles, int[] childStart, int[] children) {
+        this.ids = ids;
+        this.codes = codes;
+        this.docTypes = docTypes;
+        this.titles = titles;
+        this.childStart = childStart;
+        this.children = children;
+    }
+
+    static RelatedLawGraph load(JdbcTemplate jdbcTemplate) {
+        List<Row> rows = jdbcTemplate.query(SELECT_LAWS, (rs, i) -> new Row(rs.getLong(1),
+                (Long) rs.getObject(2, Long.class), rs.getString(3), rs.getString(4), rs.getString(5)));
+        return build(rows);
+    }
+
+    static RelatedLawGraph build(List<Row> rows) {
+        List<Row> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(Row::id));
+        int n = sorted.size();
+        long[] ids = new long[n];
+        String[] codes = new String[n];
+        String[] docTypes = new String[n];
+        String[] titles = new String[n];
+        for (int i = 0; i < n; i++) {
+            Row row = sorted.get(i);
+            ids[i] = row.id();
+            codes[i] = row.code();
+            docTypes[i] = row.docType();
+            titles[i] = row.title();
+        }
+        // Counting sort by parent position; children stay in id order because rows are
+        int[] parent = new int[n];
+        int[] childStart = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            Long related = sorted.get(i).relatedLawId();
+            parent[i] = related != null ? Arrays.binarySearch(ids, related) : -1;
+            if (parent[i] >= 0 && parent[i] != i) {
+                childStart[parent[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            childStart[i + 1] += childStart[i];
+        }
+        int[] fill = Arrays.copyOf(childStart, n);
+        int[] children = new int[childStart[n]];
+        for (int i = 0; i < n; i++) {
+            if (parent[i] >= 0 && parent[i] != i) {
+                children[fill[parent[i]]++] = i;
+            }
+        }
+        return new RelatedLawGraph(ids, codes, docTypes, titles, childStart, children);
+    }
+
+    public int lawCount() {
+        return ids.length;
+    }
+
+    public int linkCount() {
+        return children.length;
+    }
+
+    public boolean contains(long lawId) {
+        return Arrays.binarySearch(ids, lawId) >= 0;
+    }
+
+    /** Ids of the laws directly related to {@code lawId}, optionally of one docType (case-insensitive), ascending. */
+    public List<Long> related(long lawId, String docType) {
+        int base = Arrays.binarySearch(ids, lawId);
+        if (base < 0) {
+            return List.of();
+        }
+        Set<String> filter = normalize(docType != null && !docType.isBlank() ? List.of(docType) : List.of());
+        List<Long> out = new ArrayList<>(childStart[base + 1] - childStart[base]);
+        for (int c = childStart[base]; c < childStart[base + 1]; c++) {
+            if (matches(children[c], filter)) {
+                out.add(ids[children[c]]);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Laws reachable from {@code lawId} in at most {@code maxDepth} hops, breadth-first (by depth,
+     * then by id within each parent). The docType filter only selects what is returned: traversal
+     * continues through laws of other types, so circulars under a decree are found when only
+     * circulars are asked for. Each law appears once, at its shortest depth; cycles are cut.
+     * Empty when the law does not exist.
+     */
+    public Optional<List<RelatedLawDTO>> traverse(long lawId, int maxDepth, Collection<String> docTypes) {
+        int base = Arrays.binarySearch(ids, lawId);
+        if (base < 0) {
+            return Optional.empty();
+        }
+        Set<String> filter = normalize(docTypes);
+        boolean[] seen = new boolean[ids.length];
+        seen[base] = true;
+        int[] frontier = {base};
+        List<RelatedLawDTO> out = new ArrayList<>();
+        for (int depth = 1; depth <= maxDepth && frontier.length > 0; depth++) {
+            int[] next = new int[ids.length];
+            int size = 0;
+            for (int from : frontier) {
+                for (int c = childStart[from]; c < childStart[from + 1]; c++) {
+                    int to = children[c];
+                    if (seen[to]) {
+                        continue;
+                    }
+                    seen[to] = true;
+                    next[size++] = to;
+                    if (matches(to, filter)) {
+                        out.add(RelatedLawDTO.builder()
+                                .id(ids[to])
+                                .code(codes[to])
+                                .docType(this.docTypes[to])
+                                .title(titles[to])
+                                .depth(depth)
+                                .viaLawId(ids[from])
+                                .build());
+                    }
+                }
+            }
+            frontier = Arrays.copyOf(next, size);
+        }
+        return Optional.of(out);
+    }
+
+    private boolean matches(int position, Set<String> filter) {
+        return filter.isEmpty()
+                || (docTypes[position] != null && filter.contains(docTypes[position].toUpperCase(Locale.ROOT)));
+    }
+
+    private static Set<String> normalize(Collection<String> docTypes) {
+        if (docTypes == null) {
+            return Set.of();
+        }
+        return docTypes.stream()
+                .filter(t -> t != null && !t.isBlank())
+                .map(t -> t.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    record Row(long id, Long relatedLawId, String code, String docType, String title) {
+    }
+}
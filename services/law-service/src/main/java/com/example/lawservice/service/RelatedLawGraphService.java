@@ -0,0 +1,88 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.RelatedLawDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link RelatedLawGraph}. {@link #invalidate()} (called by
+ * {@link LawMetadataCache#evict} after every committed upload) bumps a version, and the next read
+ * rebuilds the graph with one query; a build that raced with an invalidation is tagged with the
+ * older version and replaced on the following read.
+ */
+@Service
+public class RelatedLawGraphService {
+    private static final Logger log = LoggerFactory.getLogger(RelatedLawGraphService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<Built> current = new AtomicReference<>();
+    // Held across the query: a monitor would pin a virtual thread's carrier (Java 21)
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final Timer buildTimer;
+    private final Timer traversalTimer;
+
+    public RelatedLawGraphService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buildTimer = Timer.builder("law.related.graph.build")
+                .description("Related-law graph rebuild (query and adjacency arrays)")
+                .register(meterRegistry);
+        this.traversalTimer = Timer.builder("law.related.traversal")
+                .description("Multi-hop related-law traversal over the in-memory graph")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("law.related.graph.links", current, ref -> ref.get() != null ? ref.get().graph.linkCount() : 0)
+                .description("related_law_id links in the in-memory graph")
+                .register(meterRegistry);
+    }
+
+    public RelatedLawGraph graph() {
+        Built built = current.get();
+        if (built != null && built.version == version.get()) {
+            return built.graph;
+        }
+        buildLock.lock();
+        try {
+            long v = version.get();
+            built = current.get();
+            if (built != null && built.version == v) {
+                return built.graph;
+            }
+            long start = System.nanoTime();
+            RelatedLawGraph graph = RelatedLawGraph.load(jdbcTemplate);
+            long elapsed = System.nanoTime() - start;
+            buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.debug("Related-law graph: {} laws, {} links in {} ms", graph.lawCount(), graph.linkCount(), elapsed / 1_000_000);
+            current.set(new Built(v, graph));
+            return graph;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /** See {@link RelatedLawGraph#traverse}; timed as {@code law.related.traversal}. */
+    public Optional<List<RelatedLawDTO>> traverse(long lawId, int maxDepth, Collection<String> docTypes) {
+        RelatedLawGraph graph = graph();
+        return traversalTimer.record(() -> graph.traverse(lawId, maxDepth, docTypes));
+    }
+
+    private record Built(long version, RelatedLawGraph graph) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.lawservice.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of rendered node-search pages (including snippets), keyed by search kind,
+ * normalized query, effectiveAt, page/size/sort and the current {@link CorpusGeneration}.
+ * Hit/miss counters are exported by Spring Boot as {@code cache.gets{cache="nodeSearch"}}.
+ * Concurrent misses of one key share a single load, run outside the cache: {@code Cache.get(key, loader)}
+ * would run the search inside Caffeine's map lock, a monitor that pins a virtual thread's carrier
+ * (Java 21) for the whole query.
+ */
+@Component
+public class SearchResultCache {
+    public static final String CACHE_NAME = "nodeSearch";
+
+    private final Cache cache;
+    private final CorpusGeneration corpusGeneration;
+    private final ConcurrentMap<Key, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public SearchResultCache(CacheManager cacheManager, CorpusGeneration corpusGeneration) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.corpusGeneration = corpusGeneration;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, String normalizedQuery, LocalDate effectiveAt, Pageable pageable, Supplier<T> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        Key key = new Key(kind, normalizedQuery, effectiveAt,
+                pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort().toString(),
+                corpusGeneration.current());
+        Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            return (T) await(running);
+        }
+        try {
+            T value = loader.get();
+            // A corpus change during the load leaves this under an older generation, unreachable
+            cache.put(key, value);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /** Lower-case, trim and collapse whitespace; accents are kept because SQL matching may distinguish them. */
+    public static String normalize(String q) {
+        return q == null ? "" : q.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Older generations are already unreachable through the key; clearing just frees memory early.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCorpusChanged(CorpusChangedEvent event) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private record Key(String kind, String query, LocalDate effectiveAt, int page, int size, String sort, long generation) {
+    }
+}
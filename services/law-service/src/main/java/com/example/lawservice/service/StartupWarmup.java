@@ -0,0 +1,206 @@
+package com.example.lawservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms law-service up before it reports ready. Spring Boot flips the readiness state
+ * ({@code /actuator/health/readiness}) to ACCEPTING_TRAFFIC only after every
+ * {@link ApplicationRunner} has returned, so while this runs the port is open but load balancers
+ * and compose health checks keep traffic away. It loads the law rows ({@code laws} cache), the
+ * related-law graph and the trigram index, waits for the first corpus snapshot, then requests the
+ * read endpoints over HTTP for the most-cited laws (TOC, law, suggestions, a sample of nodes) in
+ * JSON and CBOR, which warms the JIT, the connection pool, MySQL's buffer pool and the
+ * {@code lawToc} cache. Everything is bounded by {@code law.warmup.timeout-seconds}; failures are
+ * logged and never keep the service from becoming ready.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // Laws cited most (node_references by code, related_law_id links): the ones rag-service expands into
+    private static final String TOP_LAWS = "SELECT l.id, l.title FROM laws l "
+            + "LEFT JOIN (SELECT target_law_code AS code, COUNT(*) AS c FROM node_references "
+            + "WHERE target_law_code IS NOT NULL GROUP BY target_law_code) r ON r.code = l.code "
+            + "LEFT JOIN (SELECT related_law_id AS id, COUNT(*) AS c FROM laws "
+            + "WHERE related_law_id IS NOT NULL GROUP BY related_law_id) g ON g.id = l.id "
+            + "ORDER BY COALESCE(r.c, 0) + COALESCE(g.c, 0) DESC, l.id LIMIT ?";
+    private static final String NODES_OF = "SELECT n.id FROM law_nodes n JOIN laws l ON l.id = n.law_id "
+            + "AND n.generation = l.active_generation WHERE n.law_id IN (%s) ORDER BY n.id";
+    private static final int MAX_LAW_ROWS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LawMetadataCache lawCache;
+    private final RelatedLawGraphService relatedGraph;
+    private final FuzzyNodeSearchService fuzzySearch;
+    private final CorpusSnapshotService snapshotService;
+    private final Environment environment;
+    private final Timer warmupTimer;
+    private final boolean enabled;
+    private final int lawCount;
+    private final int nodeCount;
+    private final int rounds;
+    private final long timeoutMillis;
+
+    public StartupWarmup(JdbcTemplate jdbcTemplate,
+                         LawMetadataCache lawCache,
+                         RelatedLawGraphService relatedGraph,
+                         FuzzyNodeSearchService fuzzySearch,
+                         CorpusSnapshotService snapshotService,
+                         Environment environment,
+                         MeterRegistry meterRegistry,
+                         @Value("${law.warmup.enabled:true}") boolean enabled,
+                         @Value("${law.warmup.laws:20}") int lawCount,
+                         @Value("${law.warmup.nodes:200}") int nodeCount,
+                         @Value("${law.warmup.rounds:5}") int rounds,
+                         @Value("${law.warmup.timeout-seconds:60}") long timeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lawCache = lawCache;
+        this.relatedGraph = relatedGraph;
+        this.fuzzySearch = fuzzySearch;
+        this.snapshotService = snapshotService;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.lawCount = Math.max(0, lawCount);
+        this.nodeCount = Math.max(0, nodeCount);
+        this.rounds = Math.max(0, rounds);
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, timeoutSeconds));
+        this.warmupTimer = Timer.builder("law.warmup")
+                .description("Startup warm-up before readiness")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            warmUp(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up stopped early: {}", e.getMessage());
+        }
+        warmupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void warmUp(long deadline) throws InterruptedException {
+        long start = System.nanoTime();
+        List<Long> allLaws = jdbcTemplate.queryForList("SELECT id FROM laws ORDER BY id LIMIT ?", Long.class, MAX_LAW_ROWS);
+        allLaws.forEach(lawCache::law);
+        relatedGraph.graph();
+        fuzzySearch.index();
+        long preload = System.nanoTime() - start;
+
+        boolean snapshot = snapshotService.awaitCurrent(remainingMillis(deadline));
+
+        List<Long> laws = new ArrayList<>();
+        Set<String> keywords = new LinkedHashSet<>();
+        jdbcTemplate.query(TOP_LAWS, rs -> {
+            laws.add(rs.getLong("id"));
+            keywords.add(prefix(rs.getString("title")));
+        }, lawCount);
+        keywords.remove("");
+        List<Long> nodes = sampleNodes(laws);
+
+        String port = environment.getProperty("local.server.port");
+        int requests = 0;
+        int failed = 0;
+        if (port != null && !laws.isEmpty()) {
+            WebClient client = WebClient.create("http://localhost:" + port);
+            List<Call> calls = new ArrayList<>();
+            for (Long id : laws) {
+                calls.add(new Call("/api/laws/{id}", id));
+                calls.add(new Call("/api/laws/{id}/toc", id));
+            }
+            for (String keyword : keywords) {
+                calls.add(new Call("/api/laws/suggest?keyword={keyword}&limit=10", keyword));
+            }
+            for (Long id : nodes) {
+                calls.add(new Call("/api/nodes/{id}", id));
+            }
+            for (int round = 0; round < rounds && System.nanoTime() < deadline; round++) {
+                // rag-service reads with CBOR, browsers with JSON: warm both converters
+                MediaType accept = round % 2 == 0 ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_CBOR;
+                for (Call call : calls) {
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                    requests++;
+                    if (!get(client, call, accept, deadline)) {
+                        failed++;
+                    }
+                }
+            }
+        }
+        log.info("Warm-up done in {} ms: {} law rows, graph and trigram index in {} ms, snapshot {}, "
+                        + "{} requests over {} laws and {} nodes ({} failed)",
+                (System.nanoTime() - start) / 1_000_000, allLaws.size(), preload / 1_000_000,
+                snapshot ? "ready" : "not used", requests, laws.size(), nodes.size(), failed);
+    }
+
+    private boolean get(WebClient client, Call call, MediaType accept, long deadline) {
+        try {
+            client.get().uri(call.template, call.arg).accept(accept).retrieve().toBodilessEntity()
+                    .block(Duration.ofMillis(Math.max(1, remainingMillis(deadline))));
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Warm-up request {} ({}) failed: {}", call.template, call.arg, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Up to {@code law.warmup.nodes} node ids spread evenly over the given laws' active nodes. */
+    private List<Long> sampleNodes(List<Long> laws) {
+        if (laws.isEmpty() || nodeCount == 0) {
+            return List.of();
+        }
+        List<Long> ids = jdbcTemplate.queryForList(String.format(NODES_OF,
+                String.join(",", Collections.nCopies(laws.size(), "?"))), Long.class, laws.toArray());
+        if (ids.size() <= nodeCount) {
+            return ids;
+        }
+        List<Long> sample = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            sample.add(ids.get((int) ((long) i * ids.size() / nodeCount)));
+        }
+        return sample;
+    }
+
+    /** First two words of a title, the kind of prefix typed into the suggestion box. */
+    private static String prefix(String title) {
+        if (title == null) {
+            return "";
+        }
+        String[] words = title.trim().split("\\s+", 3);
+        return words.length >= 2 ? words[0] + " " + words[1] : words[0];
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private record Call(String template, Object arg) {
+    }
+}
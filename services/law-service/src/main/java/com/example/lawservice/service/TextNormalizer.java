@@ -0,0 +1,54 @@
+package com.example.lawservice.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accent-insensitive text folding for Vietnamese search: lower-case, strip combining marks
+ * and map đ to d, so "Thừa kế", "thuà kế" and "thua ke" all fold to "thua ke".
+ */
+public final class TextNormalizer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String s) {
+        if (s == null || s.isEmpty()) {
+            return "";
+        }
+        String lower = s.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    /** Folded, whitespace-collapsed form of a user query (used for cache keys and matching). */
+    public static String normalizeQuery(String s) {
+        return WHITESPACE.matcher(fold(s).trim()).replaceAll(" ");
+    }
+
+    /** Split folded text into letter/digit tokens. */
+    public static List<String> tokens(String s) {
+        String folded = fold(s);
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            boolean word = Character.isLetterOrDigit(c);
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            out.add(folded.substring(start));
+        }
+        return out;
+    }
+}
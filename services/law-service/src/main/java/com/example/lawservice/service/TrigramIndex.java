@@ -0,0 +1,420 @@
+package com.example.lawservice.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory index for typo-tolerant node search.
+ *
+ * <p>The vocabulary (accent-folded tokens from node text, headings and law titles) is indexed
+ * by padded character trigrams. A query token is expanded to vocabulary terms that share enough
+ * trigrams and then verified with a bounded edit distance; the expanded terms' posting
+ * lists are OR-ed per token and AND-ed across tokens.
+ *
+ * <p>Every document also belongs to one bitset per facet value (law, document type, node level),
+ * so facet counts and facet filters are computed with bitset intersections over the match set
+ * in the same pass, instead of one GROUP BY query per facet.
+ */
+public final class TrigramIndex {
+    private static final char PAD = '$';
+    private static final int NO_DATE_START = Integer.MIN_VALUE;
+    private static final int NO_DATE_END = Integer.MAX_VALUE;
+    private static final float LAW_TITLE_WEIGHT = 0.5f;
+
+    private final String[] terms;
+    private final Map<String, int[]> gramToTerms;
+    private final int[][] termDocs;
+    private final long[][] termLaws;
+
+    private final long[] docNodeIds;
+    private final long[] docLawIds;
+    private final int[] docStart;
+    private final int[] docEnd;
+
+    private final Map<Long, BitSet> lawDocs;
+    private final Map<String, BitSet> docTypeDocs;
+    private final Map<String, BitSet> levelDocs;
+    private final Map<Long, String> lawCodes;
+
+    private TrigramIndex(String[] terms, Map<String, int[]> gramToTerms, int[][] termDocs, long[][] termLaws,
+                         long[] docNodeIds, long[] docLawIds, int[] docStart, int[] docEnd,
+                         Map<Long, BitSet> lawDocs, Map<String, BitSet> docTypeDocs, Map<String, BitSet> levelDocs,
+                         Map<Long, String> lawCodes) {
+        this.terms = terms;
+        this.gramToTerms = gramToTerms;
+        this.termDocs = termDocs;
+        this.termLaws = termLaws;
+        this.docNodeIds = docNodeIds;
+        this.docLawIds = docLawIds;
+        this.docStart = docStart;
+        this.docEnd = docEnd;
+        this.lawDocs = lawDocs;
+        this.docTypeDocs = docTypeDocs;
+        this.levelDocs = levelDocs;
+        this.lawCodes = lawCodes;
+    }
+
+    /** Facet filters; an empty set means "no filter" for that facet. Values within a facet are OR-ed. */
+    public record FacetFilter(Set<Long> lawIds, Set<String> docTypes, Set<String> levels) {
+        public static final FacetFilter NONE = new FacetFilter(Set.of(), Set.of(), Set.of());
+    }
+
+    /**
+     * Ranked matches plus facet counts. Each facet is counted with the other facets' filters applied
+     * but not its own, so clients can show alternatives within a selected facet.
+     */
+    public record Result(List<Long> ids, Map<Long, Integer> lawCounts,
+                         Map<String, Integer> docTypeCounts, Map<String, Integer> levelCounts) {
+        static final Result EMPTY = new Result(List.of(), Map.of(), Map.of(), Map.of());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int documentCount() {
+        return docNodeIds.length;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    public String lawCode(long lawId) {
+        return lawCodes.get(lawId);
+    }
+
+    /**
+     * Node ids matching every query token (within the allowed edit distance), best matches first.
+     * Ties are broken by node id so results are stable across pages.
+     */
+    public List<Long> search(String query, LocalDate effectiveAt) {
+        return search(query, effectiveAt, true, FacetFilter.NONE).ids();
+    }
+
+    /**
+     * Match, filter and facet in one pass.
+     *
+     * @param fuzzy when false, tokens must match a vocabulary term exactly (after accent folding)
+     */
+    public Result search(String query, LocalDate effectiveAt, boolean fuzzy, FacetFilter filter) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(TextNormalizer.tokens(query)));
+        if (tokens.isEmpty() || docNodeIds.length == 0) {
+            return Result.EMPTY;
+        }
+
+        float[] scores = new float[docNodeIds.length];
+        BitSet matched = null;
+        for (String token : tokens) {
+            float[] tokenBest = new float[docNodeIds.length];
+            BitSet tokenDocs = new BitSet(docNodeIds.length);
+            Map<Long, Float> lawBest = new HashMap<>();
+            int edits = fuzzy ? maxEdits(token.length()) : 0;
+            for (int[] candidate : expand(token, edits)) {
+                int termId = candidate[0];
+                float weight = 1.0f - candidate[1] / (float) (edits + 1);
+                for (int doc : termDocs[termId]) {
+                    tokenDocs.set(doc);
+                    tokenBest[doc] = Math.max(tokenBest[doc], weight);
+                }
+                for (long lawId : termLaws[termId]) {
+                    lawBest.merge(lawId, weight * LAW_TITLE_WEIGHT, Math::max);
+                }
+            }
+            for (Map.Entry<Long, Float> e : lawBest.entrySet()) {
+                BitSet docs = lawDocs.get(e.getKey());
+                if (docs == null) continue;
+                float w = e.getValue();
+                for (int doc = docs.nextSetBit(0); doc >= 0; doc = docs.nextSetBit(doc + 1)) {
+                    tokenDocs.set(doc);
+                    tokenBest[doc] = Math.max(tokenBest[doc], w);
+                }
+            }
+            if (matched == null) {
+                matched = tokenDocs;
+            } else {
+                matched.and(tokenDocs);
+            }
+            if (matched.isEmpty()) {
+                return Result.EMPTY;
+            }
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                scores[doc] += tokenBest[doc];
+            }
+        }
+
+        if (effectiveAt != null) {
+            int day = (int) effectiveAt.toEpochDay();
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                if (docStart[doc] > day || docEnd[doc] < day) {
+                    matched.clear(doc);
+                }
+            }
+        }
+
+        BitSet lawFilter = union(lawDocs, filter.lawIds());
+        BitSet docTypeFilter = union(docTypeDocs, upper(filter.docTypes()));
+        BitSet levelFilter = union(levelDocs, upper(filter.levels()));
+
+        Map<Long, Integer> lawCounts = count(lawDocs, intersect(matched, docTypeFilter, levelFilter));
+        Map<String, Integer> docTypeCounts = count(docTypeDocs, intersect(matched, lawFilter, levelFilter));
+        Map<String, Integer> levelCounts = count(levelDocs, intersect(matched, lawFilter, docTypeFilter));
+
+        BitSet hitsSet = intersect(matched, lawFilter, docTypeFilter, levelFilter);
+        List<Integer> hits = new ArrayList<>(hitsSet.cardinality());
+        for (int doc = hitsSet.nextSetBit(0); doc >= 0; doc = hitsSet.nextSetBit(doc + 1)) {
+            hits.add(doc);
+        }
+        hits.sort((a, b) -> {
+            int c = Float.compare(scores[b], scores[a]);
+            return c != 0 ? c : Long.compare(docNodeIds[a], docNodeIds[b]);
+        });
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (int doc : hits) {
+            ids.add(docNodeIds[doc]);
+        }
+        return new Result(ids, lawCounts, docTypeCounts, levelCounts);
+    }
+
+    /** OR of the bitsets for the selected facet values; {@code null} means "no filter". */
+    private static <K> BitSet union(Map<K, BitSet> facet, Set<K> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        BitSet out = new BitSet();
+        for (K value : selected) {
+            BitSet docs = facet.get(value);
+            if (docs != null) out.or(docs);
+        }
+        return out;
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... filters) {
+        BitSet out = (BitSet) base.clone();
+        for (BitSet f : filters) {
+            if (f != null) out.and(f);
+        }
+        return out;
+    }
+
+    private static <K> Map<K, Integer> count(Map<K, BitSet> facet, BitSet docs) {
+        Map<K, Integer> counts = new HashMap<>();
+        for (Map.Entry<K, BitSet> e : facet.entrySet()) {
+            BitSet tmp = (BitSet) docs.clone();
+            tmp.and(e.getValue());
+            int n = tmp.cardinality();
+            if (n > 0) counts.put(e.getKey(), n);
+        }
+        return counts;
+    }
+
+    private static Set<String> upper(Set<String> values) {
+        if (values == null || values.isEmpty()) return values;
+        Set<String> out = new HashSet<>();
+        for (String v : values) {
+            if (v != null) out.add(v.trim().toUpperCase(Locale.ROOT));
+        }
+        return out;
+    }
+
+    /** Vocabulary terms within {@code maxEdits} of {@code token}, as {termId, distance} pairs. */
+    List<int[]> expand(String token, int maxEdits) {
+        List<String> grams = trigrams(token);
+        int[] shared = new int[terms.length];
+        Set<Integer> touched = new HashSet<>();
+        for (String g : grams) {
+            int[] ids = gramToTerms.get(g);
+            if (ids == null) continue;
+            for (int id : ids) {
+                shared[id]++;
+                touched.add(id);
+            }
+        }
+        // Each edit can destroy at most three padded trigrams.
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+        List<int[]> out = new ArrayList<>();
+        for (int id : touched) {
+            String term = terms[id];
+            if (shared[id] < minShared || Math.abs(term.length() - token.length()) > maxEdits) {
+                continue;
+            }
+            int d = boundedEditDistance(token, term, maxEdits);
+            if (d <= maxEdits) {
+                out.add(new int[]{id, d});
+            }
+        }
+        return out;
+    }
+
+    /** Short syllables must match exactly (after accent folding); longer tokens tolerate 1-2 typos. */
+    static int maxEdits(int length) {
+        if (length <= 2) return 0;
+        if (length <= 5) return 1;
+        return 2;
+    }
+
+    static List<String> trigrams(String term) {
+        String padded = PAD + term + PAD;
+        List<String> grams = new ArrayList<>(Math.max(1, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Optimal-string-alignment distance (Levenshtein plus adjacent transposition, so "tihc" is one
+     * edit from "tich"), abandoning early once every cell in a row exceeds {@code max}.
+     */
+    static int boundedEditDistance(String a, String b, int max) {
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    cur[j] = Math.min(cur[j], prev2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] tmp = prev2;
+            prev2 = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[b.length()];
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final List<IntList> termDocs = new ArrayList<>();
+        private final List<Set<Long>> termLaws = new ArrayList<>();
+        private final LongList nodeIds = new LongList();
+        private final LongList lawIds = new LongList();
+        private final IntList starts = new IntList();
+        private final IntList ends = new IntList();
+        private final Map<String, BitSet> levelDocs = new HashMap<>();
+        private final Map<Long, String> lawDocTypes = new HashMap<>();
+        private final Map<Long, String> lawCodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addNode(long nodeId, Long lawId, String level, String heading, String text,
+                               LocalDate effectiveStart, LocalDate effectiveEnd) {
+            int doc = nodeIds.size();
+            nodeIds.add(nodeId);
+            if (level != null) {
+                levelDocs.computeIfAbsent(level.toUpperCase(Locale.ROOT), k -> new BitSet()).set(doc);
+            }
+            lawIds.add(lawId != null ? lawId : -1L);
+            starts.add(effectiveStart != null ? (int) effectiveStart.toEpochDay() : NO_DATE_START);
+            ends.add(effectiveEnd != null ? (int) effectiveEnd.toEpochDay() : NO_DATE_END);
+            Set<Integer> seen = new HashSet<>();
+            for (String source : new String[]{heading, text}) {
+                if (source == null) continue;
+                for (String token : TextNormalizer.tokens(source)) {
+                    int id = termId(token);
+                    if (seen.add(id)) {
+                        termDocs.get(id).add(doc);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public Builder addLaw(long lawId, String code, String title, String docType) {
+            if (code != null) lawCodes.put(lawId, code);
+            lawDocTypes.put(lawId, docType != null ? docType.toUpperCase(Locale.ROOT) : "LAW");
+            for (String token : TextNormalizer.tokens(title)) {
+                termLaws.get(termId(token)).add(lawId);
+            }
+            return this;
+        }
+
+        private int termId(String token) {
+            Integer id = termIds.get(token);
+            if (id != null) return id;
+            int next = terms.size();
+            termIds.put(token, next);
+            terms.add(token);
+            termDocs.add(new IntList());
+            termLaws.add(new HashSet<>(0));
+            return next;
+        }
+
+        public TrigramIndex build() {
+            String[] termArr = terms.toArray(new String[0]);
+            Map<String, IntList> grams = new HashMap<>();
+            for (int id = 0; id < termArr.length; id++) {
+                for (String g : new LinkedHashSet<>(trigrams(termArr[id]))) {
+                    grams.computeIfAbsent(g, k -> new IntList()).add(id);
+                }
+            }
+            Map<String, int[]> gramToTerms = new HashMap<>(grams.size() * 2);
+            grams.forEach((g, ids) -> gramToTerms.put(g, ids.toArray()));
+
+            int[][] docs = new int[termArr.length][];
+            long[][] laws = new long[termArr.length][];
+            for (int id = 0; id < termArr.length; id++) {
+                docs[id] = termDocs.get(id).toArray();
+                laws[id] = termLaws.get(id).stream().mapToLong(Long::longValue).toArray();
+            }
+            long[] docLaws = lawIds.toArray();
+            Map<Long, BitSet> lawDocs = new HashMap<>();
+            Map<String, BitSet> docTypeDocs = new HashMap<>();
+            for (int doc = 0; doc < docLaws.length; doc++) {
+                lawDocs.computeIfAbsent(docLaws[doc], k -> new BitSet()).set(doc);
+                String docType = lawDocTypes.getOrDefault(docLaws[doc], "LAW");
+                docTypeDocs.computeIfAbsent(docType, k -> new BitSet()).set(doc);
+            }
+            return new TrigramIndex(termArr, gramToTerms, docs, laws,
+                    nodeIds.toArray(), docLaws, starts.toArray(), ends.toArray(),
+                    lawDocs, docTypeDocs, new HashMap<>(levelDocs), new HashMap<>(lawCodes));
+        }
+    }
+
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int size() { return size; }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+
+    private static final class LongList {
+        private long[] data = new long[16];
+        private int size;
+
+        void add(long v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int size() { return size; }
+
+        long[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
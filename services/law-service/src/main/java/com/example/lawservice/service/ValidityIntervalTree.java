@@ -0,0 +1,138 @@
+package com.example.lawservice.service;
+
+import java.util.Arrays;
+
+/**
+ * Static centered interval tree over closed validity intervals {@code [start, end]} in epoch days,
+ * answering "which entries are valid on day d" in O(log n + k). Each tree node keeps the
+ * intervals that contain its center twice, sorted by start and by end, so a stabbing query only
+ * scans the prefix that matches and descends into one child. Entries are identified by their
+ * position in the input arrays; an open start or end is {@link Integer#MIN_VALUE} /
+ * {@link Integer#MAX_VALUE}.
+ *
+ * <p>Nodes of one law nearly always share the law's validity, so in practice the tree is a
+ * single node and a query costs one comparison per returned entry.
+ */
+final class ValidityIntervalTree {
+    private static final ValidityIntervalTree EMPTY = new ValidityIntervalTree(null, 0);
+
+    private final TreeNode root;
+    private final int size;
+
+    private ValidityIntervalTree(TreeNode root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static ValidityIntervalTree build(int[] start, int[] end) {
+        if (start.length != end.length) {
+            throw new IllegalArgumentException("start and end differ in length");
+        }
+        if (start.length == 0) {
+            return EMPTY;
+        }
+        int[] all = new int[start.length];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return new ValidityIntervalTree(node(all, all.length, start, end), start.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Positions of the entries valid on {@code day}, ascending. */
+    int[] stab(int day) {
+        int[] out = new int[size];
+        int n = 0;
+        TreeNode node = root;
+        while (node != null) {
+            if (day < node.center) {
+                for (int i = 0; i < node.byStart.length && node.starts[i] <= day; i++) {
+                    out[n++] = node.byStart[i];
+                }
+                node = node.left;
+            } else if (day > node.center) {
+                for (int i = 0; i < node.byEnd.length && node.ends[i] >= day; i++) {
+                    out[n++] = node.byEnd[i];
+                }
+                node = node.right;
+            } else {
+                System.arraycopy(node.byStart, 0, out, n, node.byStart.length);
+                n += node.byStart.length;
+                node = null;
+            }
+        }
+        int[] result = Arrays.copyOf(out, n);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static TreeNode node(int[] entries, int count, int[] start, int[] end) {
+        if (count == 0) {
+            return null;
+        }
+        // The median endpoint keeps the tree balanced, and being an endpoint it lies in at least one interval
+        long[] points = new long[count * 2];
+        for (int i = 0; i < count; i++) {
+            points[2 * i] = start[entries[i]];
+            points[2 * i + 1] = end[entries[i]];
+        }
+        Arrays.sort(points);
+        int center = (int) points[count];
+
+        int[] left = new int[count];
+        int[] right = new int[count];
+        int[] here = new int[count];
+        int nl = 0;
+        int nr = 0;
+        int nh = 0;
+        for (int i = 0; i < count; i++) {
+            int e = entries[i];
+            if (end[e] < center) {
+                left[nl++] = e;
+            } else if (start[e] > center) {
+                right[nr++] = e;
+            } else {
+                here[nh++] = e;
+            }
+        }
+        Integer[] order = new Integer[nh];
+        for (int i = 0; i < nh; i++) {
+            order[i] = here[i];
+        }
+        TreeNode node = new TreeNode(center, nh);
+        Arrays.sort(order, (a, b) -> Integer.compare(start[a], start[b]));
+        for (int i = 0; i < nh; i++) {
+            node.byStart[i] = order[i];
+            node.starts[i] = start[order[i]];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(end[b], end[a]));
+        for (int i = 0; i < nh; i++) {
+            node.byEnd[i] = order[i];
+            node.ends[i] = end[order[i]];
+        }
+        node.left = node(left, nl, start, end);
+        node.right = node(right, nr, start, end);
+        return node;
+    }
+
+    private static final class TreeNode {
+        final int center;
+        final int[] byStart;
+        final int[] starts;
+        final int[] byEnd;
+        final int[] ends;
+        TreeNode left;
+        TreeNode right;
+
+        TreeNode(int center, int count) {
+            this.center = center;
+            this.byStart = new int[count];
+            this.starts = new int[count];
+            this.byEnd = new int[count];
+            this.ends = new int[count];
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- V10: optional gzip storage for whole-document node text
+-- When law.nodes.compress-min-chars is set, DOCUMENT nodes at least that long store their text
+-- gzip-compressed here and leave content_text NULL. The bytes are a complete gzip stream, so they
+-- can be sent unchanged with Content-Encoding: gzip.
+ALTER TABLE law_nodes
+  ADD COLUMN content_text_gz LONGBLOB NULL;
@@ -0,0 +1,7 @@
+-- V11: interval index over node validity
+-- Effective-date filters test (effective_start IS NULL OR effective_start <= d) AND
+-- (effective_end IS NULL OR effective_end >= d). NULL sorts first, so the start condition is a
+-- single index range [NULL, d]; the end is then checked from the index entry without reading rows.
+ALTER TABLE law_nodes
+  ADD INDEX idx_nodes_law_validity (law_id, effective_start, effective_end),
+  ADD INDEX idx_nodes_validity (effective_start, effective_end);
@@ -0,0 +1,16 @@
+-- V12: cross-references extracted from node text at ingestion ("Điều 5", "Điều 5 Nghị định số
+-- 123/2015/NĐ-CP", "Luật số 52/2014/QH13"). target_law_code NULL means the source node's own law,
+-- article_no NULL the cited law as a whole. Targets are resolved when read, against the target
+-- law's active generation, so an edge survives re-uploads of the cited law; edges of a node go
+-- away with it.
+CREATE TABLE IF NOT EXISTS node_references (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  source_node_id BIGINT NOT NULL,
+  target_law_code VARCHAR(64) NULL,
+  article_no INT NULL,
+  INDEX idx_node_refs_source (source_node_id),
+  CONSTRAINT fk_node_refs_source FOREIGN KEY (source_node_id) REFERENCES law_nodes (id) ON DELETE CASCADE
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+-- Article lookup by label when resolving: law, DIEU, "Điều N"
+CREATE INDEX idx_nodes_law_level_label ON law_nodes (law_id, level, ordinal_label);
@@ -0,0 +1,4 @@
+-- V5: composite indexes backing keyset (seek) pagination
+-- Nodes of a law are paged by (sort_key, id); laws are paged by primary key.
+ALTER TABLE law_nodes
+  ADD INDEX idx_nodes_law_sort_id (law_id, sort_key, id);
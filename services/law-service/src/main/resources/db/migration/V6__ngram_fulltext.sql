@@ -0,0 +1,7 @@
+-- V6: ngram FULLTEXT over heading + content_text (replaces ft_content)
+-- The default parser splits on whitespace only and drops short tokens, which suits Vietnamese
+-- syllables poorly; the ngram parser (ngram_token_size, default 2) indexes character bigrams and
+-- supports BOOLEAN MODE phrases/required/excluded terms.
+ALTER TABLE law_nodes ADD FULLTEXT ft_nodes_ngram (heading, content_text) WITH PARSER ngram;
+
+ALTER TABLE law_nodes DROP INDEX ft_content;
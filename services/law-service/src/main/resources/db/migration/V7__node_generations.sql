@@ -0,0 +1,11 @@
+-- V7: node generations for atomic law replacement
+-- Readers only see nodes whose generation equals laws.active_generation. Replacing a law writes
+-- its nodes under a new generation (last_generation + 1), flips active_generation in one UPDATE
+-- and deletes the retired rows in the background.
+ALTER TABLE laws
+  ADD COLUMN active_generation INT NOT NULL DEFAULT 0,
+  ADD COLUMN last_generation INT NOT NULL DEFAULT 0;
+
+ALTER TABLE law_nodes
+  ADD COLUMN generation INT NOT NULL DEFAULT 0,
+  ADD INDEX idx_nodes_law_generation (law_id, generation);
@@ -0,0 +1,20 @@
+-- V8: node change outbox for incremental RAG reindexing
+-- Every node generation switch appends one row per retired (DELETE) and newly visible (INSERT)
+-- node. seq is assigned while holding the 'writer' cursor row lock, so rows become visible in
+-- seq order and a consumer reading "seq > N" never skips a row committed later.
+CREATE TABLE IF NOT EXISTS node_changes (
+  seq BIGINT PRIMARY KEY AUTO_INCREMENT,
+  law_id BIGINT NOT NULL,
+  node_id BIGINT NOT NULL,
+  change_type VARCHAR(10) NOT NULL,
+  changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX idx_node_changes_law (law_id, seq)
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+-- 'writer' only serializes appends; other rows are consumer positions (last seq delivered)
+CREATE TABLE IF NOT EXISTS node_change_cursors (
+  name VARCHAR(32) PRIMARY KEY,
+  seq BIGINT NOT NULL DEFAULT 0
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+INSERT INTO node_change_cursors (name, seq) VALUES ('writer', 0), ('rag', 0);
@@ -0,0 +1,3 @@
+-- V9: SHA-256 of the stored PDF, so re-uploading an identical file can skip extraction and node rewrite
+ALTER TABLE laws
+  ADD COLUMN content_sha256 VARCHAR(64) NULL;
@@ -0,0 +1,29 @@
+package com.example.lawservice.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class BenchSupport {
+    private BenchSupport() {
+    }
+
+    /** PDFs used as the benchmark corpus; override the directory with {@code -Dbench.pdf-dir=...}. */
+    static List<Path> repoPdfs() throws IOException {
+        Path dir = Paths.get(System.getProperty("bench.pdf-dir", "../..")).toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> pdfs = files
+                    .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (pdfs.isEmpty()) {
+                throw new IllegalStateException("No PDFs found in " + dir);
+            }
+            return pdfs;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.service.CorpusSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Builds a corpus snapshot from the laws already in the database and reports build time, time to
+ * map it (what a restart pays once the file exists), and latency of random node-by-id and
+ * table-of-contents reads, and of whole law versions current and as of a date (validity
+ * interval tree), against the mapping versus the equivalent MySQL queries. Read-only;
+ * load some laws first (e.g. {@code POST /api/admin/laws/import}). Needs a database:
+ * {@code mvn -Pbench test -Dbench.jdbc-url=jdbc:mysql://localhost:3307/laws -Dbench.jdbc-user=app -Dbench.jdbc-pass=app}.
+ */
+@Tag("benchmark")
+class CorpusSnapshotBenchmarkTest {
+    private static final int NODE_READS = 5_000;
+    private static final int TOC_READS = 200;
+    private static volatile long sink;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareSnapshotWithMysqlReads() throws Exception {
+        String url = System.getProperty("bench.jdbc-url");
+        assumeTrue(url != null, "set -Dbench.jdbc-url to run against MySQL");
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url,
+                System.getProperty("bench.jdbc-user", "app"), System.getProperty("bench.jdbc-pass", "app")));
+        List<Long> ids = jdbc.queryForList("SELECT n.id FROM law_nodes n JOIN laws l ON l.id = n.law_id "
+                + "AND n.generation = l.active_generation", Long.class);
+        List<Long> laws = jdbc.queryForList("SELECT id FROM laws", Long.class);
+        assumeTrue(!ids.isEmpty(), "no laws loaded");
+
+        Path file = dir.resolve("corpus.bin");
+        long start = System.nanoTime();
+        int nodes = CorpusSnapshot.write(jdbc, file);
+        long build = System.nanoTime() - start;
+        start = System.nanoTime();
+        CorpusSnapshot snapshot = CorpusSnapshot.open(file, 0);
+        long open = System.nanoTime() - start;
+        assertEquals(ids.size(), nodes);
+        System.out.printf("[bench] snapshot %d nodes, %d laws, %d KiB: build %d ms, map %.2f ms%n",
+                nodes, laws.size(), snapshot.sizeBytes() / 1024, build / 1_000_000, open / 1e6);
+
+        Random random = new Random(42);
+        long[] sample = new long[NODE_READS];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = ids.get(random.nextInt(ids.size()));
+        }
+        // One untimed pass each so page cache, JIT and the connection are warm
+        readNodes(snapshot, sample);
+        readNodes(jdbc, sample);
+        long mapped = readNodes(snapshot, sample);
+        long mysql = readNodes(jdbc, sample);
+        System.out.printf("[bench] node by id x%d: snapshot %.1f us/read, mysql %.1f us/read%n",
+                NODE_READS, mapped / 1e3 / NODE_READS, mysql / 1e3 / NODE_READS);
+
+        long tocMapped = Long.MAX_VALUE;
+        long tocMysql = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < TOC_READS; i++) {
+                snapshot.toc(laws.get(i % laws.size())).orElseThrow();
+            }
+            tocMapped = Math.min(tocMapped, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int i = 0; i < TOC_READS; i++) {
+                jdbc.queryForList("SELECT n.id, n.parent_id, n.level, n.ordinal_label, n.heading, n.title, n.sort_key "
+                        + "FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation "
+                        + "WHERE n.law_id = ? ORDER BY n.sort_key", laws.get(i % laws.size()));
+            }
+            tocMysql = Math.min(tocMysql, System.nanoTime() - start);
+        }
+        System.out.printf("[bench] toc x%d (%d laws): snapshot %.2f ms/law, mysql rows only %.2f ms/law%n",
+                TOC_READS, laws.size(), tocMapped / 1e6 / TOC_READS, tocMysql / 1e6 / TOC_READS);
+
+        // As-of reads: the first one per law builds its validity interval tree
+        LocalDate asOf = LocalDate.of(2020, 1, 1);
+        start = System.nanoTime();
+        for (Long law : laws) {
+            snapshot.nodes(law, asOf).orElseThrow();
+        }
+        long treeBuild = System.nanoTime() - start;
+        long current = Long.MAX_VALUE;
+        long asOfMapped = Long.MAX_VALUE;
+        long asOfMysql = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < TOC_READS; i++) {
+                snapshot.nodes(laws.get(i % laws.size()), null).orElseThrow();
+            }
+            current = Math.min(current, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int i = 0; i < TOC_READS; i++) {
+                snapshot.nodes(laws.get(i % laws.size()), asOf).orElseThrow();
+            }
+            asOfMapped = Math.min(asOfMapped, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int i = 0; i < TOC_READS; i++) {
+                jdbc.queryForList("SELECT n.* FROM law_nodes n JOIN laws l ON l.id = n.law_id AND n.generation = l.active_generation "
+                        + "WHERE n.law_id = ? AND (n.effective_start IS NULL OR n.effective_start <= ?) "
+                        + "AND (n.effective_end IS NULL OR n.effective_end >= ?) ORDER BY n.sort_key",
+                        laws.get(i % laws.size()), asOf, asOf);
+            }
+            asOfMysql = Math.min(asOfMysql, System.nanoTime() - start);
+        }
+        System.out.printf("[bench] law version x%d: snapshot current %.2f ms/law, as-of %s %.2f ms/law "
+                        + "(trees built in %.2f ms), mysql as-of %.2f ms/law%n",
+                TOC_READS, current / 1e6 / TOC_READS, asOf, asOfMapped / 1e6 / TOC_READS, treeBuild / 1e6,
+                asOfMysql / 1e6 / TOC_READS);
+    }
+
+    private static long readNodes(CorpusSnapshot snapshot, long[] sample) {
+        long start = System.nanoTime();
+        long chars = 0;
+        for (long id : sample) {
+            NodeDTO node = snapshot.node(id).orElseThrow();
+            chars += node.getContentText() != null ? node.getContentText().length() : 0;
+        }
+        sink = chars;
+        return System.nanoTime() - start;
+    }
+
+    private static long readNodes(JdbcTemplate jdbc, long[] sample) {
+        long start = System.nanoTime();
+        for (long id : sample) {
+            jdbc.queryForMap("SELECT id, law_id, parent_id, level, ordinal_label, heading, content_text, content_text_gz, "
+                    + "content_html, sort_key, path, title, effective_start, effective_end FROM law_nodes WHERE id = ?", id);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.service.PdfTextExtractor;
+import com.example.lawservice.service.TrigramIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Builds the trigram index over the PDFs in the repository root (split at "Điều" headings)
+ * and reports build time and per-query latency. Run with {@code mvn -Pbench test}.
+ */
+@Tag("benchmark")
+class FuzzySearchBenchmarkTest {
+    private static final Pattern ARTICLE = Pattern.compile("(?m)^(?=Điều\\s+\\d+)");
+    private static final String[] QUERIES = {"thừa kế", "thuà kế", "thua ke", "ket hon", "ly hôn", "phạt vi phạm", "hộ tịhc"};
+    private static final int ROUNDS = 200;
+
+    @Test
+    void fuzzySearchOverRepoPdfs() throws IOException {
+        PdfTextExtractor extractor = new PdfTextExtractor();
+        TrigramIndex.Builder builder = TrigramIndex.builder();
+        long nodeId = 0;
+        long lawId = 0;
+        for (Path pdf : BenchSupport.repoPdfs()) {
+            lawId++;
+            builder.addLaw(lawId, null, pdf.getFileName().toString(), null);
+            for (String chunk : ARTICLE.split(extractor.extract(pdf))) {
+                builder.addNode(++nodeId, lawId, "DIEU", null, chunk, null, null);
+            }
+        }
+
+        long t0 = System.nanoTime();
+        TrigramIndex index = builder.build();
+        long buildMs = (System.nanoTime() - t0) / 1_000_000;
+        System.out.printf("[bench] trigram index: %d nodes, %d terms, build %d ms%n",
+                index.documentCount(), index.termCount(), buildMs);
+
+        for (String q : QUERIES) {
+            index.search(q, null); // warm-up
+            long start = System.nanoTime();
+            int hits = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                hits = index.search(q, null).size();
+            }
+            double avgMicros = (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+            System.out.printf("[bench] %-14s hits=%5d avg=%8.1f us%n", q, hits, avgMicros);
+        }
+        assertFalse(index.search("thua ke", null).isEmpty());
+    }
+}
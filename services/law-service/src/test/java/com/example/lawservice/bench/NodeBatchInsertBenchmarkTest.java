@@ -0,0 +1,91 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.service.LawNodeBatchWriter;
+import com.example.lawservice.service.LawStructureParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Writes a synthetic law of ~5,000 nodes through {@link LawNodeBatchWriter} against a real MySQL
+ * and reports the time per mode; every run is rolled back. Needs a database:
+ * {@code mvn -Pbench test -Dbench.jdbc-url=jdbc:mysql://localhost:3307/laws -Dbench.jdbc-user=app -Dbench.jdbc-pass=app}.
+ */
+@Tag("benchmark")
+class NodeBatchInsertBenchmarkTest {
+    private static final int CHAPTERS = 20;
+    private static final int ARTICLES_PER_CHAPTER = 25;
+    private static final int CLAUSES_PER_ARTICLE = 3;
+    private static final int POINTS_PER_CLAUSE = 2;
+
+    @Test
+    void insertFiveThousandNodes() {
+        String url = System.getProperty("bench.jdbc-url");
+        assumeTrue(url != null, "set -Dbench.jdbc-url to run against MySQL");
+        List<LawStructureParser.ParsedNode> nodes = new ArrayList<>();
+        LawStructureParser.parse(new StringReader(syntheticLaw()), "BENCH/5000", nodes::add);
+
+        run("row by row      ", url, false, 1, nodes);
+        run("batched         ", url, false, 200, nodes);
+        run("batched+rewrite ", url, true, 200, nodes);
+    }
+
+    private static void run(String label, String url, boolean rewrite, int batchSize, List<LawStructureParser.ParsedNode> nodes) {
+        String jdbcUrl = url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=" + rewrite;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl,
+                System.getProperty("bench.jdbc-user", "app"), System.getProperty("bench.jdbc-pass", "app"));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.executeWithoutResult(status -> {
+            GeneratedKeyHolder key = new GeneratedKeyHolder();
+            jdbc.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "INSERT INTO laws (code, title, doc_type) VALUES (?, ?, 'LAW')", Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, "BENCH/5000/" + System.nanoTime());
+                ps.setString(2, "Bench law");
+                return ps;
+            }, key);
+            long start = System.nanoTime();
+            LawNodeBatchWriter.Batch batch = new LawNodeBatchWriter(jdbc, batchSize, 0)
+                    .begin(key.getKey().longValue(), 1, LocalDate.of(2015, 1, 1), LocalDate.of(9999, 12, 31));
+            nodes.forEach(batch);
+            int written = batch.finish();
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(nodes.size(), written);
+            System.out.printf("[bench] %s %5d nodes in %6d ms (%.0f nodes/s)%n", label, written, ms, written * 1000.0 / Math.max(ms, 1));
+            status.setRollbackOnly();
+        });
+    }
+
+    private static String syntheticLaw() {
+        StringBuilder text = new StringBuilder("LUẬT THỬ NGHIỆM\n");
+        int article = 0;
+        for (int c = 1; c <= CHAPTERS; c++) {
+            text.append("Chương ").append(c).append("\nNỘI DUNG CHƯƠNG ").append(c).append('\n');
+            for (int a = 0; a < ARTICLES_PER_CHAPTER; a++) {
+                text.append("Điều ").append(++article).append(". Tiêu đề điều ").append(article).append('\n');
+                for (int k = 1; k <= CLAUSES_PER_ARTICLE; k++) {
+                    text.append(k).append(". Nội dung khoản ").append(k).append(" của điều ").append(article).append(":\n");
+                    for (int p = 0; p < POINTS_PER_CLAUSE; p++) {
+                        text.append((char) ('a' + p)).append(") Nội dung điểm của khoản ").append(k).append(";\n");
+                    }
+                }
+            }
+        }
+        return text.toString();
+    }
+}
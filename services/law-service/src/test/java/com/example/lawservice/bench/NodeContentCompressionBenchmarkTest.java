@@ -0,0 +1,104 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.model.CompressedText;
+import com.example.lawservice.service.LawNodeBatchWriter;
+import com.example.lawservice.service.LawStructureParser;
+import com.example.lawservice.service.PdfTextExtractor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Stores the text of every repo PDF as a whole-document node, plain and gzip-compressed
+ * ({@code law.nodes.compress-min-chars}), and reports bytes stored and the time to read all rows
+ * back: decoded to text, and as raw gzip bytes the way {@code GET /api/nodes/{id}/content} serves
+ * them to gzip clients. Every run is rolled back. Needs a database:
+ * {@code mvn -Pbench test -Dbench.jdbc-url=jdbc:mysql://localhost:3307/laws -Dbench.jdbc-user=app -Dbench.jdbc-pass=app}.
+ */
+@Tag("benchmark")
+class NodeContentCompressionBenchmarkTest {
+    private static final int COPIES = 20;
+    private static final int READS = 5;
+
+    @Test
+    void compareStoredSizeAndReadLatency() throws Exception {
+        String url = System.getProperty("bench.jdbc-url");
+        assumeTrue(url != null, "set -Dbench.jdbc-url to run against MySQL");
+        PdfTextExtractor extractor = new PdfTextExtractor();
+        List<String> texts = new ArrayList<>();
+        for (Path pdf : BenchSupport.repoPdfs()) {
+            texts.add(extractor.extract(pdf));
+        }
+        extractor.destroy();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url + (url.contains("?") ? "&" : "?")
+                + "rewriteBatchedStatements=true",
+                System.getProperty("bench.jdbc-user", "app"), System.getProperty("bench.jdbc-pass", "app"));
+        run("plain   ", dataSource, 0, texts);
+        run("gzip    ", dataSource, 1, texts);
+    }
+
+    private static void run(String label, DriverManagerDataSource dataSource, int compressMinChars, List<String> texts) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.executeWithoutResult(status -> {
+            GeneratedKeyHolder key = new GeneratedKeyHolder();
+            jdbc.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "INSERT INTO laws (code, title, doc_type) VALUES (?, ?, 'LAW')", Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, "BENCH/GZ/" + System.nanoTime());
+                ps.setString(2, "Bench law");
+                return ps;
+            }, key);
+            long lawId = key.getKey().longValue();
+            LawNodeBatchWriter.Batch batch = new LawNodeBatchWriter(jdbc, 50, compressMinChars)
+                    .begin(lawId, 0, LocalDate.of(2015, 1, 1), LocalDate.of(9999, 12, 31));
+            int index = 0;
+            for (int copy = 0; copy < COPIES; copy++) {
+                for (String text : texts) {
+                    batch.accept(new LawStructureParser.ParsedNode(index++, -1, "DOCUMENT", "PDF", null, text, "000",
+                            "/BENCH/" + index, "Toan van PDF"));
+                }
+            }
+            batch.finish();
+
+            Long stored = jdbc.queryForObject("SELECT SUM(COALESCE(LENGTH(content_text), 0) + COALESCE(LENGTH(content_text_gz), 0)) "
+                    + "FROM law_nodes WHERE law_id = ?", Long.class, lawId);
+            long chars = 0;
+            long decoded = Long.MAX_VALUE;
+            long raw = Long.MAX_VALUE;
+            for (int r = 0; r < READS; r++) {
+                long start = System.nanoTime();
+                List<String> read = jdbc.query("SELECT content_text, content_text_gz FROM law_nodes WHERE law_id = ?", (rs, i) -> {
+                    String text = rs.getString(1);
+                    return text != null ? text : CompressedText.decompress(rs.getBytes(2));
+                }, lawId);
+                decoded = Math.min(decoded, System.nanoTime() - start);
+                chars = read.stream().mapToLong(String::length).sum();
+
+                start = System.nanoTime();
+                jdbc.query("SELECT COALESCE(content_text_gz, content_text) FROM law_nodes WHERE law_id = ?",
+                        (rs, i) -> rs.getBytes(1), lawId);
+                raw = Math.min(raw, System.nanoTime() - start);
+            }
+            assertEquals(texts.stream().mapToLong(String::length).sum() * COPIES, chars);
+            System.out.printf("[bench] %s %4d nodes, %6d KiB stored, read as text %5d ms, read as stored bytes %5d ms%n",
+                    label, index, stored / 1024, decoded / 1_000_000, raw / 1_000_000);
+            status.setRollbackOnly();
+        });
+    }
+}
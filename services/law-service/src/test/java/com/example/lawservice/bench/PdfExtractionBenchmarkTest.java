@@ -0,0 +1,83 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.service.PdfTextExtractor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Extracts every PDF in the repository root sequentially and page-parallel, reporting wall time
+ * and peak heap of each mode and checking both produce the same text. Run with
+ * {@code mvn -Pbench test}.
+ */
+@Tag("benchmark")
+class PdfExtractionBenchmarkTest {
+    private static final int ROUNDS = 3;
+
+    @Test
+    void parallelExtractionMatchesSequential() throws IOException {
+        List<Path> pdfs = BenchSupport.repoPdfs();
+        // At least two workers so the range split and reassembly are exercised even on one CPU
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        PdfTextExtractor sequential = new PdfTextExtractor();
+        PdfTextExtractor parallel = new PdfTextExtractor(64, 1, threads);
+        try {
+            for (Path pdf : pdfs) {
+                sequential.extract(pdf); // warm-up
+                parallel.extract(pdf);
+            }
+            long seqNanos = 0;
+            long parNanos = 0;
+            long seqPeak = 0;
+            long parPeak = 0;
+            for (Path pdf : pdfs) {
+                String expected = null;
+                String actual = null;
+                for (int i = 0; i < ROUNDS; i++) {
+                    System.gc();
+                    resetPeaks();
+                    long t0 = System.nanoTime();
+                    expected = sequential.extract(pdf);
+                    seqNanos += System.nanoTime() - t0;
+                    seqPeak = Math.max(seqPeak, heapPeak());
+
+                    System.gc();
+                    resetPeaks();
+                    t0 = System.nanoTime();
+                    actual = parallel.extract(pdf);
+                    parNanos += System.nanoTime() - t0;
+                    parPeak = Math.max(parPeak, heapPeak());
+                }
+                assertEquals(expected, actual, "text differs for " + pdf.getFileName());
+            }
+            System.out.printf("[bench] pdf extraction: %d files x %d rounds, %d threads%n", pdfs.size(), ROUNDS, threads);
+            System.out.printf("[bench] sequential %6d ms  peak heap %5d MB%n", seqNanos / 1_000_000, seqPeak >> 20);
+            System.out.printf("[bench] parallel   %6d ms  peak heap %5d MB  speedup %.2fx%n",
+                    parNanos / 1_000_000, parPeak >> 20, seqNanos / (double) parNanos);
+        } finally {
+            parallel.destroy();
+        }
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
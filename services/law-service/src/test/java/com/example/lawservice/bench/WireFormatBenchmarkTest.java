@@ -0,0 +1,126 @@
+package com.example.lawservice.bench;
+
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.TocDTO;
+import com.example.lawservice.service.CorpusSnapshot;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Encodes typical law-service responses as JSON, Smile and CBOR with the same Jackson settings
+ * the app uses, and reports body size (plain and gzip, as with HTTP compression) and the time to
+ * serialize and to parse back into maps and lists, as rag-service consumes them. Payloads come from the laws already in the
+ * database: a median-length clause ({@code GET /api/nodes/{id}}), a page of 20 clauses and points
+ * ({@code /api/nodes/search}) and the largest law's table of contents ({@code /api/laws/{id}/toc}).
+ * Read-only. Needs a database:
+ * {@code mvn -Pbench test -Dbench.jdbc-url=jdbc:mysql://localhost:3307/laws -Dbench.jdbc-user=app -Dbench.jdbc-pass=app}.
+ */
+@Tag("benchmark")
+class WireFormatBenchmarkTest {
+    private static final int ROUNDS = 5;
+    private static final int MIN_LOOP_NANOS = 200_000_000;
+    private static volatile int sink;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareJsonSmileAndCbor() throws Exception {
+        String url = System.getProperty("bench.jdbc-url");
+        assumeTrue(url != null, "set -Dbench.jdbc-url to run against MySQL");
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url,
+                System.getProperty("bench.jdbc-user", "app"), System.getProperty("bench.jdbc-pass", "app")));
+        // Text sits in clauses and points; articles carry the heading only
+        List<Long> clauses = jdbc.queryForList("SELECT n.id FROM law_nodes n JOIN laws l ON l.id = n.law_id "
+                + "AND n.generation = l.active_generation WHERE n.level IN ('KHOAN', 'DIEM') "
+                + "AND (n.content_text IS NOT NULL OR n.content_text_gz IS NOT NULL) "
+                + "ORDER BY COALESCE(LENGTH(n.content_text_gz), LENGTH(n.content_text)), n.id", Long.class);
+        assumeTrue(!clauses.isEmpty(), "no laws loaded");
+        Long largestLaw = jdbc.queryForObject("SELECT law_id FROM law_nodes GROUP BY law_id ORDER BY COUNT(*) DESC LIMIT 1",
+                Long.class);
+
+        Path file = dir.resolve("corpus.bin");
+        CorpusSnapshot.write(jdbc, file);
+        CorpusSnapshot snapshot = CorpusSnapshot.open(file, 0);
+        NodeDTO node = snapshot.node(clauses.get(clauses.size() / 2)).orElseThrow();
+        List<NodeDTO> page = new ArrayList<>();
+        for (int i = 0; i < 20 && i < clauses.size(); i++) {
+            page.add(snapshot.node(clauses.get(i * clauses.size() / 20)).orElseThrow());
+        }
+        List<TocDTO> toc = snapshot.toc(largestLaw).orElseThrow();
+
+        // Spring Boot's settings: ISO dates rather than [y, m, d]
+        ObjectMapper json = mapper(null);
+        Map<String, ObjectMapper> mappers = Map.of(
+                "json ", json,
+                "smile", mapper(new SmileFactory()),
+                "cbor ", mapper(new CBORFactory()));
+        for (String format : List.of("json ", "smile", "cbor ")) {
+            ObjectMapper mapper = mappers.get(format);
+            run("node      ", format, mapper, json, node);
+            run("page x" + page.size() + "  ", format, mapper, json, page);
+            run("toc       ", format, mapper, json, toc);
+        }
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static void run(String payload, String format, ObjectMapper mapper, ObjectMapper json, Object value) throws Exception {
+        byte[] body = mapper.writeValueAsBytes(value);
+        assertEquals(json.writeValueAsString(value), json.writeValueAsString(mapper.readValue(body, Object.class)));
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body);
+        }
+        long write = Long.MAX_VALUE;
+        long read = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            write = Math.min(write, perOp(() -> sink += mapper.writeValueAsBytes(value).length));
+            read = Math.min(read, perOp(() -> sink += mapper.readValue(body, Object.class).hashCode()));
+        }
+        System.out.printf("[bench] %s %s %8d B, gzip %7d B, serialize %8.1f us, deserialize %8.1f us%n",
+                payload, format, body.length, gzipped.size(), write / 1e3, read / 1e3);
+    }
+
+    /** Nanoseconds per call, looping for at least {@link #MIN_LOOP_NANOS}. */
+    private static long perOp(Op op) throws Exception {
+        long calls = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            op.run();
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MIN_LOOP_NANOS);
+        return elapsed / calls;
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.lawservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastStartConfigTest {
+
+    private static DefaultListableBeanFactory beanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("springDocConfiguration",
+                new RootBeanDefinition("org.springdoc.core.configuration.SpringDocConfiguration"));
+        GenericBeanDefinition openApiResource = new GenericBeanDefinition();
+        openApiResource.setFactoryBeanName("springDocConfiguration");
+        openApiResource.setFactoryMethodName("openApiResource");
+        beanFactory.registerBeanDefinition("openApiResource", openApiResource);
+        beanFactory.registerBeanDefinition("webConfig", new RootBeanDefinition(WebConfig.class));
+        return beanFactory;
+    }
+
+    @Test
+    void lazyPackages_ShouldMarkBeansOfListedPackagesAndTheirFactoryMethodsLazy() {
+        DefaultListableBeanFactory beanFactory = beanFactory();
+
+        FastStartConfig.lazyPackagesPostProcessor(new MockEnvironment().withProperty("law.startup.lazy-packages", "org.springdoc"))
+                .postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("springDocConfiguration").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("webConfig").isLazyInit());
+    }
+
+    @Test
+    void lazyPackages_ByDefault_ShouldLeaveEverythingEager() {
+        DefaultListableBeanFactory beanFactory = beanFactory();
+
+        FastStartConfig.lazyPackagesPostProcessor(new MockEnvironment()).postProcessBeanFactory(beanFactory);
+
+        assertFalse(beanFactory.getBeanDefinition("springDocConfiguration").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.lawservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final ReadWriteRoutingDataSource routing =
+            new ReadWriteRoutingDataSource(primary, replica, monitor, 3000, meterRegistry, now::get);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(monitor.state()).thenReturn(ReplicaLagMonitor.State.UP);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    private static void begin(boolean readOnly) {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.get("law.db.route").tag("route", route).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void getConnection_ShouldSendReadOnlyTransactionsToTheReplicaAndTheRestToThePrimary() throws SQLException {
+        begin(true);
+        assertSame(replicaConnection, routing.getConnection());
+        begin(false);
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertSame(primaryConnection, routing.getConnection());
+
+        assertEquals(1, routed("replica", "read"));
+        assertEquals(1, routed("primary", "write"));
+        assertEquals(1, routed("primary", "no_transaction"));
+    }
+
+    @Test
+    void getConnection_AfterACommittedWrite_ShouldReadFromThePrimaryForTheStickWindow() throws SQLException {
+        begin(false);
+        routing.getConnection();
+        commit();
+
+        begin(true);
+        now.addAndGet(2999);
+        assertSame(primaryConnection, routing.getConnection());
+        now.addAndGet(1);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1, routed("primary", "recent_write"));
+    }
+
+    @Test
+    void getConnection_WhenTheReplicaIsOutOfRotation_ShouldReadFromThePrimary() throws SQLException {
+        begin(true);
+        when(monitor.state()).thenReturn(ReplicaLagMonitor.State.LAGGING);
+        assertSame(primaryConnection, routing.getConnection());
+        when(monitor.state()).thenReturn(ReplicaLagMonitor.State.DOWN);
+        assertSame(primaryConnection, routing.getConnection());
+
+        assertEquals(1, routed("primary", "replica_lagging"));
+        assertEquals(1, routed("primary", "replica_down"));
+    }
+
+    @Test
+    void getConnection_WhenTheReplicaRefusesTheConnection_ShouldMarkItDownAndUseThePrimary() throws SQLException {
+        SQLException refused = new SQLException("Connection refused");
+        when(replica.getConnection()).thenThrow(refused);
+        begin(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        verify(monitor).markDown(refused);
+        assertEquals(0, routed("replica", "read"));
+        assertEquals(1, routed("primary", "replica_down"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.lawservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private final DataSource replica = mock(DataSource.class);
+    private final Statement statement = mock(Statement.class);
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, 2);
+
+    private void connect() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    /** A status row with the given lag, or no row at all when {@code rows} is false. */
+    private static ResultSet status(String column, boolean rows, Long lag) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(rs.next()).thenReturn(rows);
+        when(rs.getMetaData()).thenReturn(meta);
+        when(meta.getColumnCount()).thenReturn(2);
+        when(meta.getColumnLabel(1)).thenReturn("Replica_IO_Running");
+        when(meta.getColumnLabel(2)).thenReturn(column);
+        when(rs.getLong(2)).thenReturn(lag == null ? 0 : lag);
+        when(rs.wasNull()).thenReturn(lag == null);
+        return rs;
+    }
+
+    @Test
+    void check_ShouldKeepTheReplicaInRotationOnlyWithinTheLagLimit() throws SQLException {
+        connect();
+        ResultSet inSync = status("Seconds_Behind_Source", true, 1L);
+        ResultSet behind = status("Seconds_Behind_Source", true, 5L);
+        ResultSet stopped = status("Seconds_Behind_Source", true, null);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(inSync, behind, stopped);
+
+        assertEquals(ReplicaLagMonitor.State.DOWN, monitor.state());
+        monitor.check();
+        assertEquals(ReplicaLagMonitor.State.UP, monitor.state());
+        assertEquals(1, monitor.lagSeconds());
+        monitor.check();
+        assertEquals(ReplicaLagMonitor.State.LAGGING, monitor.state());
+        assertEquals(5, monitor.lagSeconds());
+        monitor.check();
+        assertEquals(ReplicaLagMonitor.State.LAGGING, monitor.state());
+        assertEquals(-1, monitor.lagSeconds());
+    }
+
+    @Test
+    void check_OnOlderServers_ShouldFallBackToShowSlaveStatus() throws SQLException {
+        connect();
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenThrow(new SQLSyntaxErrorException("syntax", "42000", 1064));
+        ResultSet rs = status("Seconds_Behind_Master", true, 0L);
+        when(statement.executeQuery("SHOW SLAVE STATUS")).thenReturn(rs);
+
+        monitor.check();
+
+        assertEquals(ReplicaLagMonitor.State.UP, monitor.state());
+        assertEquals(0, monitor.lagSeconds());
+    }
+
+    @Test
+    void check_WhenTheDatabaseIsNotReplicating_ShouldTreatItAsInSync() throws SQLException {
+        connect();
+        ResultSet rs = status("Seconds_Behind_Source", false, null);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+
+        monitor.check();
+
+        assertEquals(ReplicaLagMonitor.State.UP, monitor.state());
+        assertEquals(-1, monitor.lagSeconds());
+    }
+
+    @Test
+    void check_WithoutReplicationClientPrivilege_ShouldTreatItAsInSync() throws SQLException {
+        connect();
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenThrow(new SQLException("denied", "42000", 1227));
+
+        monitor.check();
+
+        assertEquals(ReplicaLagMonitor.State.UP, monitor.state());
+    }
+
+    @Test
+    void check_WhenTheReplicaIsUnreachable_ShouldMarkItDown() throws SQLException {
+        connect();
+        ResultSet rs = status("Seconds_Behind_Source", true, 0L);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        monitor.check();
+
+        assertEquals(ReplicaLagMonitor.State.DOWN, monitor.state());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.lawservice.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTripSortKeyAndId() {
+        PageCursor cursor = new PageCursor("002.008:001", 1234L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals("002.008:001", decoded.getSortKey());
+        assertEquals(1234L, decoded.getId());
+    }
+
+    @Test
+    void decode_BlankToken_ShouldStartFromBeginning() {
+        PageCursor decoded = PageCursor.decode(" ");
+
+        assertEquals("", decoded.getSortKey());
+        assertEquals(0L, decoded.getId());
+    }
+
+    @Test
+    void decode_GarbageToken_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not-a-cursor"));
+    }
+}
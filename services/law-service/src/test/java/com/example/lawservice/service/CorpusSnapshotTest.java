@@ -0,0 +1,125 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.NodeDTO;
+import com.example.lawservice.dto.TocDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorpusSnapshotTest {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+
+    @TempDir
+    Path dir;
+
+    private static CorpusSnapshot.Row row(long id, long lawId, Long parentId, String level, String ordinal, String sortKey, String text) {
+        return new CorpusSnapshot.Row(id, lawId, parentId, level, ordinal, null, text, null, sortKey,
+                "/L" + lawId + "/" + id, "Luật " + lawId, START, null);
+    }
+
+    private CorpusSnapshot write(List<CorpusSnapshot.Row> rows, List<Long> laws) throws Exception {
+        Path file = dir.resolve("corpus.bin");
+        CorpusSnapshot.Writer writer = new CorpusSnapshot.Writer(file);
+        rows.forEach(writer::add);
+        writer.laws(laws);
+        assertEquals(rows.size(), writer.finish());
+        return CorpusSnapshot.open(file, 7);
+    }
+
+    @Test
+    void node_ShouldRoundTripAllColumns() throws Exception {
+        CorpusSnapshot snapshot = write(List.of(
+                row(10, 1, null, "DIEU", "Điều 1", "001", "Phạm vi điều chỉnh"),
+                row(12, 1, 10L, "KHOAN", "1.", "001.001", null),
+                row(30, 2, null, "DOCUMENT", null, "000", "x".repeat(100_000))), List.of(1L, 2L, 3L));
+
+        assertEquals(7, snapshot.generation());
+        assertEquals(3, snapshot.nodeCount());
+        assertEquals(3, snapshot.lawCount());
+
+        NodeDTO dieu = snapshot.node(10).orElseThrow();
+        assertEquals(1L, dieu.getLawId());
+        assertNull(dieu.getParentId());
+        assertEquals("Điều 1", dieu.getOrdinalLabel());
+        assertEquals("Phạm vi điều chỉnh", dieu.getContentText());
+        assertNull(dieu.getHeading());
+        assertEquals("/L1/10", dieu.getPath());
+        assertEquals(START, dieu.getEffectiveStart());
+        assertNull(dieu.getEffectiveEnd());
+
+        NodeDTO khoan = snapshot.node(12).orElseThrow();
+        assertEquals(10L, khoan.getParentId());
+        assertNull(khoan.getContentText());
+        assertEquals(100_000, snapshot.node(30).orElseThrow().getContentText().length());
+
+        assertTrue(snapshot.node(11).isEmpty());
+        assertTrue(snapshot.node(31).isEmpty());
+    }
+
+    @Test
+    void toc_ShouldNestChildrenInSortKeyOrder() throws Exception {
+        // ids deliberately out of sort-key order; "b" and "B" compare equal, so id breaks the tie
+        CorpusSnapshot snapshot = write(List.of(
+                row(1, 5, null, "CHUONG", "Chương II", "002", null),
+                row(2, 5, null, "CHUONG", "Chương I", "001", null),
+                row(3, 5, 2L, "DIEU", "Điều 2", "001.b", null),
+                row(4, 5, 2L, "DIEU", "Điều 1", "001.a", null),
+                row(5, 5, 2L, "DIEU", "Điều 3", "001.B", null),
+                row(6, 6, null, "DIEU", "  ", null, null)), List.of(5L, 6L, 7L));
+
+        List<TocDTO> toc = snapshot.toc(5).orElseThrow();
+        assertEquals(List.of("Chương I", "Chương II"), toc.stream().map(TocDTO::getLabel).toList());
+        assertEquals(List.of("Điều 1", "Điều 2", "Điều 3"), toc.get(0).getChildren().stream().map(TocDTO::getLabel).toList());
+        assertTrue(toc.get(1).getChildren().isEmpty());
+
+        // blank ordinal label falls back to heading, then title
+        assertEquals("Luật 6", snapshot.toc(6).orElseThrow().get(0).getLabel());
+        // a law without nodes exists with an empty TOC, an unknown law does not
+        assertEquals(List.of(), snapshot.toc(7).orElseThrow());
+        assertTrue(snapshot.toc(8).isEmpty());
+    }
+
+    @Test
+    void asOf_ShouldReturnTheVersionValidThatDay() throws Exception {
+        LocalDate amended = LocalDate.of(2020, 7, 1);
+        CorpusSnapshot snapshot = write(List.of(
+                row(1, 5, null, "DIEU", "Điều 1", "001", null),
+                new CorpusSnapshot.Row(2, 5, 1L, "KHOAN", "1.", null, "bản gốc", null, "001.001", "/L5/2", "Luật 5",
+                        START, amended.minusDays(1)),
+                new CorpusSnapshot.Row(3, 5, 1L, "KHOAN", "1.", null, "bản sửa đổi", null, "001.001", "/L5/3", "Luật 5",
+                        amended, null),
+                new CorpusSnapshot.Row(4, 5, null, "DIEU", "Điều 2", null, null, null, "002", "/L5/4", "Luật 5",
+                        amended, null),
+                new CorpusSnapshot.Row(5, 5, 4L, "KHOAN", "1.", null, null, null, "002.001", "/L5/5", "Luật 5",
+                        START, null)), List.of(5L));
+
+        assertEquals(List.of(1L, 2L, 5L), snapshot.nodes(5, LocalDate.of(2019, 1, 1)).orElseThrow().stream().map(NodeDTO::getId).toList());
+        assertEquals(List.of(1L, 3L, 4L, 5L), snapshot.nodes(5, amended).orElseThrow().stream().map(NodeDTO::getId).toList());
+        assertEquals(List.of(), snapshot.nodes(5, START.minusDays(1)).orElseThrow());
+        assertEquals(5, snapshot.nodes(5, null).orElseThrow().size());
+
+        // Khoản 1 of Điều 2 is valid in 2019 but its parent is not, so it is not in that TOC
+        List<TocDTO> before = snapshot.toc(5, LocalDate.of(2019, 1, 1)).orElseThrow();
+        assertEquals(1, before.size());
+        assertEquals(2L, before.get(0).getChildren().get(0).getId());
+        assertEquals(List.of(3L), snapshot.toc(5, amended).orElseThrow().get(0).getChildren().stream().map(TocDTO::getId).toList());
+        assertTrue(snapshot.nodes(6, amended).isEmpty());
+    }
+
+    @Test
+    void writer_ShouldRejectRowsOutOfIdOrder() throws Exception {
+        CorpusSnapshot.Writer writer = new CorpusSnapshot.Writer(dir.resolve("corpus.bin"));
+        writer.add(row(2, 1, null, "DIEU", null, "001", null));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(row(1, 1, null, "DIEU", null, "002", null)));
+        writer.abort();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FulltextQueryTest {
+
+    @Test
+    void parse_ShouldKeepPhrasesRequiredAndExcludedTerms() {
+        FulltextQuery q = FulltextQuery.parse("+\"thừa kế\" di chúc -\"hết hiệu lực\"");
+        assertEquals("+\"thừa kế\" di chúc -\"hết hiệu lực\"", q.expression());
+        assertEquals(List.of("thừa kế", "di", "chúc"), q.highlightTerms());
+    }
+
+    @Test
+    void parse_ShouldNeutralizeStrayOperators() {
+        FulltextQuery q = FulltextQuery.parse("kết-hôn (tuổi)* ~@ \"chưa đóng");
+        assertEquals("\"kết hôn\" tuổi \"chưa đóng\"", q.expression());
+    }
+
+    @Test
+    void parse_OnlyExcludedTerms_ShouldBeEmpty() {
+        assertTrue(FulltextQuery.parse("-phạt -\"tiền\"").isEmpty());
+        assertTrue(FulltextQuery.parse("   ").isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.BulkImportFileDTO;
+import com.example.lawservice.dto.BulkImportResponse;
+import com.example.lawservice.dto.LawUploadResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LawBulkImportServiceTest {
+
+    @TempDir
+    Path root;
+
+    private final LawUploadService uploadService = mock(LawUploadService.class);
+    private final PdfTextExtractor extractor = mock(PdfTextExtractor.class);
+    private final RagChangeNotifier changeNotifier = mock(RagChangeNotifier.class);
+
+    @Test
+    void inference_ShouldMatchImportScript() {
+        assertEquals("121/VBHN/VPQH", LawBulkImportService.inferCode("121-vbhn-vpqh.pdf"));
+        assertEquals("LUAT/HO/TICH", LawBulkImportService.inferCode("luat ho tich.PDF"));
+        assertEquals("DECREE", LawBulkImportService.inferDocType("nghidinhphat vi pham hanh chinh.pdf"));
+        assertEquals("LAW", LawBulkImportService.inferDocType("luat ho tich.pdf"));
+        assertEquals("LUẬT HỘ TỊCH", LawBulkImportService.inferTitle(
+                "\nCỘNG HÒA XÃ HỘI CHỦ NGHĨA VIỆT NAM\nĐộc lập - Tự do - Hạnh phúc\n  LUẬT   HỘ TỊCH\nĐiều 1.", "x.pdf"));
+        assertEquals("x.pdf", LawBulkImportService.inferTitle("\n\n", "x.pdf"));
+    }
+
+    @Test
+    void importDirectory_ShouldImportEachPdfAndReindexOnce() throws Exception {
+        Path good = Files.createFile(root.resolve("luat ho tich.pdf"));
+        Path bad = Files.createFile(root.resolve("broken.pdf"));
+        Files.createFile(root.resolve("notes.txt"));
+        when(extractor.extractDocument(eq(good), any())).thenReturn(new PdfTextExtractor.Extraction("LUẬT HỘ TỊCH\nĐiều 1.", 12));
+        when(extractor.extractDocument(eq(bad), any())).thenThrow(new IllegalArgumentException("Cannot extract text"));
+        when(uploadService.parse(anyString(), anyString())).thenReturn(List.of());
+        when(uploadService.persist(argThat(r -> r.getCode().equals("LUAT/HO/TICH") && r.getTitle().equals("LUẬT HỘ TỊCH")),
+                eq(good), anyString(), anyString(), anyList(), any()))
+                .thenReturn(LawUploadResponse.builder().lawId(3L).nodeCount(40).created(true).build());
+
+        LawBulkImportService service = new LawBulkImportService(uploadService, extractor, changeNotifier,
+                new SimpleMeterRegistry(), root.toString(), 2, false);
+        BulkImportResponse report = service.importDirectory(null, true, true);
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(12, report.getPages());
+        assertEquals(40, report.getNodes());
+        assertTrue(report.isReindexed());
+        assertEquals(List.of("broken.pdf", "luat ho tich.pdf"),
+                report.getFiles().stream().map(BulkImportFileDTO::getFileName).toList());
+        assertNotNull(report.getFiles().get(0).getError());
+        assertNull(report.getFiles().get(1).getError());
+        assertEquals(3L, report.getFiles().get(1).getLawId());
+        verify(changeNotifier, times(1)).push();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.IngestionJobDTO;
+import com.example.lawservice.dto.LawUploadRequest;
+import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.enums.IngestionStage;
+import com.example.lawservice.enums.StatusCode;
+import com.example.lawservice.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LawIngestionServiceTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final LawUploadService uploadService = mock(LawUploadService.class);
+    private final PdfTextExtractor extractor = mock(PdfTextExtractor.class);
+    private final RagChangeNotifier changeNotifier = mock(RagChangeNotifier.class);
+    private final LawIngestionService service = new LawIngestionService(uploadService, extractor, changeNotifier,
+            DIRECT, DIRECT, DIRECT, new SimpleMeterRegistry(), 10);
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "law.pdf", "application/pdf", new byte[]{1});
+    private final LawUploadService.StoredPdf stored = new LawUploadService.StoredPdf(Path.of("uploads/law.pdf"), "5d41402a");
+
+    private LawUploadRequest request(boolean reindex) {
+        LawUploadRequest r = new LawUploadRequest();
+        r.setCode("60/2014/QH13");
+        r.setTitle("Luật Hộ tịch");
+        r.setTriggerReindex(reindex);
+        return r;
+    }
+
+    @Test
+    void submit_ShouldRunAllStagesAndRecordTimings() throws Exception {
+        LawUploadRequest req = request(true);
+        when(uploadService.accept(file, req)).thenReturn(stored);
+        when(extractor.extract(eq(stored.path()), any())).thenReturn("Điều 1. Phạm vi");
+        when(uploadService.parse(anyString(), anyString())).thenReturn(List.of());
+        when(uploadService.persist(eq(req), eq(stored.path()), eq(stored.sha256()), anyString(), anyList(), any()))
+                .thenReturn(LawUploadResponse.builder().lawId(7L).nodeCount(1).reindexed(false).build());
+
+        String jobId = service.submit(file, req).getJobId();
+        IngestionJobDTO job = service.get(jobId).orElseThrow();
+
+        assertEquals(IngestionStage.DONE, job.getStage());
+        assertEquals(1.0, job.getProgress());
+        assertEquals(List.of(IngestionStage.EXTRACTING, IngestionStage.PARSING, IngestionStage.PERSISTING, IngestionStage.REINDEXING),
+                job.getStages().stream().map(s -> s.getStage()).toList());
+        assertTrue(job.getStages().stream().allMatch(s -> s.isFinished()));
+        assertEquals(7L, job.getResult().getLawId());
+        assertTrue(job.getResult().getReindexed());
+        verify(changeNotifier, times(1)).push();
+    }
+
+    @Test
+    void submit_StageFailure_ShouldMarkJobFailed() throws Exception {
+        LawUploadRequest req = request(false);
+        when(uploadService.accept(file, req)).thenReturn(stored);
+        when(extractor.extract(eq(stored.path()), any())).thenReturn("text");
+        when(uploadService.parse(anyString(), anyString())).thenReturn(List.of());
+        when(uploadService.persist(eq(req), eq(stored.path()), eq(stored.sha256()), anyString(), anyList(), any()))
+                .thenThrow(new CustomException(StatusCode.CONFLICT, "Law code already exists"));
+
+        IngestionJobDTO job = service.get(service.submit(file, req).getJobId()).orElseThrow();
+
+        assertEquals(IngestionStage.FAILED, job.getStage());
+        assertEquals(StatusCode.CONFLICT.getMessage(), job.getError());
+        verify(changeNotifier, times(0)).push();
+    }
+
+    @Test
+    void submit_UnchangedPdf_ShouldSkipAllStages() throws Exception {
+        LawUploadRequest req = request(true);
+        when(uploadService.accept(file, req)).thenReturn(stored);
+        when(uploadService.skipIfUnchanged(req, stored.path(), stored.sha256()))
+                .thenReturn(Optional.of(LawUploadResponse.builder().lawId(7L).nodeCount(40).skipped(true).build()));
+
+        IngestionJobDTO job = service.get(service.submit(file, req).getJobId()).orElseThrow();
+
+        assertEquals(IngestionStage.DONE, job.getStage());
+        assertTrue(job.getStages().isEmpty());
+        assertTrue(job.getResult().getSkipped());
+        verify(extractor, never()).extract(any(), any());
+        verify(changeNotifier, never()).push();
+    }
+}
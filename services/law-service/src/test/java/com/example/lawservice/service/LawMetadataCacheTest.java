@@ -0,0 +1,95 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.TocDTO;
+import com.example.lawservice.model.Law;
+import com.example.lawservice.repository.LawRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LawMetadataCacheTest {
+
+    private final LawRepository lawRepository = mock(LawRepository.class);
+    private final RelatedLawGraphService relatedGraph = mock(RelatedLawGraphService.class);
+    private final LawMetadataCache cache = new LawMetadataCache(lawRepository, relatedGraph,
+            new CaffeineCacheManager(LawMetadataCache.LAWS, LawMetadataCache.TOC));
+
+    private static Law law(long id) {
+        Law law = new Law();
+        law.setId(id);
+        law.setCode("L" + id);
+        return law;
+    }
+
+    @Test
+    void law_ShouldHitTheRepositoryOncePerId() {
+        when(lawRepository.findById(1L)).thenReturn(Optional.of(law(1)));
+        when(lawRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals("L1", cache.law(1).orElseThrow().getCode());
+        assertTrue(cache.exists(1));
+        assertFalse(cache.exists(2));
+        assertFalse(cache.exists(2));
+
+        verify(lawRepository, times(1)).findById(1L);
+        verify(lawRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void related_ShouldResolveGraphIdsThroughTheLawCache() {
+        when(relatedGraph.graph()).thenReturn(RelatedLawGraph.build(List.of(
+                new RelatedLawGraph.Row(1, null, "L1", "LAW", null),
+                new RelatedLawGraph.Row(5, 1L, "L5", "DECREE", null),
+                new RelatedLawGraph.Row(6, 1L, "L6", "CIRCULAR", null))));
+        when(lawRepository.findById(5L)).thenReturn(Optional.of(law(5)));
+        when(lawRepository.findById(6L)).thenReturn(Optional.of(law(6)));
+
+        assertEquals(List.of(5L), cache.related(1, "decree").stream().map(Law::getId).toList());
+        assertEquals(List.of(5L, 6L), cache.related(1, " ").stream().map(Law::getId).toList());
+        assertEquals(List.of(5L, 6L), cache.related(1, null).stream().map(Law::getId).toList());
+
+        verify(lawRepository, times(1)).findById(5L);
+        verify(lawRepository, times(1)).findById(6L);
+    }
+
+    @Test
+    void evict_ShouldReloadOnlyTheChangedLaw() {
+        when(lawRepository.findById(1L)).thenReturn(Optional.of(law(1)));
+        AtomicInteger builds = new AtomicInteger();
+        LocalDate day = LocalDate.of(2020, 1, 1);
+        for (long lawId : new long[]{1, 2}) {
+            cache.toc(lawId, null, () -> toc(builds));
+            cache.toc(lawId, day, () -> toc(builds));
+        }
+        cache.law(1);
+        assertEquals(4, builds.get());
+
+        cache.evict(1);
+
+        cache.toc(1, null, () -> toc(builds));
+        cache.toc(1, day, () -> toc(builds));
+        cache.toc(2, null, () -> toc(builds));
+        cache.toc(2, day, () -> toc(builds));
+        assertEquals(6, builds.get());
+        cache.law(1);
+        verify(lawRepository, times(2)).findById(1L);
+        verify(relatedGraph).invalidate();
+    }
+
+    private static List<TocDTO> toc(AtomicInteger builds) {
+        builds.incrementAndGet();
+        return List.of();
+    }
+}
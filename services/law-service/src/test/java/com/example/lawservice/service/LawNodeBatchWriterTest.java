@@ -0,0 +1,118 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.model.CompressedText;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LawNodeBatchWriterTest {
+
+    /** Fake connection: every executeBatch assigns consecutive ids and remembers path -> parent_id. */
+    private final Map<String, Long> parentByPath = new HashMap<>();
+    private final Map<String, Long> idByPath = new HashMap<>();
+    private final List<Integer> roundSizes = new ArrayList<>();
+    private long nextId = 100;
+
+    private JdbcTemplate jdbcTemplate() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        List<String> paths = new ArrayList<>();
+        Long[] parent = new Long[1];
+        doAnswer(inv -> parent[0] = inv.getArgument(1)).when(ps).setLong(eq(2), anyLong());
+        doAnswer(inv -> parent[0] = null).when(ps).setNull(eq(2), anyInt());
+        doAnswer(inv -> {
+            if ((int) inv.getArgument(0) == 8) {
+                paths.add(inv.getArgument(1));
+                parentByPath.put(inv.getArgument(1), parent[0]);
+            }
+            return null;
+        }).when(ps).setString(anyInt(), any());
+        when(ps.getGeneratedKeys()).thenAnswer(inv -> {
+            List<Long> ids = new ArrayList<>();
+            for (String p : paths) {
+                idByPath.put(p, nextId);
+                ids.add(nextId++);
+            }
+            roundSizes.add(paths.size());
+            paths.clear();
+            ResultSet keys = mock(ResultSet.class);
+            int[] cursor = {-1};
+            when(keys.next()).thenAnswer(i -> ++cursor[0] < ids.size());
+            when(keys.getLong(1)).thenAnswer(i -> ids.get(cursor[0]));
+            return keys;
+        });
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(ps);
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.execute(ArgumentMatchers.<ConnectionCallback<Object>>any()))
+                .thenAnswer(inv -> ((ConnectionCallback<?>) inv.getArgument(0)).doInConnection(con));
+        return jdbc;
+    }
+
+    @Test
+    void batch_ShouldInsertByDepthAndResolveParentIdsAcrossBatches() throws Exception {
+        String text = String.join("\n",
+                "Chương I", "QUY ĐỊNH CHUNG",
+                "Điều 1. Phạm vi", "1. Khoản một:", "a) Điểm a;", "b) Điểm b.",
+                "Điều 2. Đối tượng", "1. Khoản một.");
+        LawNodeBatchWriter.Batch batch = new LawNodeBatchWriter(jdbcTemplate(), 5)
+                .begin(7L, 3, LocalDate.of(2015, 1, 1), null);
+        LawStructureParser.parse(new StringReader(text), "60/2014/QH13", batch);
+
+        String law = "/60/2014/QH13/Chuong-I";
+        assertEquals(7, batch.finish());
+        assertEquals(100L, batch.firstId());
+        // Batch of 5 = CHUONG, DIEU, KHOAN, 2 x DIEM in four rounds; then DIEU 2 (parent stored earlier) and its KHOAN
+        assertEquals(List.of(1, 1, 1, 2, 1, 1), roundSizes);
+        assertNull(parentByPath.get(law));
+        assertEquals(idByPath.get(law + "/Dieu-1/Khoan-1"), parentByPath.get(law + "/Dieu-1/Khoan-1/Diem-b"));
+        assertEquals(idByPath.get(law), parentByPath.get(law + "/Dieu-2"));
+        assertEquals(idByPath.get(law + "/Dieu-2"), parentByPath.get(law + "/Dieu-2/Khoan-1"));
+    }
+
+    @Test
+    void bindContent_ShouldCompressOnlyLargeDocumentNodes() throws Exception {
+        LawNodeBatchWriter writer = new LawNodeBatchWriter(mock(JdbcTemplate.class), 5, 10);
+        String text = "Toàn văn không có cấu trúc Điều/Khoản";
+        PreparedStatement document = mock(PreparedStatement.class);
+        writer.bindContent(document, 6, 13, new LawStructureParser.ParsedNode(
+                0, -1, "DOCUMENT", "PDF", null, text, "000", "/X", null));
+
+        verify(document).setNull(6, Types.LONGVARCHAR);
+        ArgumentCaptor<byte[]> gzip = ArgumentCaptor.forClass(byte[].class);
+        verify(document).setBytes(eq(13), gzip.capture());
+        assertEquals(text, CompressedText.decompress(gzip.getValue()));
+
+        PreparedStatement clause = mock(PreparedStatement.class);
+        writer.bindContent(clause, 6, 13, new LawStructureParser.ParsedNode(
+                1, 0, "KHOAN", "1.", null, text, "001", "/X/Khoan-1", null));
+
+        verify(clause).setString(6, text);
+        verify(clause).setNull(13, Types.LONGVARBINARY);
+    }
+}
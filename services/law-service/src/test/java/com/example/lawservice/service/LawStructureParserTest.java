@@ -0,0 +1,77 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LawStructureParserTest {
+
+    private static final String TEXT = String.join("\n",
+            "QUỐC HỘI",
+            "LUẬT HỘ TỊCH",
+            "Điều 1. Phạm vi điều chỉnh",
+            "Luật này quy định về hộ tịch.",
+            "Chương II",
+            "ĐĂNG KÝ HỘ TỊCH",
+            "Điều 2. Quyền , nghĩa vụ",
+            "1. Cá nhân có quyền :",
+            "a) Yêu cầu đăng ký;",
+            "đ) Khiếu nại",
+            "theo quy định.",
+            "",
+            "",
+            "",
+            "Khoản 2 Cơ quan đăng ký hộ tịch.",
+            "Điều 3");
+
+    private List<LawStructureParser.ParsedNode> parse() {
+        List<LawStructureParser.ParsedNode> nodes = new ArrayList<>();
+        LawStructureParser.parse(new StringReader(TEXT), "60/2014/QH13", nodes::add);
+        return nodes;
+    }
+
+    @Test
+    void parse_ShouldBuildSortKeysAndPathsLikeImporter() {
+        List<String> actual = parse().stream().map(n -> n.level() + " " + n.sortKey() + " " + n.path()).toList();
+        assertEquals(List.of(
+                "DIEU 001 /60/2014/QH13/Dieu-1",
+                "CHUONG 002 /60/2014/QH13/Chuong-II",
+                "DIEU 002 /60/2014/QH13/Chuong-II/Dieu-2",
+                "KHOAN 002.001 /60/2014/QH13/Chuong-II/Dieu-2/Khoan-1",
+                "DIEM 002.001.001 /60/2014/QH13/Chuong-II/Dieu-2/Khoan-1/Diem-a",
+                "DIEM 002.001.004 /60/2014/QH13/Chuong-II/Dieu-2/Khoan-1/Diem-đ",
+                "KHOAN 002.002 /60/2014/QH13/Chuong-II/Dieu-2/Khoan-2",
+                "DIEU 003 /60/2014/QH13/Chuong-II/Dieu-3"), actual);
+    }
+
+    @Test
+    void parse_ShouldEmitParentsBeforeChildren() {
+        List<LawStructureParser.ParsedNode> nodes = parse();
+        for (LawStructureParser.ParsedNode n : nodes) {
+            if (n.parentIndex() >= 0) {
+                assertEquals(true, n.parentIndex() < n.index());
+            }
+        }
+        assertEquals(-1, nodes.get(0).parentIndex());
+        assertEquals(1, nodes.get(2).parentIndex());
+        assertEquals(3, nodes.get(5).parentIndex());
+    }
+
+    @Test
+    void parse_ShouldNormalizeTextAndLabels() {
+        List<LawStructureParser.ParsedNode> nodes = parse();
+        assertEquals("Quyền, nghĩa vụ", nodes.get(2).heading());
+        assertEquals("Điều 2", nodes.get(2).ordinalLabel());
+        assertNull(nodes.get(2).contentText());
+        assertEquals("Cá nhân có quyền:", nodes.get(3).contentText());
+        assertEquals("Khiếu nại theo quy định.", nodes.get(5).contentText());
+        assertEquals("Cơ quan đăng ký hộ tịch.", nodes.get(6).contentText());
+        assertEquals("Chương II", nodes.get(1).title());
+        assertEquals("Điều 3", nodes.get(7).title());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.LawUploadRequest;
+import com.example.lawservice.dto.LawUploadResponse;
+import com.example.lawservice.model.Law;
+import com.example.lawservice.repository.LawRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LawUploadServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.4 test".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploadDir;
+
+    private final LawRepository lawRepository = mock(LawRepository.class);
+
+    private LawUploadService service() {
+        return new LawUploadService(lawRepository, mock(LawNodeDiffWriter.class), mock(RagChangeNotifier.class),
+                mock(PdfTextExtractor.class), mock(LawNodeBatchWriter.class), mock(NodeGenerations.class),
+                mock(NodeChangeLog.class), mock(TransactionTemplate.class), mock(ApplicationEventPublisher.class),
+                mock(LawMetadataCache.class), uploadDir.toString());
+    }
+
+    private LawUploadRequest request() {
+        LawUploadRequest r = new LawUploadRequest();
+        r.setCode("60/2014/QH13");
+        r.setTitle("Luật Hộ tịch");
+        r.setReplaceExisting(true);
+        return r;
+    }
+
+    private Law stored(String sha256) {
+        Law law = new Law();
+        law.setId(5L);
+        law.setCode("60/2014/QH13");
+        law.setSourceUrl(uploadDir.resolve("old.pdf").toString());
+        law.setContentSha256(sha256);
+        return law;
+    }
+
+    @Test
+    void accept_ShouldHashWhileStoring() throws Exception {
+        LawUploadService.StoredPdf stored = service().accept(
+                new MockMultipartFile("file", "law.pdf", "application/pdf", PDF), request());
+
+        assertTrue(Files.exists(stored.path()));
+        assertEquals(LawUploadService.sha256(stored.path()), stored.sha256());
+        assertEquals(64, stored.sha256().length());
+    }
+
+    @Test
+    void skipIfUnchanged_SameHash_ShouldSkipAndDropDuplicate() throws Exception {
+        LawUploadService service = service();
+        LawUploadService.StoredPdf upload = service.accept(
+                new MockMultipartFile("file", "law.pdf", "application/pdf", PDF), request());
+        when(lawRepository.findByCodeIgnoreCase("60/2014/QH13")).thenReturn(Optional.of(stored(upload.sha256())));
+
+        LawUploadResponse response = service.skipIfUnchanged(request(), upload.path(), upload.sha256()).orElseThrow();
+
+        assertTrue(response.getSkipped());
+        assertEquals(5L, response.getLawId());
+        assertEquals(0, response.getNodeCount());
+        assertFalse(Files.exists(upload.path()));
+    }
+
+    @Test
+    void skipIfUnchanged_DifferentHashOrForce_ShouldProcess() {
+        LawUploadService service = service();
+        when(lawRepository.findByCodeIgnoreCase("60/2014/QH13")).thenReturn(Optional.of(stored("aa")));
+        assertTrue(service.skipIfUnchanged(request(), uploadDir.resolve("x.pdf"), "bb").isEmpty());
+
+        LawUploadRequest forced = request();
+        forced.setForce(true);
+        assertTrue(service.skipIfUnchanged(forced, uploadDir.resolve("x.pdf"), "aa").isEmpty());
+    }
+}
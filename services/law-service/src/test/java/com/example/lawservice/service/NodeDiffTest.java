@@ -0,0 +1,135 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class NodeDiffTest {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final LocalDate END = LocalDate.of(9999, 12, 31);
+
+    private static LawStructureParser.ParsedNode node(int index, int parent, String level, String path, String text) {
+        return new LawStructureParser.ParsedNode(index, parent, level, path.substring(path.lastIndexOf('-') + 1),
+                null, text, path, path, null);
+    }
+
+    /** Stores {@code nodes} with ids 100, 101, ... and parents resolved the way the batch writer would. */
+    private static List<NodeDiff.StoredNode> stored(List<LawStructureParser.ParsedNode> nodes) {
+        List<NodeDiff.StoredNode> stored = new ArrayList<>();
+        for (LawStructureParser.ParsedNode n : nodes) {
+            Long parentId = n.parentIndex() >= 0 ? 100L + n.parentIndex() : null;
+            stored.add(new NodeDiff.StoredNode(100L + n.index(), parentId, n.path(), NodeDiff.hash(n, START, END)));
+        }
+        return stored;
+    }
+
+    private static final List<LawStructureParser.ParsedNode> OLD = List.of(
+            node(0, -1, "DIEU", "/L/Dieu-1", "Điều 1"),
+            node(1, 0, "KHOAN", "/L/Dieu-1/Khoan-1", "khoản 1"),
+            node(2, 0, "KHOAN", "/L/Dieu-1/Khoan-2", "khoản 2"),
+            node(3, -1, "DIEU", "/L/Dieu-2", "Điều 2"),
+            node(4, 3, "KHOAN", "/L/Dieu-2/Khoan-1", "khoản 1"));
+
+    @Test
+    void compute_SameTree_ShouldChangeNothing() {
+        NodeDiff.Result diff = NodeDiff.compute(stored(OLD), OLD, START, END);
+
+        assertEquals(0, diff.changes());
+        assertEquals(5, diff.unchanged());
+        assertEquals(104L, diff.matched().get(4));
+    }
+
+    @Test
+    void compute_ShouldClassifyByPathAndHash() {
+        List<LawStructureParser.ParsedNode> edited = List.of(
+                node(0, -1, "DIEU", "/L/Dieu-1", "Điều 1"),
+                node(1, 0, "KHOAN", "/L/Dieu-1/Khoan-1", "khoản 1 (sửa đổi)"),
+                node(2, -1, "DIEU", "/L/Dieu-2", "Điều 2"),
+                node(3, 2, "KHOAN", "/L/Dieu-2/Khoan-1", "khoản 1"),
+                node(4, -1, "DIEU", "/L/Dieu-3", "Điều 3"));
+
+        NodeDiff.Result diff = NodeDiff.compute(stored(OLD), edited, START, END);
+
+        assertEquals(List.of("/L/Dieu-3"), diff.inserted().stream().map(LawStructureParser.ParsedNode::path).toList());
+        assertEquals(List.of("/L/Dieu-1/Khoan-1"), diff.updated().stream().map(LawStructureParser.ParsedNode::path).toList());
+        assertEquals(List.of(102L), diff.deleted());
+        assertEquals(3, diff.unchanged());
+        assertEquals(103L, diff.matched().get(2));
+    }
+
+    @Test
+    void compute_DuplicatePaths_ShouldMatchByOccurrence() {
+        List<LawStructureParser.ParsedNode> old = List.of(
+                node(0, -1, "DIEU", "/L/Dieu-5", "bản gốc"),
+                node(1, -1, "DIEU", "/L/Dieu-5", "bản sửa đổi"));
+        List<LawStructureParser.ParsedNode> edited = List.of(
+                node(0, -1, "DIEU", "/L/Dieu-5", "bản gốc"),
+                node(1, -1, "DIEU", "/L/Dieu-5", "bản sửa đổi lần hai"));
+
+        NodeDiff.Result diff = NodeDiff.compute(stored(old), edited, START, END);
+
+        assertEquals(1, diff.unchanged());
+        assertEquals(1, diff.updated().size());
+        assertEquals(101L, diff.matched().get(diff.updated().get(0).index()));
+    }
+
+    @Test
+    void compute_NewParent_ShouldUpdateMatchedChild() {
+        // Khoản 1 keeps its path while the Điều above it is a new node
+        List<NodeDiff.StoredNode> old = List.of(
+                new NodeDiff.StoredNode(100L, null, "/L/Dieu-1", "x"),
+                new NodeDiff.StoredNode(101L, 100L, "/L/Dieu-1/Khoan-1",
+                        NodeDiff.hash(node(1, 0, "KHOAN", "/L/Dieu-1/Khoan-1", "khoản 1"), START, END)));
+        List<LawStructureParser.ParsedNode> edited = List.of(
+                node(0, -1, "DIEU", "/L/Dieu-9", "Điều 9"),
+                node(1, 0, "KHOAN", "/L/Dieu-1/Khoan-1", "khoản 1"));
+
+        NodeDiff.Result diff = NodeDiff.compute(old, edited, START, END);
+
+        assertEquals(1, diff.inserted().size());
+        assertEquals(1, diff.updated().size());
+        assertEquals(List.of(100L), diff.deleted());
+    }
+
+    @Test
+    void compute_ChildReparentedUnderNewerRow_ShouldDeleteItBeforeThatRow() {
+        // A consolidated text repeats the Chương I block; the second Điều 1 moves under the new block
+        List<LawStructureParser.ParsedNode> old = List.of(
+                node(0, -1, "CHUONG", "/L/Chuong-I", "Chương I"),
+                node(1, 0, "DIEU", "/L/Chuong-I/Dieu-1", "Điều 1"),
+                node(2, 0, "DIEU", "/L/Chuong-I/Dieu-1", "Điều 1 (sửa đổi)"));
+        List<LawStructureParser.ParsedNode> repeated = List.of(
+                node(0, -1, "CHUONG", "/L/Chuong-I", "Chương I"),
+                node(1, 0, "DIEU", "/L/Chuong-I/Dieu-1", "Điều 1"),
+                node(2, -1, "CHUONG", "/L/Chuong-I", "Chương I"),
+                node(3, 2, "DIEU", "/L/Chuong-I/Dieu-1", "Điều 1 (sửa đổi)"));
+
+        NodeDiff.Result first = NodeDiff.compute(stored(old), repeated, START, END);
+
+        assertEquals(List.of(2), first.inserted().stream().map(LawStructureParser.ParsedNode::index).toList());
+        assertEquals(102L, first.matched().get(first.updated().get(0).index()));
+
+        // Stored after the first diff: Điều 1 (102) now points at the inserted Chương I (200)
+        List<NodeDiff.StoredNode> reparented = new ArrayList<>(stored(old));
+        reparented.set(2, new NodeDiff.StoredNode(102L, 200L, "/L/Chuong-I/Dieu-1",
+                NodeDiff.hash(repeated.get(3), START, END)));
+        reparented.add(new NodeDiff.StoredNode(200L, null, "/L/Chuong-I", NodeDiff.hash(repeated.get(2), START, END)));
+
+        NodeDiff.Result second = NodeDiff.compute(reparented, old.subList(0, 2), START, END);
+
+        assertEquals(List.of(102L, 200L), second.deleted());
+    }
+
+    @Test
+    void hash_ShouldTakeValidityIntoAccount() {
+        LawStructureParser.ParsedNode n = OLD.get(0);
+        assertEquals(NodeDiff.hash(n, START, END), NodeDiff.hash(n, START, END));
+        assertNotEquals(NodeDiff.hash(n, START, END), NodeDiff.hash(n, START, LocalDate.of(2030, 1, 1)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodeReferencesTest {
+
+    private static NodeReferences.Reference ref(String code, Integer article) {
+        return new NodeReferences.Reference(code, article);
+    }
+
+    @Test
+    void extract_ShouldFindArticlesOfTheSameLawAndOfCitedDocuments() {
+        String text = "Trừ trường hợp quy định tại khoản 2 Điều 8 và Điều 10 của Luật này, việc đăng ký thực hiện theo "
+                + "Điều 5 Nghị định số 123/2015/ND-CP, điều 3 của Luật 52/2014/QH13 và Điều 4 Luật Hộ tịch số 60/2014/QH13; "
+                + "xem thêm Điều 8.";
+
+        assertEquals(List.of(ref(null, 8), ref(null, 10), ref("123/2015/NĐ-CP", 5), ref("52/2014/QH13", 3),
+                        ref("60/2014/QH13", 4)),
+                NodeReferences.extract("KHOAN", "Khoản 1", text));
+    }
+
+    @Test
+    void extract_ShouldCiteWholeDocumentsNotAttachedToAnArticle() {
+        String text = "Căn cứ Bộ luật Dân sự 91/2015/QH13; Thông tư số 04/2020/TT-BTP và Quyết định 12/2021/qd-ttg.";
+
+        assertEquals(List.of(ref("91/2015/QH13", null), ref("04/2020/TT-BTP", null), ref("12/2021/QĐ-TTG", null)),
+                NodeReferences.extract("DIEU", "Điều 1", text));
+    }
+
+    @Test
+    void extract_ShouldSkipAnArticlesOwnNumberAndReadDecomposedText() {
+        String text = Normalizer.normalize("Điều 5 áp dụng cho Điều 6; Điều 5 Nghị định 11/2020/NĐ-CP", Normalizer.Form.NFD);
+
+        assertEquals(List.of(ref(null, 6), ref("11/2020/NĐ-CP", 5)), NodeReferences.extract("DIEU", "Điều 5", text));
+        assertEquals(List.of(ref(null, 5), ref(null, 6), ref("11/2020/NĐ-CP", 5)), NodeReferences.extract("KHOAN", "Khoản 1", text));
+        assertTrue(NodeReferences.extract("DIEU", "Điều 1", "Điều này không áp dụng").isEmpty());
+        assertTrue(NodeReferences.extract("DIEU", "Điều 1", null).isEmpty());
+    }
+}
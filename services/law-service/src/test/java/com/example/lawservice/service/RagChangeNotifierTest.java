@@ -0,0 +1,60 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.clients.RagClient;
+import com.example.lawservice.dto.NodeChangeDTO;
+import com.example.lawservice.enums.NodeChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RagChangeNotifierTest {
+
+    private final NodeChangeLog changeLog = mock(NodeChangeLog.class);
+    private final RagClient ragClient = mock(RagClient.class);
+    private final RagChangeNotifier notifier = new RagChangeNotifier(changeLog, ragClient, new SimpleMeterRegistry(), 3);
+
+    private static NodeChangeDTO change(long seq, long nodeId, NodeChangeType type) {
+        return NodeChangeDTO.builder().seq(seq).lawId(1L).nodeId(nodeId).changeType(type).build();
+    }
+
+    @Test
+    void push_ShouldSendIdsInBatchesAndAdvanceCursor() {
+        when(changeLog.position(RagChangeNotifier.CONSUMER)).thenReturn(10L);
+        when(changeLog.since(10L, 3)).thenReturn(List.of(
+                change(11, 100, NodeChangeType.DELETE),
+                change(12, 200, NodeChangeType.INSERT),
+                change(13, 201, NodeChangeType.INSERT)));
+        when(changeLog.since(13L, 3)).thenReturn(List.of(
+                change(14, 201, NodeChangeType.DELETE)));
+
+        assertEquals(4, notifier.push());
+
+        verify(ragClient).reindexNodes(List.of(200L, 201L), List.of(100L));
+        verify(ragClient).reindexNodes(List.of(), List.of(201L));
+        verify(changeLog).advance(RagChangeNotifier.CONSUMER, 13L);
+        verify(changeLog).advance(RagChangeNotifier.CONSUMER, 14L);
+    }
+
+    @Test
+    void push_RagFailure_ShouldKeepCursor() {
+        when(changeLog.position(RagChangeNotifier.CONSUMER)).thenReturn(0L);
+        when(changeLog.since(0L, 3)).thenReturn(List.of(change(1, 5, NodeChangeType.INSERT)));
+        doThrow(new RuntimeException("down")).when(ragClient).reindexNodes(anyList(), anyList());
+
+        assertThrows(RuntimeException.class, notifier::push);
+
+        verify(changeLog, never()).advance(anyString(), anyLong());
+    }
+}
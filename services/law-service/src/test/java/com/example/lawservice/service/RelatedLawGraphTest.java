@@ -0,0 +1,67 @@
+package com.example.lawservice.service;
+
+import com.example.lawservice.dto.RelatedLawDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RelatedLawGraphTest {
+
+    private static RelatedLawGraph.Row row(long id, Long relatedLawId, String docType) {
+        return new RelatedLawGraph.Row(id, relatedLawId, "C" + id, docType, "Văn bản " + id);
+    }
+
+    // 1 (law) <- 4, 2 (decrees) <- 3, 7 (circulars); 9 is unrelated; 5 <-> 6 point at each other
+    private final RelatedLawGraph graph = RelatedLawGraph.build(List.of(
+            row(3, 2L, "CIRCULAR"),
+            row(1, null, "LAW"),
+            row(4, 1L, "decree"),
+            row(2, 1L, "DECREE"),
+            row(7, 2L, "CIRCULAR"),
+            row(9, null, "LAW"),
+            row(5, 6L, "LAW"),
+            row(6, 5L, "LAW")));
+
+    private static List<Long> ids(List<RelatedLawDTO> laws) {
+        return laws.stream().map(RelatedLawDTO::getId).toList();
+    }
+
+    @Test
+    void related_ShouldReturnDirectLinksInIdOrder() {
+        assertEquals(List.of(2L, 4L), graph.related(1, null));
+        assertEquals(List.of(2L, 4L), graph.related(1, "Decree"));
+        assertEquals(List.of(), graph.related(1, "CIRCULAR"));
+        assertEquals(List.of(), graph.related(9, null));
+        assertEquals(List.of(), graph.related(99, null));
+        assertEquals(8, graph.lawCount());
+        assertEquals(6, graph.linkCount());
+    }
+
+    @Test
+    void traverse_ShouldGoBreadthFirstUpToDepth() {
+        List<RelatedLawDTO> all = graph.traverse(1, 5, null).orElseThrow();
+        assertEquals(List.of(2L, 4L, 3L, 7L), ids(all));
+        assertEquals(List.of(1, 1, 2, 2), all.stream().map(RelatedLawDTO::getDepth).toList());
+        assertEquals(2L, all.get(2).getViaLawId());
+        assertEquals("C3", all.get(2).getCode());
+
+        assertEquals(List.of(2L, 4L), ids(graph.traverse(1, 1, List.of()).orElseThrow()));
+    }
+
+    @Test
+    void traverse_DocTypeFilter_ShouldStillPassThroughOtherTypes() {
+        assertEquals(List.of(3L, 7L), ids(graph.traverse(1, 2, List.of("circular")).orElseThrow()));
+        assertEquals(List.of(2L, 4L, 3L, 7L), ids(graph.traverse(1, 2, List.of("DECREE", "CIRCULAR")).orElseThrow()));
+        assertTrue(graph.traverse(1, 1, List.of("CIRCULAR")).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void traverse_ShouldCutCyclesAndRejectUnknownLaws() {
+        assertEquals(List.of(6L), ids(graph.traverse(5, 5, null).orElseThrow()));
+        assertFalse(graph.traverse(99, 2, null).isPresent());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchResultCacheTest {
+
+    private final CorpusGeneration generation = new CorpusGeneration();
+    private final SearchResultCache cache = new SearchResultCache(
+            new CaffeineCacheManager(SearchResultCache.CACHE_NAME), generation);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String search(String query) {
+        return cache.get("fuzzy", query, null, PageRequest.of(0, 20), () -> "result " + loads.incrementAndGet());
+    }
+
+    @Test
+    void get_ShouldLoadOncePerKey() {
+        assertEquals("result 1", search("thuế"));
+        assertEquals("result 1", search("thuế"));
+        assertEquals("result 2", search("đất đai"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_AfterACorpusChange_ShouldLoadAgain() {
+        assertEquals("result 1", search("thuế"));
+
+        generation.onCorpusChanged(new CorpusChangedEvent(1L, "upload"));
+
+        assertEquals("result 2", search("thuế"));
+        assertEquals("result 2", search("thuế"));
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                cache.get("fuzzy", "thuế", null, PageRequest.of(0, 20), () -> {
+                    started.countDown();
+                    await(release);
+                    return "result " + loads.incrementAndGet();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> search("thuế"));
+
+        release.countDown();
+
+        assertEquals("result 1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("result 1", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenTheLoadFails_ShouldRethrowAndLoadAgainNextTime() {
+        assertThrows(IllegalStateException.class, () -> cache.get("fuzzy", "thuế", null, PageRequest.of(0, 20),
+                () -> {
+                    throw new IllegalStateException("db down");
+                }));
+
+        assertEquals("result 1", search("thuế"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
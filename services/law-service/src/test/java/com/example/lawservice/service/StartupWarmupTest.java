@@ -0,0 +1,54 @@
+package com.example.lawservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StartupWarmupTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LawMetadataCache lawCache = mock(LawMetadataCache.class);
+    private final RelatedLawGraphService relatedGraph = mock(RelatedLawGraphService.class);
+    private final FuzzyNodeSearchService fuzzySearch = mock(FuzzyNodeSearchService.class);
+    private final CorpusSnapshotService snapshotService = mock(CorpusSnapshotService.class);
+
+    private StartupWarmup warmup(boolean enabled) {
+        // No local.server.port: the HTTP rounds are skipped
+        return new StartupWarmup(jdbcTemplate, lawCache, relatedGraph, fuzzySearch, snapshotService,
+                new MockEnvironment(), new SimpleMeterRegistry(), enabled, 20, 200, 5, 60);
+    }
+
+    @Test
+    void run_ShouldPreloadLawRowsGraphIndexAndSnapshot() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of(1L, 2L));
+
+        warmup(true).run(null);
+
+        verify(lawCache).law(1L);
+        verify(lawCache).law(2L);
+        verify(relatedGraph).graph();
+        verify(fuzzySearch).index();
+        verify(snapshotService).awaitCurrent(anyLong());
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(20));
+    }
+
+    @Test
+    void run_WhenDisabled_ShouldDoNothing() throws Exception {
+        warmup(false).run(null);
+
+        verifyNoInteractions(jdbcTemplate, lawCache, relatedGraph, fuzzySearch, snapshotService);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = TrigramIndex.builder()
+            .addNode(1L, 10L, "DIEU", "Người thừa kế", "Người thừa kế là cá nhân phải còn sống vào thời điểm mở thừa kế.",
+                    LocalDate.of(2017, 1, 1), LocalDate.of(2099, 12, 31))
+            .addNode(2L, 10L, "KHOAN", "Kết hôn", "Nam từ đủ 20 tuổi trở lên, nữ từ đủ 18 tuổi trở lên.",
+                    LocalDate.of(2015, 1, 1), LocalDate.of(2099, 12, 31))
+            .addNode(3L, 20L, "DIEU", null, "Di chúc hợp pháp phải có đủ các điều kiện.",
+                    LocalDate.of(2000, 1, 1), LocalDate.of(2010, 12, 31))
+            .addLaw(10L, "91/2015/QH13", "Bộ luật Dân sự", "LAW")
+            .addLaw(20L, "01/2000/ND-CP", "Luật Thừa kế cũ", "DECREE")
+            .build();
+
+    @Test
+    void search_ShouldIgnoreAccentsAndMisplacedMarks() {
+        assertEquals(List.of(1L), index.search("thừa kế", null).subList(0, 1));
+        assertEquals(List.of(1L), index.search("thuà kế", null).subList(0, 1));
+        assertEquals(List.of(1L), index.search("thua ke", null).subList(0, 1));
+    }
+
+    @Test
+    void search_ShouldTolerateSingleTypoInLongerToken() {
+        assertEquals(List.of(2L), index.search("tuooi", null));
+    }
+
+    @Test
+    void search_ShouldMatchLawTitleAndRankContentHitsFirst() {
+        List<Long> ids = index.search("thua ke", null);
+        assertEquals(List.of(1L, 3L), ids);
+    }
+
+    @Test
+    void search_ShouldFilterByEffectiveDate() {
+        List<Long> ids = index.search("thua ke", LocalDate.of(2020, 1, 1));
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    void search_UnknownTerm_ShouldReturnEmpty() {
+        assertTrue(index.search("xyzxyz", null).isEmpty());
+    }
+
+    @Test
+    void search_ExactMode_ShouldNotExpandTypos() {
+        TrigramIndex.Result result = index.search("tuooi", null, false, TrigramIndex.FacetFilter.NONE);
+        assertTrue(result.ids().isEmpty());
+    }
+
+    @Test
+    void search_ShouldCountFacetsOverAllMatches() {
+        TrigramIndex.Result result = index.search("thua ke", null, true, TrigramIndex.FacetFilter.NONE);
+        assertEquals(Map.of(10L, 1, 20L, 1), result.lawCounts());
+        assertEquals(Map.of("LAW", 1, "DECREE", 1), result.docTypeCounts());
+        assertEquals(Map.of("DIEU", 2), result.levelCounts());
+    }
+
+    @Test
+    void search_FacetFilter_ShouldNarrowHitsButNotOwnFacetCounts() {
+        TrigramIndex.FacetFilter filter = new TrigramIndex.FacetFilter(Set.of(), Set.of("decree"), Set.of());
+        TrigramIndex.Result result = index.search("thua ke", null, true, filter);
+        assertEquals(List.of(3L), result.ids());
+        assertEquals(Map.of("LAW", 1, "DECREE", 1), result.docTypeCounts());
+        assertEquals(Map.of(20L, 1), result.lawCounts());
+        assertEquals("01/2000/ND-CP", index.lawCode(20L));
+    }
+}
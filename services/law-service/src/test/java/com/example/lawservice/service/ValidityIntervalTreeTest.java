@@ -0,0 +1,56 @@
+package com.example.lawservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ValidityIntervalTreeTest {
+
+    @Test
+    void stab_ShouldMatchLinearScan() {
+        Random random = new Random(7);
+        int n = 2_000;
+        int[] start = new int[n];
+        int[] end = new int[n];
+        for (int i = 0; i < n; i++) {
+            start[i] = random.nextInt(10) == 0 ? Integer.MIN_VALUE : random.nextInt(1_000);
+            end[i] = random.nextInt(10) == 0 ? Integer.MAX_VALUE : Math.max(start[i], 0) + random.nextInt(200);
+        }
+        ValidityIntervalTree tree = ValidityIntervalTree.build(start, end);
+
+        for (int day = -10; day <= 1_250; day += 3) {
+            int d = day;
+            int[] expected = IntStream.range(0, n).filter(i -> start[i] <= d && d <= end[i]).toArray();
+            assertArrayEquals(expected, tree.stab(day), "day " + day);
+        }
+    }
+
+    @Test
+    void stab_ShouldTreatBoundsAsInclusive() {
+        ValidityIntervalTree tree = ValidityIntervalTree.build(new int[]{10, 20, Integer.MIN_VALUE}, new int[]{19, 29, 9});
+
+        assertArrayEquals(new int[]{2}, tree.stab(9));
+        assertArrayEquals(new int[]{0}, tree.stab(10));
+        assertArrayEquals(new int[]{0}, tree.stab(19));
+        assertArrayEquals(new int[]{1}, tree.stab(20));
+        assertArrayEquals(new int[0], tree.stab(30));
+    }
+
+    @Test
+    void build_SharedValidity_ShouldReturnEverything() {
+        int[] start = new int[500];
+        int[] end = new int[500];
+        Arrays.fill(start, 100);
+        Arrays.fill(end, 200);
+        ValidityIntervalTree tree = ValidityIntervalTree.build(start, end);
+
+        assertEquals(500, tree.stab(150).length);
+        assertEquals(0, tree.stab(201).length);
+        assertEquals(0, ValidityIntervalTree.build(new int[0], new int[0]).stab(0).length);
+    }
+}
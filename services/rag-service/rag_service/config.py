@@ -20,6 +20,15 @@ LLM_LOG_SLICE = int(os.getenv("LLM_LOG_SLICE", "2000"))
 
 # Services
 LAW_SERVICE_URL = os.getenv("LAW_SERVICE_URL", "http://law-service:8080")
+# CBOR instead of JSON between the services when both sides support it (see wire.py)
+WIRE_CBOR = env_flag("WIRE_CBOR", True)
+
+# Law database (read-only; incremental reindex reads node text directly, like tools/embed_laws.py)
+DB_HOST = os.getenv("DB_HOST", "mysql")
+DB_PORT = int(os.getenv("DB_PORT", "3306"))
+DB_NAME = os.getenv("DB_NAME", "laws")
+DB_USER = os.getenv("DB_USER", "app")
+DB_PASS = os.getenv("DB_PASS", "app")
 
 # CORS
 CORS_ALLOW_ORIGINS = os.getenv("CORS_ALLOW_ORIGINS", "*")
@@ -0,0 +1,93 @@
+"""Incremental indexing of law nodes into the Chroma collection.
+
+law-service sends the ids of nodes that were inserted/updated or deleted (its node change feed);
+only those are re-embedded or removed, instead of rebuilding the whole collection. Rows and
+metadata match tools/embed_laws.py so both paths produce the same vectors.
+"""
+from typing import Dict, Iterable, List
+
+import pymysql
+
+from . import config, state
+
+BATCH = 64
+
+_NODE_SQL = """
+    SELECT ln.id,
+           l.code AS law_code,
+           l.doc_type AS doc_type,
+           CONCAT_WS(' → ', NULLIF(ln2.ordinal_label,''), NULLIF(ln.ordinal_label,'')) AS node_path,
+           COALESCE(ln.content_text, ln.content_html) AS text,
+           COALESCE(DATE_FORMAT(ln.effective_start,'%%Y-%%m-%%d'),'1900-01-01') AS effective_start,
+           COALESCE(DATE_FORMAT(ln.effective_end,'%%Y-%%m-%%d'),'9999-12-31') AS effective_end
+    FROM law_nodes ln
+    JOIN laws l ON l.id = ln.law_id AND ln.generation = l.active_generation
+    LEFT JOIN law_nodes ln2 ON ln2.id = ln.parent_id
+    WHERE ln.id IN ({ids})
+      AND ln.level IN ('DIEU','KHOAN')
+"""
+
+
+def _fetch_nodes(node_ids: List[int]) -> List[Dict]:
+    conn = pymysql.connect(
+        host=config.DB_HOST,
+        port=config.DB_PORT,
+        user=config.DB_USER,
+        password=config.DB_PASS,
+        database=config.DB_NAME,
+        charset="utf8mb4",
+        cursorclass=pymysql.cursors.DictCursor,
+    )
+    try:
+        rows: List[Dict] = []
+        with conn.cursor() as cur:
+            for i in range(0, len(node_ids), 500):
+                chunk = node_ids[i:i + 500]
+                cur.execute(_NODE_SQL.format(ids=",".join(["%s"] * len(chunk))), chunk)
+                rows.extend(cur.fetchall())
+        return rows
+    finally:
+        conn.close()
+
+
+def _ids(values: Iterable) -> List[int]:
+    return sorted({int(v) for v in (values or [])})
+
+
+def apply_changes(upsert_node_ids: Iterable, delete_node_ids: Iterable) -> Dict[str, int]:
+    """Removes deleted nodes and (re-)embeds upserted ones; returns counts.
+
+    An upserted id that is no longer embeddable (not an article/clause, text now empty, replaced
+    since) is removed as well: node ids survive in-place updates, so its old vector would keep
+    answering queries with text the node no longer has.
+    """
+    upserts = _ids(upsert_node_ids)
+    rows = [r for r in _fetch_nodes(upserts) if (r.get("text") or "").strip()] if upserts else []
+    embeddable = {int(r["id"]) for r in rows}
+    deletes = sorted(set(_ids(delete_node_ids)) | {i for i in upserts if i not in embeddable})
+    if deletes:
+        state.col.delete(ids=[str(i) for i in deletes])
+
+    embedded = 0
+    for i in range(0, len(rows), BATCH):
+        batch = rows[i:i + BATCH]
+        docs = [r["text"].strip() for r in batch]
+        vecs = state.emb.encode(docs).tolist()
+        state.col.upsert(
+            ids=[str(r["id"]) for r in batch],
+            embeddings=vecs,
+            documents=docs,
+            metadatas=[
+                {
+                    "node_id": r["id"],
+                    "law_code": r["law_code"],
+                    "doc_type": r.get("doc_type") or "LAW",
+                    "node_path": r["node_path"] or "",
+                    "effective_start": r["effective_start"],
+                    "effective_end": r["effective_end"],
+                }
+                for r in batch
+            ],
+        )
+        embedded += len(batch)
+    return {"deleted": len(deletes), "embedded": embedded}
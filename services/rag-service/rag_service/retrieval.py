@@ -15,6 +15,7 @@ from .utils import (
 )
 from .llm_qu import query_understanding_llm
 from . import config as _cfg
+from . import wire
 import re
 
 METADATA_PATTERNS = [
@@ -34,9 +35,9 @@ def _http_get_json(url: str, params: Optional[Dict[str, Any]] = None, timeout: i
     try:
         import requests
 
-        resp = requests.get(url, params=params or {}, timeout=timeout)
+        resp = requests.get(url, params=params or {}, headers={"Accept": wire.ACCEPT}, timeout=timeout)
         if resp.ok:
-            return resp.json()
+            return wire.decode(resp)
     except Exception:
         return None
     return None
@@ -186,9 +187,9 @@ def _http_get_list(url: str, params: Optional[Dict[str, Any]] = None, timeout: i
     try:
         import requests
 
-        resp = requests.get(url, params=params or {}, timeout=timeout)
+        resp = requests.get(url, params=params or {}, headers={"Accept": wire.ACCEPT}, timeout=timeout)
         if resp.ok:
-            data = resp.json()
+            data = wire.decode(resp)
             if isinstance(data, list):
                 return data
     except Exception:
@@ -241,6 +242,31 @@ def _fetch_related_laws(law_id: Optional[int], doc_type: Optional[str] = None) -
     return data
 
 
+def _fetch_node_references(node_ids: List[int], effective_at: Optional[str] = None) -> Optional[Dict[int, List[dict]]]:
+    """References extracted at ingestion for node_ids, resolved by law-service in one call.
+
+    Returns {node_id: [reference, ...]} with an entry for every requested id, or None when the
+    endpoint is unavailable (callers then fall back to scanning the text).
+    """
+    ids = [int(i) for i in node_ids if i is not None]
+    if not ids:
+        return {}
+    url = f"{_cfg.LAW_SERVICE_URL.rstrip('/')}/api/nodes/references"
+    params: Dict[str, Any] = {"ids": ",".join(str(i) for i in ids), "withChildren": "true"}
+    if effective_at:
+        params["effectiveAt"] = effective_at
+    data = _http_get_list(url, params=params)
+    if data is None:
+        return None
+    out: Dict[int, List[dict]] = {i: [] for i in ids}
+    for ref in data:
+        try:
+            out.setdefault(int(ref.get("sourceNodeId")), []).append(ref)
+        except Exception:
+            continue
+    return out
+
+
 def _collect_child_ids(toc_node: dict) -> List[int]:
     out: List[int] = []
     stack = list((toc_node.get("children") or [])[::-1])
@@ -315,9 +341,11 @@ def _make_ctx_from_node(n: dict) -> Optional[dict]:
 
 
 def expand_references(contexts: List[dict], effective_at: Optional[str] = None, max_extra: int = 8, question: Optional[str] = None) -> List[dict]:
-    """Expand contexts by following in-text references to articles (Điều N) within the same law.
+    """Expand contexts by following in-text references to articles (Điều N) and decrees.
 
-    - Scans top contexts for patterns like "Điều 8" and pulls the referenced article node
+    - Contexts with a node_id use the references law-service extracted at ingestion: one call
+      returns the cited articles (and their clauses) for all of them.
+    - Otherwise scans the text for patterns like "Điều 8" and pulls the referenced article node
       from law-service's search, restricted to the same law when possible.
     - Deduplicates by node_id and returns original contexts + new items (up to max_extra more).
     """
@@ -327,11 +355,34 @@ def expand_references(contexts: List[dict], effective_at: Optional[str] = None,
     key_terms = [w for w in qnorm.split() if len(w) >= 4][:12]
     seen_ids: Set[Any] = set(c.get("node_id") for c in contexts if c.get("node_id") is not None)
     additions: List[dict] = []
-    for c in contexts[: max(8, len(contexts))]:
+    scanned = contexts[: max(8, len(contexts))]
+    stored_refs = _fetch_node_references([c.get("node_id") for c in scanned], effective_at)
+    for c in scanned:
         content = c.get("content") or ""
         law_code = c.get("law_code")
-        refs = _find_article_refs(content)
-        dcrees = _find_decree_codes(content)
+        node_refs = stored_refs.get(c.get("node_id")) if stored_refs is not None else None
+        if node_refs is not None:
+            for ref in node_refs:
+                art = ref.get("node")
+                if not art:
+                    continue
+                for nd in [art] + (ref.get("children") or [])[:6]:
+                    item = _make_ctx_from_node(nd)
+                    if not item or item.get("node_id") in seen_ids or not item.get("content"):
+                        continue
+                    if key_terms and not any(term in norm_text(item.get("content") or "") for term in key_terms):
+                        continue
+                    additions.append(item)
+                    seen_ids.add(item.get("node_id"))
+                    if len(additions) >= max_extra:
+                        break
+                if len(additions) >= max_extra:
+                    break
+            refs = set()
+            dcrees = {r.get("lawCode") for r in node_refs if r.get("articleNo") is None and r.get("lawCode")}
+        else:
+            refs = _find_article_refs(content)
+            dcrees = _find_decree_codes(content)
         if not refs:
             refs = set()
         law_id = _law_code_to_id(law_code)
@@ -438,9 +489,9 @@ def _fetch_full_node(node_id: Optional[int]) -> Optional[dict]:
         import requests
 
         url = f"{config.LAW_SERVICE_URL.rstrip('/')}/api/nodes/{int(node_id)}"
-        resp = requests.get(url, timeout=5)
+        resp = requests.get(url, headers={"Accept": wire.ACCEPT}, timeout=5)
         if resp.ok:
-            return resp.json()
+            return wire.decode(resp)
     except Exception:
         return None
     return None
@@ -3,7 +3,7 @@ from datetime import date
 
 from flask import Blueprint, jsonify, request, Response
 
-from . import state
+from . import indexer, state, wire
 from .analysis_llm import violation_judgment_llm
 from .answer import synthesize_answer2, violation_judgment_heuristic, build_structured_advice, normalize_answer_vi
 from .metrics import REQ_COUNT, REQ_LAT, generate_latest, CONTENT_TYPE_LATEST
@@ -57,7 +57,7 @@ def qa():
         ctx_expanded = expand_references(ctx, effective_at=t, max_extra=max(4, 12 - len(ctx)), question=q)
         rich_ctx = _enrich_contexts(ctx_expanded, limit=8)
         answer = synthesize_answer2(q, t, rich_ctx)
-        return jsonify({"answer": answer, "effective_at": t, "context": rich_ctx})
+        return wire.respond({"answer": answer, "effective_at": t, "context": rich_ctx})
     finally:
         REQ_LAT.labels(endpoint="qa").observe(time.time() - start)
 
@@ -91,7 +91,7 @@ def gen():
             )
             if c.get("node_id") is not None:
                 used_nodes.append(c.get("node_id"))
-        return jsonify({"answer": answer, "citations": citations, "used_nodes": used_nodes})
+        return wire.respond({"answer": answer, "citations": citations, "used_nodes": used_nodes})
     finally:
         REQ_LAT.labels(endpoint="gen").observe(time.time() - start)
 
@@ -116,6 +116,21 @@ def reindex():
     return jsonify(info), code
 
 
+@bp.post("/admin/reindex/nodes")
+def reindex_nodes():
+    """Incremental reindex: re-embed upsert_node_ids and drop delete_node_ids (ids from law-service's change feed)."""
+    start = time.time()
+    REQ_COUNT.labels(endpoint="reindex_nodes").inc()
+    try:
+        body = request.get_json(force=True) or {}
+        if not state.ensure_inited():
+            return jsonify({"error": f"RAG chưa sẵn sàng: {state.init_error}"}), 503
+        info = indexer.apply_changes(body.get("upsert_node_ids"), body.get("delete_node_ids"))
+        return jsonify(info)
+    finally:
+        REQ_LAT.labels(endpoint="reindex_nodes").observe(time.time() - start)
+
+
 @bp.post("/admin/reload_patterns")
 def reload_patterns():
     state.load_domain_patterns()
@@ -203,7 +218,7 @@ def analyze():
             m.get("node_id") for m in (verdict.get("matched") or []) if m.get("node_id") is not None
         ]
 
-        return jsonify(
+        return wire.respond(
             {
                 "answer": verdict.get("answer"),
                 "decision": verdict.get("decision"),
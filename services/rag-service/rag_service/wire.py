@@ -0,0 +1,40 @@
+"""CBOR on the law-service <-> rag-service hop, negotiated with Accept; JSON stays the default.
+
+Node texts, TOCs and answer contexts are long Vietnamese strings: jsonify escapes every
+non-ASCII character ("\\u1ec7", 6 bytes for a 2-3 byte letter), CBOR stores them as raw UTF-8 and
+drops the quoting of keys and values. Both sides fall back to JSON when the peer (or this
+process, without cbor2 installed) cannot do CBOR.
+"""
+from typing import Any
+
+from . import config
+
+try:
+    import cbor2
+except ImportError:  # pragma: no cover - optional dependency
+    cbor2 = None
+
+CBOR = "application/cbor"
+JSON = "application/json"
+
+_enabled = cbor2 is not None and config.WIRE_CBOR
+
+# Sent on calls to law-service
+ACCEPT = f"{CBOR}, {JSON};q=0.9" if _enabled else JSON
+
+
+def decode(resp) -> Any:
+    """Body of a law-service response, CBOR or JSON per its Content-Type."""
+    ctype = (resp.headers.get("Content-Type") or "").split(";")[0].strip().lower()
+    if ctype == CBOR and cbor2 is not None:
+        return cbor2.loads(resp.content)
+    return resp.json()
+
+
+def respond(payload: Any):
+    """Success body in the encoding the caller prefers (CBOR only if asked for)."""
+    from flask import Response, jsonify, request
+
+    if _enabled and request.accept_mimetypes.best_match([JSON, CBOR]) == CBOR:
+        return Response(cbor2.dumps(payload), mimetype=CBOR)
+    return jsonify(payload)
@@ -0,0 +1,108 @@
+package com.example.socialservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * The application's datasource: the Hikari pool on {@code spring.datasource.*} as before, or, when
+ * {@code app.datasource.replica.url} is set, a {@link ReadWriteRoutingDataSource} over that primary and a
+ * read-only pool on the replica, which then serves the {@code @Transactional(readOnly = true)} feeds,
+ * post lists and comments. Both pools take {@code spring.datasource.hikari.*} and publish
+ * {@code hikaricp.*} metrics tagged {@code pool=primary|replica}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.url:}") String replicaUrl,
+            @Value("${app.datasource.replica.username:}") String replicaUsername,
+            @Value("${app.datasource.replica.password:}") String replicaPassword,
+            @Value("${app.datasource.replica.max-lag-seconds:2}") long maxLagSeconds,
+            @Value("${app.datasource.replica.check-interval-ms:1000}") long checkIntervalMs,
+            @Value("${app.datasource.replica.stick-after-write-ms:3000}") long stickAfterWriteMs,
+            @Value("${app.datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs
+    ) {
+        HikariDataSource primary = pool(properties.initializeDataSourceBuilder(), "primary", environment);
+        if (!StringUtils.hasText(replicaUrl)) {
+            return primary;
+        }
+        primary.setMetricRegistry(meterRegistry);
+
+        HikariDataSource replica = pool(DataSourceBuilder.create(properties.getClassLoader())
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(StringUtils.hasText(replicaUsername) ? replicaUsername : properties.determineUsername())
+                .password(StringUtils.hasText(replicaPassword) ? replicaPassword : properties.determinePassword()),
+                "replica", environment);
+        replica.setReadOnly(true);
+        // Start the pool even while the replica is unreachable; the lag monitor reports it instead of a
+        // pool initialization stack trace per check
+        replica.setInitializationFailTimeout(-1);
+        // Fail over to the primary quickly instead of holding the request for Hikari's default 30 s
+        replica.setConnectionTimeout(connectionTimeoutMs);
+        replica.setMetricRegistry(meterRegistry);
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, maxLagSeconds);
+        Gauge.builder("social.db.replica.lag", monitor, ReplicaLagMonitor::lagSeconds)
+                .description("Replication lag of the read replica in seconds, -1 when unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("social.db.replica.usable", monitor, m -> m.state() == ReplicaLagMonitor.State.UP ? 1 : 0)
+                .description("1 while reads may go to the replica, 0 while they fall back to the primary")
+                .register(meterRegistry);
+        monitor.start(Duration.ofMillis(checkIntervalMs));
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, monitor,
+                stickAfterWriteMs, meterRegistry);
+        return new LazyRoutingDataSource(routing, primary);
+    }
+
+    private static HikariDataSource pool(DataSourceBuilder<?> builder, String name, Environment environment) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    /**
+     * Defers the physical connection to the first statement, by which time the transaction's read-only
+     * flag is set, and closes the routing datasource with the context. Auto-commit and isolation defaults
+     * come from the primary's settings so the proxy never opens a connection just to learn them.
+     */
+    static class LazyRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        LazyRoutingDataSource(ReadWriteRoutingDataSource routing, HikariDataSource primary) {
+            setTargetDataSource(routing);
+            setDefaultAutoCommit(primary.isAutoCommit());
+            if (primary.getTransactionIsolation() != null) {
+                setDefaultTransactionIsolationName(primary.getTransactionIsolation());
+            } else {
+                setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            ((ReadWriteRoutingDataSource) obtainTargetDataSource()).close();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.socialservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether the read replica may serve reads. A daemon thread reads {@code Seconds_Behind_Source}
+ * from {@code SHOW REPLICA STATUS} (MySQL 8.0.22+; {@code SHOW SLAVE STATUS} on older MySQL and MariaDB)
+ * every {@code app.datasource.replica.check-interval-ms}: the replica is {@link State#LAGGING} while
+ * replication is stopped or behind by more than {@code max-lag-seconds}, and {@link State#DOWN} while it
+ * cannot be reached, which {@link ReadWriteRoutingDataSource} also reports the moment a connection fails.
+ * A database that is not replicating at all (a plain copy, as when testing with two local databases,
+ * or an account without {@code REPLICATION CLIENT}) counts as up with an unknown lag of -1.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    static final long NOT_REPLICATING = -1;
+    private static final int ER_SPECIFIC_ACCESS_DENIED = 1227;
+
+    public enum State { UP, LAGGING, DOWN }
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    // Out of rotation until the first check has seen it
+    private volatile State state = State.DOWN;
+    private volatile long lagSeconds = NOT_REPLICATING;
+    private volatile boolean accessDenied;
+    private volatile boolean checked;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagSeconds) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = Math.max(100, interval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::check, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /** Last measured lag in seconds, -1 when unknown (not replicating, replication stopped or replica down). */
+    public long lagSeconds() {
+        return lagSeconds;
+    }
+
+    /** Takes the replica out of rotation until the next successful check. */
+    public void markDown(SQLException cause) {
+        transition(State.DOWN, cause.getMessage());
+        lagSeconds = NOT_REPLICATING;
+    }
+
+    void check() {
+        Long lag;
+        try (Connection con = replica.getConnection(); Statement st = con.createStatement()) {
+            lag = replicationLag(st);
+        } catch (SQLException | RuntimeException e) {
+            markDown(e instanceof SQLException sql ? sql : new SQLException(e));
+            return;
+        }
+        if (lag == null) {
+            lagSeconds = NOT_REPLICATING;
+            transition(State.LAGGING, "replication is not running");
+        } else if (lag > maxLagSeconds) {
+            lagSeconds = lag;
+            transition(State.LAGGING, "lag " + lag + " s > " + maxLagSeconds + " s");
+        } else {
+            lagSeconds = lag;
+            transition(State.UP, lag == NOT_REPLICATING ? "not a replica" : "lag " + lag + " s");
+        }
+    }
+
+    /** Seconds behind the source, {@link #NOT_REPLICATING} when there is no replication, null when it is stopped. */
+    private Long replicationLag(Statement st) throws SQLException {
+        if (accessDenied) {
+            return NOT_REPLICATING;
+        }
+        try {
+            try (ResultSet rs = st.executeQuery("SHOW REPLICA STATUS")) {
+                return readLag(rs);
+            } catch (SQLException e) {
+                if (e.getErrorCode() == ER_SPECIFIC_ACCESS_DENIED) {
+                    throw e;
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SHOW SLAVE STATUS")) {
+                return readLag(rs);
+            }
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ER_SPECIFIC_ACCESS_DENIED) {
+                throw e;
+            }
+            accessDenied = true;
+            log.warn("Replica account lacks REPLICATION CLIENT, replication lag is not checked: {}", e.getMessage());
+            return NOT_REPLICATING;
+        }
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return NOT_REPLICATING;
+        }
+        ResultSetMetaData meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String column = meta.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                long lag = rs.getLong(i);
+                return rs.wasNull() ? null : lag;
+            }
+        }
+        return null;
+    }
+
+    private void transition(State next, String reason) {
+        State previous = state;
+        state = next;
+        boolean first = !checked;
+        checked = true;
+        if (previous != next || first) {
+            if (next == State.UP) {
+                log.info("Read replica in rotation ({})", reason);
+            } else {
+                log.warn("Read replica out of rotation, {}: {}", next, reason);
+            }
+        }
+    }
+}
@@ -35,7 +35,7 @@ def fetch_chunks():
                        COALESCE(DATE_FORMAT(ln.effective_start,'%Y-%m-%d'),'1900-01-01') AS effective_start,
                        COALESCE(DATE_FORMAT(ln.effective_end,'%Y-%m-%d'),'9999-12-31') AS effective_end
                 FROM law_nodes ln
-                JOIN laws l ON l.id = ln.law_id
+                JOIN laws l ON l.id = ln.law_id AND ln.generation = l.active_generation
                 LEFT JOIN law_nodes ln2 ON ln2.id = ln.parent_id
                 WHERE ln.level IN ('DIEU','KHOAN')
                   AND (COALESCE(ln.content_text,'') <> '' OR COALESCE(ln.content_html,'') <> '')
@@ -569,6 +569,9 @@ def main():
         if existing and args.replace:
             delete_nodes_for_law(conn, int(existing["id"]))
             law_id = int(existing["id"])
+            # Nodes inserted below use the default generation 0; make it the visible one again
+            with conn.cursor() as cur:
+                cur.execute("UPDATE laws SET active_generation=0 WHERE id=%s", (law_id,))
         else:
             law_id = upsert_law(conn, code, title, args.issuing_body, args.promulgation_date, eff_start, eff_end, args.doc_type, args.related_law_code)
 
@@ -0,0 +1,152 @@
+"""Closed-loop HTTP load test for law-service and social-service: throughput, latency and memory of
+the request thread pool under many concurrent slow requests (see services/law-service/README.md).
+
+--concurrency workers each send requests back to back over their own keep-alive connection for
+--duration seconds (after --warmup seconds that are not counted) and the run reports throughput,
+latency percentiles and status codes. Meanwhile the target JVM is sampled once a second: resident
+memory and OS threads from /proc/<pid> (--pid, same host) and heap + non-heap memory and live
+threads from Spring Boot actuator (--actuator, e.g. http://localhost:8080/actuator).
+
+Example, law-service against a rag-service that answers in ~1 s:
+  python tools/load_test.py --url http://localhost:8080/api/qa/analyze --method POST \
+      --data '{"question": "Mức phạt vượt đèn đỏ?"}' --concurrency 400 --duration 60 \
+      --pid "$(pgrep -f law-service)" --actuator http://localhost:8080/actuator --label platform
+"""
+import argparse
+import http.client
+import json
+import threading
+import time
+from collections import Counter
+from urllib.parse import urlsplit
+
+
+def percentile(sorted_values, p):
+    if not sorted_values:
+        return 0.0
+    return sorted_values[min(len(sorted_values) - 1, int(p / 100.0 * len(sorted_values)))]
+
+
+def worker(args, target, body, headers, start, deadline, stop, out):
+    conn = None
+    done = []
+    while not stop.is_set():
+        if conn is None:
+            conn = http.client.HTTPConnection(target.hostname, target.port or 80, timeout=args.timeout)
+        t0 = time.perf_counter()
+        try:
+            conn.request(args.method, target.path + ("?" + target.query if target.query else ""), body, headers)
+            resp = conn.getresponse()
+            resp.read()
+            status = resp.status
+            if resp.will_close:
+                conn.close()
+                conn = None
+        except (OSError, http.client.HTTPException) as e:
+            status = type(e).__name__
+            conn.close()
+            conn = None
+        t1 = time.perf_counter()
+        # Only requests that started after the warm-up and finished inside the window count
+        if t0 >= start and t1 <= deadline:
+            done.append((t1 - t0, status))
+    if conn is not None:
+        conn.close()
+    out.extend(done)
+
+
+def read_proc(pid):
+    rss_kb = threads = None
+    with open(f"/proc/{pid}/status") as f:
+        for line in f:
+            if line.startswith("VmRSS:"):
+                rss_kb = int(line.split()[1])
+            elif line.startswith("Threads:"):
+                threads = int(line.split()[1])
+    return rss_kb, threads
+
+
+def read_metric(actuator, name):
+    target = urlsplit(f"{actuator.rstrip('/')}/metrics/{name}")
+    conn = http.client.HTTPConnection(target.hostname, target.port or 80, timeout=5)
+    try:
+        conn.request("GET", target.path)
+        resp = conn.getresponse()
+        data = json.loads(resp.read())
+        return data["measurements"][0]["value"]
+    finally:
+        conn.close()
+
+
+def sampler(args, stop, samples):
+    while not stop.wait(1.0):
+        sample = {}
+        try:
+            if args.pid:
+                sample["rss_mb"], sample["os_threads"] = read_proc(args.pid)
+                sample["rss_mb"] /= 1024.0
+            if args.actuator:
+                sample["jvm_mb"] = read_metric(args.actuator, "jvm.memory.used") / (1024.0 * 1024.0)
+                sample["jvm_threads"] = read_metric(args.actuator, "jvm.threads.live")
+        except (OSError, ValueError, KeyError, http.client.HTTPException):
+            continue
+        samples.append(sample)
+
+
+def main():
+    ap = argparse.ArgumentParser(description="Closed-loop HTTP load test with JVM memory/thread sampling")
+    ap.add_argument("--url", required=True)
+    ap.add_argument("--method", default="GET")
+    ap.add_argument("--data", help="request body (sent as JSON unless --header sets Content-Type)")
+    ap.add_argument("--header", action="append", default=[], help="'Name: value', repeatable")
+    ap.add_argument("--concurrency", type=int, default=200)
+    ap.add_argument("--duration", type=float, default=60.0)
+    ap.add_argument("--warmup", type=float, default=10.0)
+    ap.add_argument("--timeout", type=float, default=120.0)
+    ap.add_argument("--pid", type=int, help="target JVM process id, for RSS and OS threads")
+    ap.add_argument("--actuator", help="actuator base URL, for JVM memory and live threads")
+    ap.add_argument("--label", default="run")
+    args = ap.parse_args()
+
+    target = urlsplit(args.url)
+    headers = {"Accept": "application/json"}
+    body = None
+    if args.data is not None:
+        body = args.data.encode("utf-8")
+        headers["Content-Type"] = "application/json; charset=utf-8"
+    for h in args.header:
+        name, _, value = h.partition(":")
+        headers[name.strip()] = value.strip()
+
+    start = time.perf_counter() + args.warmup
+    deadline = start + args.duration
+    stop = threading.Event()
+    results = []
+    samples = []
+    threads = [threading.Thread(target=worker, args=(args, target, body, headers, start, deadline, stop, results),
+                                daemon=True) for _ in range(args.concurrency)]
+    for t in threads:
+        t.start()
+    sampling = threading.Thread(target=sampler, args=(args, stop, samples), daemon=True)
+    sampling.start()
+    time.sleep(max(0.0, deadline - time.perf_counter()))
+    stop.set()
+    for t in threads:
+        t.join(args.timeout)
+
+    latencies = sorted(r[0] * 1000.0 for r in results)
+    statuses = Counter(r[1] for r in results)
+    ok = sum(n for s, n in statuses.items() if isinstance(s, int) and s < 400)
+    print(f"[load] {args.label}: {len(results)} requests ({ok} ok) in {args.duration:.0f} s = "
+          f"{len(results) / args.duration:.1f} req/s, {ok / args.duration:.1f} ok/s, concurrency {args.concurrency}")
+    print(f"[load] {args.label}: latency ms p50 {percentile(latencies, 50):.0f} p95 {percentile(latencies, 95):.0f} "
+          f"p99 {percentile(latencies, 99):.0f} max {latencies[-1] if latencies else 0:.0f}; "
+          f"status {dict(statuses)}")
+    for key, unit in (("rss_mb", "MB"), ("os_threads", ""), ("jvm_mb", "MB"), ("jvm_threads", "")):
+        values = [s[key] for s in samples if s.get(key) is not None]
+        if values:
+            print(f"[load] {args.label}: {key} max {max(values):.0f}{unit} avg {sum(values) / len(values):.0f}{unit}")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Time from `java` to readiness (/actuator/health/readiness = 200) of law-service, median of RUNS
+# starts per mode: the plain jar with and without lazy springdoc, then the fast-start build with
+# AOT, AppCDS and both. Build first:
+#   (cd services/law-service && mvn -DskipTests -Pfast-start package)
+# The database and anything else comes from the environment (SPRING_DATASOURCE_URL, ...) or ARGS.
+# Warm-up is off so only startup is measured.
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8089}
+ARGS=${ARGS:-}
+TARGET=${TARGET:-$(cd "$(dirname "$0")/../services/law-service/target" && pwd)}
+
+JAR=law-service-0.0.1-SNAPSHOT.jar
+THIN=law-service-0.0.1-SNAPSHOT-fast-start.jar
+COMMON="--server.port=${PORT} --law.warmup.enabled=false ${ARGS}"
+
+if [ ! -f "${TARGET}/fast-start/app.jsa" ]; then
+  echo "[startup] ${TARGET}/fast-start/app.jsa not found, build with -Pfast-start first" >&2
+  exit 1
+fi
+
+# Starts "$@" in the current directory, prints milliseconds until ready, stops it
+start_once() {
+  local t0 pid
+  t0=$(date +%s%N)
+  "$@" ${COMMON} > "${TARGET}/measure_startup.log" 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "localhost:${PORT}/actuator/health/readiness")" = 200 ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "[startup] exited before ready, see ${TARGET}/measure_startup.log" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  echo $(( ($(date +%s%N) - t0) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+# name|directory|command; one round starts every mode once, so drift on a busy host hits them alike
+MODES=(
+  "jar|${TARGET}|java -jar ${JAR}"
+  "jar, lazy springdoc|${TARGET}|java -jar ${JAR} --law.startup.lazy-packages=org.springdoc"
+  "fast-start, thin jar|${TARGET}/fast-start|java -jar ${THIN}"
+  "fast-start, AOT|${TARGET}/fast-start|java -Dspring.aot.enabled=true -jar ${THIN}"
+  "fast-start, CDS|${TARGET}/fast-start|java -XX:SharedArchiveFile=app.jsa -jar ${THIN}"
+  "fast-start, AOT + CDS|${TARGET}/fast-start|java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar ${THIN}"
+)
+
+echo "[startup] ${RUNS} rounds, port ${PORT}"
+declare -A TIMES
+for round in $(seq "$RUNS"); do
+  for mode in "${MODES[@]}"; do
+    IFS='|' read -r name dir cmd <<< "$mode"
+    # shellcheck disable=SC2086 # cmd is split into words on purpose
+    TIMES[$name]+="$(cd "$dir" && start_once $cmd) "
+  done
+  echo "[startup] round ${round} done"
+done
+
+for mode in "${MODES[@]}"; do
+  IFS='|' read -r name _ <<< "$mode"
+  sorted=$(printf '%s\n' ${TIMES[$name]} | sort -n)
+  printf '[startup] %-22s median %6s ms  (runs: %s)\n' "$name" \
+    "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" "$(echo "$sorted" | tr '\n' ' ')"
+done